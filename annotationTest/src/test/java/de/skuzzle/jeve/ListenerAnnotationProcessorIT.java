@@ -125,4 +125,27 @@ public class ListenerAnnotationProcessorIT {
     
     
     // END TAGGING TESTS
+    
+    // BEGIN BATCH TESTS
+    
+    
+    
+    @Test
+    public void testBatchSuccess() {
+        this.compileWithoutError("BatchListener");
+    }
+    
+    @Test
+    public void testBatchFailParameter() {
+        testFailParameter("BatchListenerFailParameterType");
+    }
+    
+    @Test
+    public void testBatchFailReturn() {
+        compileWithError("BatchListenerFailReturnType", "must return", 12);
+    }
+    
+    
+    
+    // END BATCH TESTS
 }
@@ -0,0 +1,14 @@
+package de.skuzzle.jeve.listeners;
+
+import java.util.List;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.annotation.ListenerInterface;
+import de.skuzzle.jeve.annotation.ListenerKind;
+
+@ListenerInterface(ListenerKind.BATCH)
+public interface BatchListener extends Listener {
+    public void foo1(List<Event<?, BatchListener>> events);
+    public void foo2(List<? extends Event<?, ? extends Listener>> events);
+}
@@ -0,0 +1,11 @@
+package de.skuzzle.jeve.listeners;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.annotation.ListenerInterface;
+import de.skuzzle.jeve.annotation.ListenerKind;
+
+@ListenerInterface(ListenerKind.BATCH)
+public interface BatchListenerFailParameterType extends Listener {
+    public void foo(Event<?, ?> e);
+}
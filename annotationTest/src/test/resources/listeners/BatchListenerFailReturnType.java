@@ -0,0 +1,13 @@
+package de.skuzzle.jeve.listeners;
+
+import java.util.List;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.annotation.ListenerInterface;
+import de.skuzzle.jeve.annotation.ListenerKind;
+
+@ListenerInterface(ListenerKind.BATCH)
+public interface BatchListenerFailReturnType extends Listener {
+    public int foo(List<Event<?, ? extends Listener>> events);
+}
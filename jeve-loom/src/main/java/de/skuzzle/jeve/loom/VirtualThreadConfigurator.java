@@ -0,0 +1,50 @@
+package de.skuzzle.jeve.loom;
+
+import java.util.function.Supplier;
+
+import de.skuzzle.jeve.ListenerSource;
+import de.skuzzle.jeve.builder.CustomConfigurator;
+
+/**
+ * Hooks the {@link VirtualThreadEventProvider} into jeve's fluent builder API:
+ *
+ * <pre>
+ * EventProvider provider = EventProvider.configure()
+ *         .source(source)
+ *         .useCustomProvider(VirtualThreadConfigurator.create()).and()
+ *         .granularity(Granularity.PER_EVENT).and()
+ *         .exceptionCallBack(ExceptionCallbacks.stopOnError())
+ *         .create();
+ * </pre>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public final class VirtualThreadConfigurator implements
+        CustomConfigurator<VirtualThreadProviderConfigurator, VirtualThreadEventProvider> {
+
+    private VirtualThreadConfigurator() {
+        // hidden
+    }
+
+    /**
+     * Creates a new VirtualThreadConfigurator.
+     *
+     * @return The new configurator.
+     */
+    public static VirtualThreadConfigurator create() {
+        return new VirtualThreadConfigurator();
+    }
+
+    @Override
+    public VirtualThreadProviderConfigurator getConfigurator(
+            Supplier<? extends ListenerSource> sourceSupplier) {
+        return new VirtualThreadProviderConfiguratorImpl(sourceSupplier);
+    }
+
+    @Override
+    public VirtualThreadEventProvider createNow(
+            Supplier<? extends ListenerSource> sourceSupplier) {
+        return new VirtualThreadEventProvider(sourceSupplier.get());
+    }
+}
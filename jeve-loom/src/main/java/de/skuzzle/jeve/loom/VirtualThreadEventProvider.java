@@ -0,0 +1,201 @@
+package de.skuzzle.jeve.loom;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiConsumer;
+
+import de.skuzzle.jeve.BatchOrder;
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerSource;
+import de.skuzzle.jeve.providers.DispatchResultCollector;
+import de.skuzzle.jeve.providers.ParallelEventProvider;
+
+/**
+ * EventProvider implementation which notifies listeners on virtual threads.
+ * Virtual threads are cheap to create and release their carrier thread while
+ * blocking, so listeners which perform blocking I/O scale to a large number of
+ * concurrent dispatch actions without the need to tune any pool sizes.
+ *
+ * <p>
+ * Depending on the configured {@link Granularity}, either every single listener
+ * is notified within its own virtual thread, or all listeners of a dispatch
+ * action are notified sequentially within one virtual thread. In the latter
+ * case, this provider is {@link #isSequential() sequential}.
+ * </p>
+ *
+ * <p>
+ * Events which {@link Event#isExpired() expired} before their virtual thread
+ * started are dropped. With {@link Granularity#PER_EVENT PER_EVENT}, the
+ * {@link de.skuzzle.jeve.providers.DeadlineAware expiration count} refers to
+ * dropped events, otherwise to dropped notifications like with the
+ * ParallelEventProvider.
+ * </p>
+ *
+ * <p>
+ * Providers of this kind can be created using the fluent builder API:
+ * </p>
+ *
+ * <pre>
+ * EventProvider provider = EventProvider.configure()
+ *         .source(source)
+ *         .useCustomProvider(VirtualThreadConfigurator.create()).and()
+ *         .granularity(Granularity.PER_EVENT)
+ *         .create();
+ * </pre>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public class VirtualThreadEventProvider extends ParallelEventProvider {
+
+    /**
+     * Specifies for which unit of work a new virtual thread is started.
+     *
+     * @author Simon Taddiken
+     * @since 4.0.0
+     */
+    public enum Granularity {
+        /**
+         * All listeners of a single dispatch action are notified within the
+         * same virtual thread.
+         */
+        PER_EVENT,
+
+        /** Every listener is notified within its own virtual thread. */
+        PER_LISTENER
+    }
+
+    private final Granularity granularity;
+
+    /**
+     * Creates a new VirtualThreadEventProvider which starts a new virtual
+     * thread for each listener.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     */
+    public VirtualThreadEventProvider(ListenerSource source) {
+        this(source, Granularity.PER_LISTENER);
+    }
+
+    /**
+     * Creates a new VirtualThreadEventProvider with the given granularity.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param granularity Whether to start a virtual thread per event or per
+     *            listener.
+     */
+    public VirtualThreadEventProvider(ListenerSource source, Granularity granularity) {
+        this(source, granularity, newVirtualThreadExecutor());
+    }
+
+    /**
+     * Creates a new VirtualThreadEventProvider which uses the given executor.
+     * The executor should start a new virtual thread for each submitted task.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param granularity Whether to start a virtual thread per event or per
+     *            listener.
+     * @param executor The executor to use.
+     */
+    public VirtualThreadEventProvider(ListenerSource source, Granularity granularity,
+            ExecutorService executor) {
+        super(source, executor);
+        if (granularity == null) {
+            throw new IllegalArgumentException("granularity is null");
+        }
+        this.granularity = granularity;
+    }
+
+    /**
+     * Creates an executor which starts a new virtual thread for each task.
+     *
+     * @return The executor.
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("jeve-virtual-", 0).factory());
+    }
+
+    /**
+     * Gets the granularity with which this provider starts virtual threads.
+     *
+     * @return The granularity.
+     */
+    public Granularity getGranularity() {
+        return this.granularity;
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatch(
+            E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        if (this.granularity == Granularity.PER_LISTENER) {
+            super.dispatch(event, bc, ec);
+            return;
+        }
+
+        checkDispatchArgs(event, bc, ec);
+        if (canDispatch()) {
+            execute(() -> {
+                if (!dropIfExpired(event)) {
+                    notifyListeners(event, bc, ec);
+                }
+            });
+        }
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        if (this.granularity == Granularity.PER_LISTENER) {
+            return super.dispatchAsync(event, bc, ec);
+        }
+
+        checkDispatchArgs(event, bc, ec);
+        final DispatchResultCollector<L, E> collector =
+                new DispatchResultCollector<>(event, bc, ec);
+        if (!canDispatch()) {
+            return CompletableFuture.completedFuture(collector.toResult());
+        }
+
+        return executeAsync(() -> {
+            if (!dropIfExpired(event)) {
+                notifyListeners(event, collector, collector.getExceptionCallback());
+            }
+        }).thenApply(nothing -> collector.toResult());
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc,
+            ExceptionCallback ec, BatchOrder order) {
+
+        if (this.granularity == Granularity.PER_LISTENER) {
+            super.dispatchAll(events, bc, ec, order);
+            return;
+        }
+
+        checkDispatchAllArgs(events, bc, ec, order);
+        if (!events.isEmpty() && canDispatch()) {
+            final List<E> batch = new ArrayList<>(events);
+            execute(() -> notifyBatch(dropExpired(batch), bc, ec, order));
+        }
+    }
+
+    @Override
+    protected boolean isImplementationSequential() {
+        return this.granularity == Granularity.PER_EVENT;
+    }
+}
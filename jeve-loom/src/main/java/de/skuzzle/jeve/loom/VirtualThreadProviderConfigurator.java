@@ -0,0 +1,55 @@
+package de.skuzzle.jeve.loom;
+
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.builder.EventProviderConfigurator.Chainable;
+import de.skuzzle.jeve.loom.VirtualThreadEventProvider.Granularity;
+
+/**
+ * Fluent API for configuring a {@link VirtualThreadEventProvider}. Instances
+ * are obtained by passing a {@link VirtualThreadConfigurator} to
+ * {@link de.skuzzle.jeve.builder.EventProviderConfigurator.ProviderChooser#useCustomProvider(de.skuzzle.jeve.builder.CustomConfigurator)
+ * useCustomProvider}.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public interface VirtualThreadProviderConfigurator {
+
+    /**
+     * Specifies whether a virtual thread is started for each event or for each
+     * listener. The default is {@link Granularity#PER_LISTENER}.
+     *
+     * @param granularity The granularity.
+     * @return Fluent API object for further configuration.
+     */
+    Chainable<VirtualThreadProviderConfigurator, VirtualThreadEventProvider>
+            granularity(Granularity granularity);
+
+    /**
+     * Specifies the ExceptionCallback to use.
+     *
+     * @param ec The ExceptionCallback.
+     * @return Fluent API object for further configuration.
+     */
+    Chainable<VirtualThreadProviderConfigurator, VirtualThreadEventProvider>
+            exceptionCallBack(ExceptionCallback ec);
+
+    /**
+     * Whether the provider should be interrupt aware.
+     *
+     * @param interruptAware Whether the provider is interrupt aware.
+     * @return Fluent API object for further configuration.
+     * @see de.skuzzle.jeve.EventProvider#setInterruptAware(boolean)
+     */
+    Chainable<VirtualThreadProviderConfigurator, VirtualThreadEventProvider>
+            interruptAware(boolean interruptAware);
+
+    /**
+     * Uses a {@link de.skuzzle.jeve.ListenerSource#synchronizedView()
+     * synchronized view} of the configured source.
+     *
+     * @return Fluent API object for further configuration.
+     */
+    Chainable<VirtualThreadProviderConfigurator, VirtualThreadEventProvider>
+            synchronizeStore();
+}
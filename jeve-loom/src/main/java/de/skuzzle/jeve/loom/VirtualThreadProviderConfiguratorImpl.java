@@ -0,0 +1,88 @@
+package de.skuzzle.jeve.loom;
+
+import java.util.function.Supplier;
+
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.ListenerSource;
+import de.skuzzle.jeve.builder.EventProviderConfigurator.Chainable;
+import de.skuzzle.jeve.loom.VirtualThreadEventProvider.Granularity;
+
+class VirtualThreadProviderConfiguratorImpl implements VirtualThreadProviderConfigurator {
+
+    private final Supplier<? extends ListenerSource> sourceSupplier;
+
+    private Granularity granularity;
+    private ExceptionCallback ec;
+    private boolean interruptAware;
+    private boolean synchStore;
+
+    VirtualThreadProviderConfiguratorImpl(
+            Supplier<? extends ListenerSource> sourceSupplier) {
+        if (sourceSupplier == null) {
+            throw new IllegalArgumentException("sourceSupplier is null");
+        }
+
+        this.sourceSupplier = sourceSupplier;
+        this.granularity = Granularity.PER_LISTENER;
+    }
+
+    private VirtualThreadEventProvider create() {
+        final ListenerSource source = this.synchStore
+                ? this.sourceSupplier.get().synchronizedView()
+                : this.sourceSupplier.get();
+        final VirtualThreadEventProvider result = new VirtualThreadEventProvider(
+                source, this.granularity);
+        if (this.ec != null) {
+            result.setExceptionCallback(this.ec);
+        }
+        result.setInterruptAware(this.interruptAware);
+        return result;
+    }
+
+    private Chainable<VirtualThreadProviderConfigurator, VirtualThreadEventProvider>
+            chain() {
+        return new Chainable<VirtualThreadProviderConfigurator, VirtualThreadEventProvider>() {
+
+            @Override
+            public VirtualThreadProviderConfigurator and() {
+                return VirtualThreadProviderConfiguratorImpl.this;
+            }
+
+            @Override
+            public VirtualThreadEventProvider create() {
+                return VirtualThreadProviderConfiguratorImpl.this.create();
+            }
+        };
+    }
+
+    @Override
+    public Chainable<VirtualThreadProviderConfigurator, VirtualThreadEventProvider>
+            granularity(Granularity granularity) {
+        if (granularity == null) {
+            throw new IllegalArgumentException("granularity is null");
+        }
+        this.granularity = granularity;
+        return chain();
+    }
+
+    @Override
+    public Chainable<VirtualThreadProviderConfigurator, VirtualThreadEventProvider>
+            exceptionCallBack(ExceptionCallback ec) {
+        this.ec = ec;
+        return chain();
+    }
+
+    @Override
+    public Chainable<VirtualThreadProviderConfigurator, VirtualThreadEventProvider>
+            interruptAware(boolean interruptAware) {
+        this.interruptAware = interruptAware;
+        return chain();
+    }
+
+    @Override
+    public Chainable<VirtualThreadProviderConfigurator, VirtualThreadEventProvider>
+            synchronizeStore() {
+        this.synchStore = true;
+        return chain();
+    }
+}
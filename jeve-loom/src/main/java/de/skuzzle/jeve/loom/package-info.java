@@ -0,0 +1,8 @@
+/**
+ * Contains {@link de.skuzzle.jeve.EventProvider EventProvider} implementations
+ * which notify listeners on virtual threads. This module requires Java 21.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+package de.skuzzle.jeve.loom;
@@ -0,0 +1,99 @@
+package de.skuzzle.jeve.loom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.loom.VirtualThreadEventProvider.Granularity;
+import de.skuzzle.jeve.stores.DefaultListenerStore;
+
+public class VirtualThreadEventProviderTest {
+
+    private interface SampleListener extends Listener {
+        public void onEvent(Event<?, SampleListener> e);
+    }
+
+    private ListenerStore store;
+    private EventProvider subject;
+
+    @Before
+    public void setUp() throws Exception {
+        this.store = DefaultListenerStore.create().synchronizedView();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        if (this.subject != null) {
+            this.subject.close();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGranularityNull() throws Exception {
+        new VirtualThreadEventProvider(this.store, null);
+    }
+
+    @Test
+    public void testPerListenerNotSequential() throws Exception {
+        this.subject = new VirtualThreadEventProvider(this.store,
+                Granularity.PER_LISTENER);
+        assertFalse(this.subject.isSequential());
+    }
+
+    @Test
+    public void testPerEventSequential() throws Exception {
+        this.subject = new VirtualThreadEventProvider(this.store,
+                Granularity.PER_EVENT);
+        assertTrue(this.subject.isSequential());
+    }
+
+    @Test
+    public void testDispatchPerEventOnVirtualThread() throws Exception {
+        this.subject = EventProvider.configure()
+                .source(this.store)
+                .useCustomProvider(VirtualThreadConfigurator.create()).and()
+                .granularity(Granularity.PER_EVENT)
+                .create();
+
+        this.store.add(SampleListener.class, e -> assertTrue(Thread.currentThread().isVirtual()));
+        this.store.add(SampleListener.class, e -> assertTrue(Thread.currentThread().isVirtual()));
+
+        final DispatchResult result = this.subject
+                .dispatchAsync(new Event<>(this, SampleListener.class),
+                        SampleListener::onEvent)
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, result.getListenerCount());
+        assertFalse(result.hasFailures());
+    }
+
+    @Test
+    public void testDispatchPerListenerOnVirtualThread() throws Exception {
+        this.subject = EventProvider.configure()
+                .source(this.store)
+                .useCustomProvider(VirtualThreadConfigurator.create())
+                .create();
+
+        this.store.add(SampleListener.class, e -> assertTrue(Thread.currentThread().isVirtual()));
+        this.store.add(SampleListener.class, e -> assertTrue(Thread.currentThread().isVirtual()));
+
+        final DispatchResult result = this.subject
+                .dispatchAsync(new Event<>(this, SampleListener.class),
+                        SampleListener::onEvent)
+                .get(10, TimeUnit.SECONDS);
+
+        assertEquals(2, result.getListenerCount());
+        assertFalse(result.hasFailures());
+    }
+}
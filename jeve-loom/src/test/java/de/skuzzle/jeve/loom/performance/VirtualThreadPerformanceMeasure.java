@@ -0,0 +1,82 @@
+package de.skuzzle.jeve.loom.performance;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.perf4j.LoggingStopWatch;
+import org.perf4j.StopWatch;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.loom.VirtualThreadEventProvider;
+import de.skuzzle.jeve.loom.VirtualThreadEventProvider.Granularity;
+import de.skuzzle.jeve.providers.ParallelEventProvider;
+import de.skuzzle.jeve.stores.DefaultListenerStore;
+
+/**
+ * Compares the {@link VirtualThreadEventProvider} with the
+ * {@link ParallelEventProvider} using listeners which simulate blocking I/O.
+ *
+ * @author Simon Taddiken
+ */
+@Ignore
+public class VirtualThreadPerformanceMeasure {
+
+    private interface IOListener extends Listener {
+        public void onEvent(Event<?, IOListener> e);
+    }
+
+    private static final int LISTENER_COUNT = 10;
+    private static final int DISPATCH_COUNT = 10000;
+    private static final long IO_LATENCY = 10;
+
+    private static final int POOL_SIZE = 200;
+
+    private ListenerStore createStore() {
+        final ListenerStore store = DefaultListenerStore.create().synchronizedView();
+        for (int i = 0; i < LISTENER_COUNT; ++i) {
+            store.add(IOListener.class, e -> {
+                try {
+                    Thread.sleep(IO_LATENCY);
+                } catch (final InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        return store;
+    }
+
+    private void measure(String tag, EventProvider provider) {
+        final CompletableFuture<?>[] futures = new CompletableFuture<?>[DISPATCH_COUNT];
+        final StopWatch watch = new LoggingStopWatch(tag);
+        for (int i = 0; i < DISPATCH_COUNT; ++i) {
+            futures[i] = provider.dispatchAsync(new Event<>(this, IOListener.class),
+                    IOListener::onEvent);
+        }
+        CompletableFuture.allOf(futures).join();
+        watch.stop(tag);
+        provider.close();
+    }
+
+    @Test
+    public void testParallelProvider() {
+        measure("parallel", new ParallelEventProvider(createStore(),
+                Executors.newFixedThreadPool(POOL_SIZE)));
+    }
+
+    @Test
+    public void testVirtualThreadPerListener() {
+        measure("virtualPerListener", new VirtualThreadEventProvider(createStore(),
+                Granularity.PER_LISTENER));
+    }
+
+    @Test
+    public void testVirtualThreadPerEvent() {
+        measure("virtualPerEvent", new VirtualThreadEventProvider(createStore(),
+                Granularity.PER_EVENT));
+    }
+}
@@ -0,0 +1,103 @@
+package de.skuzzle.jeve.performance;
+
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+import java.awt.event.InvocationEvent;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.perf4j.LoggingStopWatch;
+import org.perf4j.StopWatch;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.providers.AWTEventProvider;
+import de.skuzzle.jeve.providers.BufferedAWTEventProvider;
+import de.skuzzle.jeve.stores.DefaultListenerStore;
+
+/**
+ * Measures the maximum length of the AWT event queue and the time until a
+ * runnable which is posted after a burst of events is executed (which
+ * approximates repaint latency) for the {@link AWTEventProvider} and the
+ * {@link BufferedAWTEventProvider}.
+ *
+ * @author Simon Taddiken
+ */
+@Ignore
+public class AWTEventQueueLengthMeasure {
+
+    private interface BurstListener extends Listener {
+        public void onEvent(Event<?, BurstListener> e);
+    }
+
+    private static class CountingEventQueue extends EventQueue {
+        private final AtomicInteger length = new AtomicInteger();
+        private final AtomicInteger maxLength = new AtomicInteger();
+
+        @Override
+        public void postEvent(AWTEvent theEvent) {
+            if (theEvent instanceof InvocationEvent) {
+                final int current = this.length.incrementAndGet();
+                this.maxLength.accumulateAndGet(current, Math::max);
+            }
+            super.postEvent(theEvent);
+        }
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            if (event instanceof InvocationEvent) {
+                this.length.decrementAndGet();
+            }
+            super.dispatchEvent(event);
+        }
+    }
+
+    private final static int BURST_SIZE = 100000;
+
+    private void measure(String name, EventProvider provider) throws Exception {
+        final CountingEventQueue queue = new CountingEventQueue();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(queue);
+        SwingUtilities.invokeAndWait(() -> {});
+        queue.maxLength.set(0);
+
+        final StopWatch watch = new LoggingStopWatch(name);
+        for (int i = 0; i < BURST_SIZE; ++i) {
+            provider.dispatch(new Event<>(this, BurstListener.class),
+                    BurstListener::onEvent);
+        }
+        final CountDownLatch marker = new CountDownLatch(1);
+        final long posted = System.nanoTime();
+        SwingUtilities.invokeLater(marker::countDown);
+        marker.await();
+        final long latency = System.nanoTime() - posted;
+        SwingUtilities.invokeAndWait(() -> {});
+        watch.stop(name);
+
+        System.out.printf("%s: max queue length=%d, marker latency=%dus%n", name,
+                queue.maxLength.get(), latency / 1000);
+        provider.close();
+    }
+
+    private ListenerStore createStore() {
+        final ListenerStore store = DefaultListenerStore.create();
+        store.add(BurstListener.class, e -> {});
+        return store;
+    }
+
+    @Test
+    public void testInvokeLater() throws Exception {
+        measure("invokeLater", new AWTEventProvider(createStore(), false));
+    }
+
+    @Test
+    public void testBuffered() throws Exception {
+        measure("buffered", new BufferedAWTEventProvider(createStore()));
+    }
+}
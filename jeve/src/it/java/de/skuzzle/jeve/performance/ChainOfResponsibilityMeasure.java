@@ -0,0 +1,77 @@
+package de.skuzzle.jeve.performance;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.perf4j.LoggingStopWatch;
+import org.perf4j.StopWatch;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.providers.SequentialEventProvider;
+import de.skuzzle.jeve.stores.DefaultListenerStore;
+
+/**
+ * Measures dispatching in a chain of responsibility setup in which the first
+ * of many listeners handles almost every event. Compared to a setup in which
+ * no listener handles the event, this shows the time which is saved by not
+ * iterating the remaining listeners of a handled event.
+ *
+ * @author Simon Taddiken
+ */
+@Ignore
+public class ChainOfResponsibilityMeasure {
+
+    private interface ChainListener extends Listener {
+        public void onEvent(Event<?, ChainListener> e);
+    }
+
+    private final static int LISTENER_COUNT = 1000;
+    private final static int WARM_UP_LOOP_COUNT = 10000;
+    private final static int LOOP_COUNT = 100000;
+
+    /** Every n-th event is not handled by the first listener. */
+    private final static int UNHANDLED_EVERY = 100;
+
+    private EventProvider createProvider(boolean firstHandles) {
+        final ListenerStore store = DefaultListenerStore.create();
+        store.add(ChainListener.class, e -> {
+            if (firstHandles && (Integer) e.getSource() % UNHANDLED_EVERY != 0) {
+                e.setHandled(true);
+            }
+        });
+        for (int i = 1; i < LISTENER_COUNT; ++i) {
+            store.add(ChainListener.class, e -> {});
+        }
+        return new SequentialEventProvider(store);
+    }
+
+    private void measure(String name, EventProvider provider) {
+        final StopWatch watch = new LoggingStopWatch(name);
+        watch.start(name + ".warmup");
+        for (int i = 0; i < WARM_UP_LOOP_COUNT; ++i) {
+            provider.dispatch(new Event<>(i, ChainListener.class),
+                    ChainListener::onEvent);
+        }
+        watch.stop(name + ".warmup");
+
+        watch.start(name);
+        for (int i = 0; i < LOOP_COUNT; ++i) {
+            provider.dispatch(new Event<>(i, ChainListener.class),
+                    ChainListener::onEvent);
+        }
+        watch.stop(name);
+        provider.close();
+    }
+
+    @Test
+    public void testFirstListenerHandles() {
+        measure("firstHandles", createProvider(true));
+    }
+
+    @Test
+    public void testNoListenerHandles() {
+        measure("noneHandles", createProvider(false));
+    }
+}
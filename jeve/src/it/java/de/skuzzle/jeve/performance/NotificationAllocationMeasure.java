@@ -0,0 +1,82 @@
+package de.skuzzle.jeve.performance;
+
+import java.lang.management.ManagementFactory;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.perf4j.LoggingStopWatch;
+import org.perf4j.StopWatch;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.invoke.EventInvocation;
+import de.skuzzle.jeve.providers.SequentialEventProvider;
+import de.skuzzle.jeve.stores.DefaultListenerStore;
+
+/**
+ * Measures the bytes which are allocated per notified listener when
+ * dispatching an event to many listeners, once with the default
+ * EventInvocationFactory and once with a custom factory which disables the
+ * allocation free fast path. The allocations which are caused once per
+ * dispatch action (like the listener stream) are spread across all listeners.
+ *
+ * @author Simon Taddiken
+ */
+@Ignore
+public class NotificationAllocationMeasure {
+
+    private interface CountingListener extends Listener {
+        public void onEvent(Event<?, CountingListener> e);
+    }
+
+    private final static int LISTENER_COUNT = 1000;
+    private final static int WARM_UP_LOOP_COUNT = 10000;
+    private final static int LOOP_COUNT = 10000;
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private void measure(String name, EventProvider provider) {
+        final Event<Object, CountingListener> event = new Event<>(this,
+                CountingListener.class);
+        for (int i = 0; i < WARM_UP_LOOP_COUNT; ++i) {
+            provider.dispatch(event, CountingListener::onEvent);
+        }
+
+        final StopWatch watch = new LoggingStopWatch(name);
+        final long before = allocatedBytes();
+        for (int i = 0; i < LOOP_COUNT; ++i) {
+            provider.dispatch(event, CountingListener::onEvent);
+        }
+        final long allocated = allocatedBytes() - before;
+        watch.stop(name);
+
+        System.out.printf("%s: %.2f bytes per notification%n", name,
+                (double) allocated / LOOP_COUNT / LISTENER_COUNT);
+        provider.close();
+    }
+
+    private EventProvider createProvider() {
+        final ListenerStore store = DefaultListenerStore.create();
+        for (int i = 0; i < LISTENER_COUNT; ++i) {
+            store.add(CountingListener.class, e -> {});
+        }
+        return new SequentialEventProvider(store);
+    }
+
+    @Test
+    public void testDefaultFactory() {
+        measure("defaultFactory", createProvider());
+    }
+
+    @Test
+    public void testCustomFactory() {
+        final EventProvider provider = createProvider();
+        provider.setInvocationFactory(EventInvocation::of);
+        measure("customFactory", provider);
+    }
+}
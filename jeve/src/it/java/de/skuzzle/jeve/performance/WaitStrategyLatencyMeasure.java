@@ -0,0 +1,109 @@
+package de.skuzzle.jeve.performance;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import org.junit.Ignore;
+import org.junit.Test;
+import org.perf4j.LoggingStopWatch;
+import org.perf4j.StopWatch;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.providers.EventLoopEventProvider;
+import de.skuzzle.jeve.providers.WaitStrategies;
+import de.skuzzle.jeve.providers.WaitStrategy;
+import de.skuzzle.jeve.stores.DefaultListenerStore;
+
+/**
+ * Measures the latency between dispatching an event and notifying its listener
+ * for each {@link WaitStrategy} at different dispatch rates. Prints the 50th,
+ * 99th and 99.9th percentile.
+ *
+ * @author Simon Taddiken
+ */
+@Ignore
+public class WaitStrategyLatencyMeasure {
+
+    private static class TimedEvent extends Event<Object, TimedListener> {
+        private final long created;
+
+        private TimedEvent(Object source) {
+            super(source, TimedListener.class);
+            this.created = System.nanoTime();
+        }
+    }
+
+    private interface TimedListener extends Listener {
+        public void onEvent(TimedEvent e);
+    }
+
+    private final static int SAMPLE_COUNT = 100000;
+    private final static int[] EVENTS_PER_SECOND = { 1000, 10000, 100000 };
+
+    private void measure(String name, Supplier<WaitStrategy> strategy) {
+        for (final int rate : EVENTS_PER_SECOND) {
+            final long[] latencies = new long[SAMPLE_COUNT];
+            final CountDownLatch done = new CountDownLatch(SAMPLE_COUNT);
+            final ListenerStore store = DefaultListenerStore.create();
+            store.add(TimedListener.class, e -> {
+                latencies[(int) (SAMPLE_COUNT - done.getCount())] =
+                        System.nanoTime() - e.created;
+                done.countDown();
+            });
+
+            final EventLoopEventProvider provider = new EventLoopEventProvider(
+                    store, strategy.get());
+            final long pause = TimeUnit.SECONDS.toNanos(1) / rate;
+            final String tag = name + "@" + rate;
+            final StopWatch watch = new LoggingStopWatch(tag);
+            for (int i = 0; i < SAMPLE_COUNT; ++i) {
+                provider.dispatch(new TimedEvent(this), TimedListener::onEvent);
+                LockSupport.parkNanos(pause);
+            }
+            try {
+                done.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                provider.close();
+            }
+            watch.stop(tag);
+
+            Arrays.sort(latencies);
+            System.out.printf("%s: p50=%dns p99=%dns p999=%dns%n", tag,
+                    percentile(latencies, 0.5),
+                    percentile(latencies, 0.99),
+                    percentile(latencies, 0.999));
+        }
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[(int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length))];
+    }
+
+    @Test
+    public void testBusySpin() {
+        measure("busySpin", WaitStrategies::busySpin);
+    }
+
+    @Test
+    public void testYielding() {
+        measure("yielding", WaitStrategies::yielding);
+    }
+
+    @Test
+    public void testParking() {
+        measure("parking", () -> WaitStrategies.parking(50, TimeUnit.MICROSECONDS));
+    }
+
+    @Test
+    public void testBlocking() {
+        measure("blocking", WaitStrategies::blocking);
+    }
+}
@@ -0,0 +1,140 @@
+package de.skuzzle.jeve;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.skuzzle.jeve.invoke.FailedEventInvocation;
+
+/**
+ * ExceptionCallback which logs failures aggregated per listener class and
+ * exception type instead of logging each failure with its own stack trace.
+ * Failures are only counted within the dispatching thread; once per window a
+ * daemon thread logs a single summary per listener class and exception type
+ * which contains the number of failures and the stack trace of one sampled
+ * failure. Thus, a listener which fails for every event produces one log entry
+ * per window and the cost of logging does not grow with the failure rate.
+ *
+ * <p>
+ * Instances are created using {@link ExceptionCallbacks#ignoreAggregated(long,
+ * TimeUnit)} or {@link ExceptionCallbacks#stopOnErrorAggregated(long,
+ * TimeUnit)}. Pending failures are logged and the daemon thread is stopped
+ * when the callback is {@link #close() closed}.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public final class AggregatingExceptionCallback implements ExceptionCallback,
+        AutoCloseable {
+
+    /** Failures of a single listener class with a single exception type. */
+    private static final class Aggregate {
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicReference<FailedEventInvocation> sample =
+                new AtomicReference<>();
+    }
+
+    private final Logger logger;
+    private final boolean stopOnError;
+    private final long windowNanos;
+    private final Map<Class<?>, Map<Class<?>, Aggregate>> aggregates;
+    private final ScheduledExecutorService timer;
+
+    AggregatingExceptionCallback(long window, TimeUnit unit, boolean stopOnError) {
+        this(LoggerFactory.getLogger(ExceptionCallbacks.class), window, unit,
+                stopOnError, true);
+    }
+
+    AggregatingExceptionCallback(Logger logger, long window, TimeUnit unit,
+            boolean stopOnError, boolean startTimer) {
+        if (window <= 0) {
+            throw new IllegalArgumentException("window <= 0");
+        } else if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        this.logger = logger;
+        this.stopOnError = stopOnError;
+        this.windowNanos = unit.toNanos(window);
+        this.aggregates = new ConcurrentHashMap<>();
+
+        if (startTimer) {
+            this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "jeve-failure-log");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.timer.scheduleAtFixedRate(this::flush, this.windowNanos,
+                    this.windowNanos, TimeUnit.NANOSECONDS);
+        } else {
+            this.timer = null;
+        }
+    }
+
+    @Override
+    public void exception(FailedEventInvocation invocation) {
+        final Aggregate aggregate = this.aggregates
+                .computeIfAbsent(invocation.getListener().getClass(),
+                        key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(invocation.getException().getClass(),
+                        key -> new Aggregate());
+        // the sample is published before counting, so that a counted failure
+        // is never missing its sample
+        if (aggregate.sample.get() == null) {
+            aggregate.sample.compareAndSet(null, invocation);
+        }
+        aggregate.count.incrementAndGet();
+        if (this.stopOnError) {
+            invocation.getEvent().setHandled(true);
+        }
+    }
+
+    /**
+     * Logs one summary for each listener class and exception type which
+     * failed since the last call. Called periodically by the logging thread.
+     */
+    void flush() {
+        final long windowMillis = TimeUnit.NANOSECONDS.toMillis(this.windowNanos);
+        this.aggregates.forEach((listenerClass, byException) ->
+            byException.forEach((exceptionClass, aggregate) -> {
+                final FailedEventInvocation sample = aggregate.sample.getAndSet(null);
+                // reading and resetting must be atomic, otherwise failures
+                // which are counted concurrently would be lost
+                final long count = aggregate.count.getAndSet(0);
+                if (count == 0) {
+                    // the sampled failure has not been counted yet
+                    if (sample != null) {
+                        aggregate.sample.compareAndSet(null, sample);
+                    }
+                    return;
+                } else if (sample == null) {
+                    this.logger.error("Listener {} failed {} times with {} within the "
+                            + "last {} ms", listenerClass.getName(), count,
+                            exceptionClass.getName(), windowMillis);
+                    return;
+                }
+                this.logger.error("Listener {} failed {} times with {} within the "
+                        + "last {} ms. Sampled event: {}", listenerClass.getName(),
+                        count, exceptionClass.getName(), windowMillis,
+                        sample.getEvent(), sample.getException());
+            }));
+    }
+
+    /**
+     * Logs all pending failures and stops the logging thread.
+     */
+    @Override
+    public void close() {
+        if (this.timer != null) {
+            this.timer.shutdownNow();
+        }
+        flush();
+    }
+}
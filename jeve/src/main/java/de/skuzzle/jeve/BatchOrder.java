@@ -0,0 +1,29 @@
+package de.skuzzle.jeve;
+
+import java.util.Collection;
+import java.util.function.BiConsumer;
+
+/**
+ * Specifies the order in which a batch of events is delivered to the
+ * listeners when using
+ * {@link EventProvider#dispatchAll(Collection, BiConsumer, ExceptionCallback, BatchOrder)
+ * dispatchAll}.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public enum BatchOrder {
+    /**
+     * Each event is delivered to all listeners before the next event is
+     * delivered. This is the same order in which listeners would be notified
+     * when dispatching the events one by one.
+     */
+    EVENT_MAJOR,
+
+    /**
+     * Each listener receives all events before the next listener is notified.
+     * This keeps the state of a single listener hot in the cache while it
+     * processes the whole batch.
+     */
+    LISTENER_MAJOR
+}
@@ -0,0 +1,502 @@
+package de.skuzzle.jeve;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.skuzzle.jeve.invoke.FailedEventInvocation;
+
+/**
+ * ExceptionCallback which keeps the most recent failed invocations so that
+ * they can be {@link #redispatch(EventProvider) replayed} once the cause of
+ * the failures has been fixed. In contrast to the {@link FailureCollector},
+ * the memory used by this store is bounded: failures are kept in a ring of
+ * fixed capacity which is written without locks. If the ring is full, the
+ * oldest failure is evicted and optionally appended to a spill file, so that
+ * it is not lost for later analysis:
+ *
+ * <pre>
+ * DeadLetterStore deadLetters = DeadLetterStore.create(1024)
+ *         .spillTo(Paths.get("dead-letters.log"));
+ * eventProvider.setExceptionCallback(deadLetters);
+ * ...
+ * deadLetters.redispatch(eventProvider);
+ * </pre>
+ *
+ * <p>
+ * Spilled failures are written as text including the stack trace of the
+ * exception and can not be replayed. They are handed to a daemon thread which
+ * writes them to the spill file, so the thread which reports a failure never
+ * performs I/O. At most {@value #SPILL_QUEUE_CAPACITY} failures wait for being
+ * written. If the writer can not keep up, further evicted failures are dropped
+ * and counted in {@link #getSpillDroppedCount()}.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public final class DeadLetterStore implements ExceptionCallback, AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeadLetterStore.class);
+
+    private static final int SPILL_QUEUE_CAPACITY = 1024;
+
+    private static final long WRITER_TERMINATION_TIMEOUT = 2000;
+
+    /** Tells the writer thread to terminate. */
+    private static final DeadLetter STOP_WRITER = new DeadLetter(null, 0, -1);
+
+    /**
+     * A single failed invocation within the store.
+     *
+     * @author Simon Taddiken
+     * @since 4.0.0
+     */
+    public static final class DeadLetter {
+        private final FailedEventInvocation invocation;
+        private final long timestamp;
+        private final long sequence;
+
+        private DeadLetter(FailedEventInvocation invocation, long timestamp,
+                long sequence) {
+            this.invocation = invocation;
+            this.timestamp = timestamp;
+            this.sequence = sequence;
+        }
+
+        /**
+         * Gets the failed invocation.
+         *
+         * @return The invocation.
+         */
+        public FailedEventInvocation getInvocation() {
+            return this.invocation;
+        }
+
+        /**
+         * Gets the listener which failed.
+         *
+         * @return The listener.
+         */
+        public Listener getListener() {
+            return this.invocation.getListener();
+        }
+
+        /**
+         * Gets the event which was being dispatched.
+         *
+         * @return The event.
+         */
+        public Event<?, ?> getEvent() {
+            return this.invocation.getEvent();
+        }
+
+        /**
+         * Gets the exception thrown by the listener.
+         *
+         * @return The exception.
+         */
+        public Exception getException() {
+            return this.invocation.getException();
+        }
+
+        /**
+         * Gets the time at which the failure has been recorded in milliseconds
+         * since the epoch.
+         *
+         * @return The timestamp.
+         */
+        public long getTimestamp() {
+            return this.timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%d %s: %s (%s)", this.timestamp, getListener(),
+                    getEvent(), getException());
+        }
+    }
+
+    private final AtomicReferenceArray<DeadLetter> ring;
+    private final AtomicLong sequence;
+    private final ExceptionCallback delegate;
+    private final LongAdder evicted;
+    private final LongAdder spilled;
+    private final LongAdder spillDropped;
+    private final BlockingQueue<DeadLetter> spillQueue;
+    private final Object spillMutex = new Object();
+    private volatile Path spillFile;
+    private volatile Thread spillThread;
+
+    // only accessed while holding the spill mutex
+    private BufferedWriter spillWriter;
+
+    private DeadLetterStore(int capacity, ExceptionCallback delegate) {
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.sequence = new AtomicLong();
+        this.delegate = delegate;
+        this.evicted = new LongAdder();
+        this.spilled = new LongAdder();
+        this.spillDropped = new LongAdder();
+        this.spillQueue = new ArrayBlockingQueue<>(SPILL_QUEUE_CAPACITY);
+    }
+
+    /**
+     * Creates a new DeadLetterStore.
+     *
+     * @param capacity The maximum number of failures to keep in memory.
+     * @return The new store.
+     */
+    public static DeadLetterStore create(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity <= 0");
+        }
+        return new DeadLetterStore(capacity, null);
+    }
+
+    /**
+     * Creates a new DeadLetterStore which additionally passes each failure to
+     * the given ExceptionCallback.
+     *
+     * @param ec The delegate.
+     * @param capacity The maximum number of failures to keep in memory.
+     * @return The new store.
+     */
+    public static DeadLetterStore delegatingTo(ExceptionCallback ec, int capacity) {
+        if (ec == null) {
+            throw new IllegalArgumentException("ec is null");
+        } else if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity <= 0");
+        }
+        return new DeadLetterStore(capacity, ec);
+    }
+
+    /**
+     * Appends failures which are evicted from the full ring to the given
+     * file. The file is created if it does not exist and is opened when the
+     * first failure is evicted.
+     *
+     * @param file The spill file.
+     * @return This store.
+     */
+    public DeadLetterStore spillTo(Path file) {
+        if (file == null) {
+            throw new IllegalArgumentException("file is null");
+        }
+        synchronized (this.spillMutex) {
+            closeSpillWriter();
+            this.spillFile = file;
+        }
+        return this;
+    }
+
+    @Override
+    public void exception(FailedEventInvocation invocation) {
+        record(invocation, System.currentTimeMillis());
+        if (this.delegate != null) {
+            this.delegate.exception(invocation);
+        }
+    }
+
+    private void record(FailedEventInvocation invocation, long timestamp) {
+        final long seq = this.sequence.getAndIncrement();
+        final DeadLetter letter = new DeadLetter(invocation, timestamp, seq);
+        final DeadLetter previous = this.ring.getAndSet(slot(seq), letter);
+        if (previous != null) {
+            this.evicted.increment();
+            spill(previous);
+        }
+    }
+
+    private int slot(long seq) {
+        return (int) (seq % this.ring.length());
+    }
+
+    private void spill(DeadLetter letter) {
+        if (this.spillFile == null) {
+            return;
+        } else if (!this.spillQueue.offer(letter)) {
+            this.spillDropped.increment();
+            return;
+        }
+        if (this.spillThread == null) {
+            startWriter();
+        }
+    }
+
+    private void startWriter() {
+        synchronized (this.spillMutex) {
+            if (this.spillThread != null) {
+                return;
+            }
+            final Thread thread = new Thread(this::writeSpilled, "jeve-dead-letter-spill");
+            thread.setDaemon(true);
+            this.spillThread = thread;
+            thread.start();
+        }
+    }
+
+    private void writeSpilled() {
+        try {
+            DeadLetter letter;
+            do {
+                letter = this.spillQueue.take();
+                synchronized (this.spillMutex) {
+                    // write everything which is available before flushing
+                    while (letter != null && letter != STOP_WRITER) {
+                        write(letter);
+                        letter = this.spillQueue.poll();
+                    }
+                    flushSpillWriter();
+                }
+            } while (letter != STOP_WRITER);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void write(DeadLetter letter) {
+        final Path file = this.spillFile;
+        if (file == null) {
+            return;
+        }
+        try {
+            if (this.spillWriter == null) {
+                this.spillWriter = Files.newBufferedWriter(file,
+                        StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.APPEND);
+            }
+            final PrintWriter out = new PrintWriter(this.spillWriter);
+            out.printf("%d\t%s\t%s%n", letter.timestamp, letter.getListener(),
+                    letter.getEvent());
+            letter.getException().printStackTrace(out);
+            this.spilled.increment();
+        } catch (final IOException e) {
+            LOGGER.error("Could not spill dead letter to '{}'", file, e);
+        }
+    }
+
+    private void flushSpillWriter() {
+        if (this.spillWriter == null) {
+            return;
+        }
+        try {
+            this.spillWriter.flush();
+        } catch (final IOException e) {
+            LOGGER.error("Could not spill dead letters to '{}'", this.spillFile, e);
+        }
+    }
+
+    /**
+     * Creates a snapshot of the failures which are currently kept in memory,
+     * ordered from the oldest to the most recent one.
+     *
+     * @return The failures.
+     */
+    public List<DeadLetter> getDeadLetters() {
+        final List<DeadLetter> result = new ArrayList<>(this.ring.length());
+        for (int i = 0; i < this.ring.length(); ++i) {
+            final DeadLetter letter = this.ring.get(i);
+            if (letter != null) {
+                result.add(letter);
+            }
+        }
+        result.sort(Comparator.comparingLong(letter -> letter.sequence));
+        return Collections.unmodifiableList(result);
+    }
+
+    /**
+     * Removes all failures from memory and returns them ordered from the
+     * oldest to the most recent one. Failures which are recorded concurrently
+     * are either contained in the result or remain in the store.
+     *
+     * @return The removed failures.
+     */
+    public List<DeadLetter> drain() {
+        final List<DeadLetter> result = new ArrayList<>();
+        for (int i = 0; i < this.ring.length(); ++i) {
+            final DeadLetter letter = this.ring.getAndSet(i, null);
+            if (letter != null) {
+                result.add(letter);
+            }
+        }
+        result.sort(Comparator.comparingLong(letter -> letter.sequence));
+        return result;
+    }
+
+    /**
+     * Removes all failures from memory and dispatches their events again
+     * using the given provider, in the order in which they failed. For each
+     * event, only the listener which failed is notified again, so that the
+     * threading model of the provider applies but other listeners do not see
+     * the event twice. Failures during the replay are reported to the
+     * ExceptionCallback of the original dispatch action, which might be this
+     * store again.
+     *
+     * <p>
+     * Failures can not be delivered if their event has meanwhile been
+     * {@link Event#isHandled() handled} or if the failed listener is no longer
+     * registered at the provider. Such failures are put back into this store
+     * once all events have been dispatched, so that they can be inspected
+     * using {@link #getDeadLetters()} or discarded using {@link #drain()}.
+     * </p>
+     *
+     * @param provider The provider to dispatch the events with.
+     * @return Future which is completed with the number of failures whose
+     *         listener has been notified again, as soon as all events have
+     *         been dispatched.
+     */
+    public CompletableFuture<Integer> redispatch(EventProvider provider) {
+        if (provider == null) {
+            throw new IllegalArgumentException("provider is null");
+        }
+        final List<DeadLetter> letters = drain();
+        final AtomicBoolean[] delivered = new AtomicBoolean[letters.size()];
+        final CompletableFuture<?>[] dispatched = new CompletableFuture<?>[letters.size()];
+        for (int i = 0; i < letters.size(); ++i) {
+            delivered[i] = new AtomicBoolean();
+            dispatched[i] = redispatch(provider, letters.get(i), delivered[i]);
+        }
+
+        return CompletableFuture.allOf(dispatched).handle((result, e) -> {
+            int count = 0;
+            for (int i = 0; i < letters.size(); ++i) {
+                final DeadLetter letter = letters.get(i);
+                if (delivered[i].get()) {
+                    ++count;
+                } else {
+                    record(letter.invocation, letter.timestamp);
+                }
+            }
+            return count;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <L extends Listener, E extends Event<?, L>> CompletableFuture<?>
+            redispatch(EventProvider provider, DeadLetter letter,
+                    AtomicBoolean delivered) {
+        final Listener failed = letter.getListener();
+        try {
+            return provider.dispatchAsync((E) letter.getEvent(), (listener, event) -> {
+                if (listener == failed) {
+                    delivered.set(true);
+                    letter.invocation.notifyListener();
+                }
+            });
+        } catch (final RuntimeException e) {
+            final CompletableFuture<?> result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+            return result;
+        }
+    }
+
+    /**
+     * Gets the number of failures which are currently kept in memory.
+     *
+     * @return The number of failures.
+     */
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < this.ring.length(); ++i) {
+            if (this.ring.get(i) != null) {
+                ++size;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Gets the number of failures which have been evicted from memory because
+     * the ring was full.
+     *
+     * @return The number of evicted failures.
+     */
+    public long getEvictedCount() {
+        return this.evicted.sum();
+    }
+
+    /**
+     * Gets the number of evicted failures which have been written to the spill
+     * file.
+     *
+     * @return The number of spilled failures.
+     */
+    public long getSpilledCount() {
+        return this.spilled.sum();
+    }
+
+    /**
+     * Gets the number of evicted failures which have not been written to the
+     * spill file because too many failures were already waiting for the
+     * writer thread.
+     *
+     * @return The number of dropped failures.
+     */
+    public long getSpillDroppedCount() {
+        return this.spillDropped.sum();
+    }
+
+    /**
+     * Writes all pending failures to the spill file, stops the writer thread
+     * and closes the file. Both will be restarted if further failures are
+     * evicted.
+     */
+    @Override
+    public void close() {
+        final Thread writer;
+        synchronized (this.spillMutex) {
+            writer = this.spillThread;
+            this.spillThread = null;
+        }
+        if (writer != null) {
+            try {
+                this.spillQueue.put(STOP_WRITER);
+                writer.join(WRITER_TERMINATION_TIMEOUT);
+            } catch (final InterruptedException e) {
+                LOGGER.error("Interrupted while waiting for the spill writer", e);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (this.spillMutex) {
+            DeadLetter letter;
+            while ((letter = this.spillQueue.poll()) != null) {
+                if (letter != STOP_WRITER) {
+                    write(letter);
+                }
+            }
+            closeSpillWriter();
+        }
+    }
+
+    private void closeSpillWriter() {
+        if (this.spillWriter == null) {
+            return;
+        }
+        try {
+            this.spillWriter.close();
+        } catch (final IOException e) {
+            LOGGER.error("Could not close spill file '{}'", this.spillFile, e);
+        }
+        this.spillWriter = null;
+    }
+}
@@ -0,0 +1,91 @@
+package de.skuzzle.jeve;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.skuzzle.jeve.invoke.FailedEventInvocation;
+
+/**
+ * Describes the outcome of a single dispatch action which has been started
+ * using {@link EventProvider#dispatchAsync(Event, java.util.function.BiConsumer)
+ * dispatchAsync}. A result is only created after all listeners have been
+ * notified.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public final class DispatchResult {
+
+    private final Event<?, ?> event;
+    private final int listenerCount;
+    private final List<FailedEventInvocation> failedInvocations;
+
+    /**
+     * Creates a new DispatchResult.
+     *
+     * @param event The event that has been dispatched.
+     * @param listenerCount The number of listeners that have been notified.
+     * @param failedInvocations The invocations that failed during dispatch.
+     */
+    public DispatchResult(Event<?, ?> event, int listenerCount,
+            List<FailedEventInvocation> failedInvocations) {
+        if (event == null) {
+            throw new IllegalArgumentException("event is null");
+        } else if (failedInvocations == null) {
+            throw new IllegalArgumentException("failedInvocations is null");
+        } else if (listenerCount < 0) {
+            throw new IllegalArgumentException("listenerCount < 0");
+        }
+
+        this.event = event;
+        this.listenerCount = listenerCount;
+        this.failedInvocations = Collections.unmodifiableList(
+                new ArrayList<>(failedInvocations));
+    }
+
+    /**
+     * Gets the event that has been dispatched.
+     *
+     * @return The event.
+     */
+    public Event<?, ?> getEvent() {
+        return this.event;
+    }
+
+    /**
+     * Gets the number of listeners that have been notified. Listeners which
+     * have been skipped because the event has been {@link Event#isHandled()
+     * handled} before are not counted. Listeners which threw an exception are
+     * counted.
+     *
+     * @return The number of notified listeners.
+     */
+    public int getListenerCount() {
+        return this.listenerCount;
+    }
+
+    /**
+     * Gets a read only list of all invocations that failed during dispatch.
+     *
+     * @return The failed invocations.
+     */
+    public List<FailedEventInvocation> getFailedInvocations() {
+        return this.failedInvocations;
+    }
+
+    /**
+     * Whether at least one listener threw an exception during dispatch.
+     *
+     * @return Whether any invocation failed.
+     */
+    public boolean hasFailures() {
+        return !this.failedInvocations.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("DispatchResult[event=%s, listenerCount=%d, failures=%d]",
+                this.event, this.listenerCount, this.failedInvocations.size());
+    }
+}
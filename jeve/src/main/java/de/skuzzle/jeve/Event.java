@@ -1,5 +1,7 @@
 package de.skuzzle.jeve;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -70,6 +72,21 @@ public class Event<T, L extends Listener> {
      */
     private Map<String, Object> properties;
 
+    /**
+     * The priority of this event.
+     *
+     * @since 4.0.0
+     */
+    private Priority priority;
+
+    /**
+     * Point in time after which this event should not be delivered anymore.
+     * <code>null</code> if the event never expires.
+     *
+     * @since 4.0.0
+     */
+    private Instant deadline;
+
     /**
      * Creates a new event with a given source.
      *
@@ -87,6 +104,7 @@ public class Event<T, L extends Listener> {
         this.source = source;
         this.listenerClass = listenerClass;
         this.handled = false;
+        this.priority = Priority.NORMAL;
     }
 
     /**
@@ -202,6 +220,94 @@ public class Event<T, L extends Listener> {
         return this.listenerClass;
     }
 
+    /**
+     * Gets the priority of this event. Defaults to {@link Priority#NORMAL}.
+     *
+     * @return The priority.
+     * @since 4.0.0
+     */
+    public Priority getPriority() {
+        return this.priority;
+    }
+
+    /**
+     * Sets the priority of this event. EventProviders which are
+     * {@link de.skuzzle.jeve.providers.PriorityAware PriorityAware}, like the
+     * {@link de.skuzzle.jeve.providers.AsynchronousEventProvider
+     * AsynchronousEventProvider}, deliver events with a higher priority before
+     * pending events with a lower priority. The ConflatingEventProvider and
+     * providers which are not PriorityAware, like the EventLoopEventProvider
+     * and the BufferedAWTEventProvider, deliver events in the order in which
+     * they have been dispatched. The priority must be set before the event is
+     * passed to a dispatch method.
+     *
+     * @param priority The priority.
+     * @since 4.0.0
+     */
+    public void setPriority(Priority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("priority is null");
+        }
+        this.priority = priority;
+    }
+
+    /**
+     * Gets the point in time after which this event should not be delivered
+     * anymore.
+     *
+     * @return The deadline or an empty Optional if this event never expires.
+     * @since 4.0.0
+     */
+    public Optional<Instant> getDeadline() {
+        return Optional.ofNullable(this.deadline);
+    }
+
+    /**
+     * Sets the point in time after which this event should not be delivered
+     * anymore. EventProviders which are
+     * {@link de.skuzzle.jeve.providers.DeadlineAware DeadlineAware}, like the
+     * {@link de.skuzzle.jeve.providers.AsynchronousEventProvider
+     * AsynchronousEventProvider}, drop expired events when they are taken from
+     * the queue instead of notifying the listeners. This is useful for events
+     * which become useless after some time, like UI refreshes. Other
+     * providers, like the EventLoopEventProvider and the
+     * BufferedAWTEventProvider, ignore the deadline.
+     *
+     * @param deadline The deadline or <code>null</code> if this event should
+     *            never expire.
+     * @since 4.0.0
+     * @see #setTimeToLive(Duration)
+     */
+    public void setDeadline(Instant deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Sets the deadline of this event to the current time plus the given
+     * duration.
+     *
+     * @param timeToLive How long this event may be delivered from now on.
+     * @since 4.0.0
+     * @see #setDeadline(Instant)
+     */
+    public void setTimeToLive(Duration timeToLive) {
+        if (timeToLive == null) {
+            throw new IllegalArgumentException("timeToLive is null");
+        }
+        this.deadline = Instant.now().plus(timeToLive);
+    }
+
+    /**
+     * Whether the {@link #getDeadline() deadline} of this event has passed.
+     *
+     * @return Whether this event is expired. Always <code>false</code> if no
+     *         deadline is set.
+     * @since 4.0.0
+     */
+    public boolean isExpired() {
+        return this.deadline != null && Instant.now().isAfter(this.deadline);
+    }
+
     /**
      * Gets whether this event was already handled. If this returns
      * <code>true</code>, no further listeners will be notified about this
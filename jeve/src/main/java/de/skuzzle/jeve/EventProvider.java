@@ -1,11 +1,16 @@
 package de.skuzzle.jeve;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 import de.skuzzle.jeve.builder.EventProviderConfigurator;
 import de.skuzzle.jeve.invoke.EventInvocation;
 import de.skuzzle.jeve.invoke.EventInvocationFactory;
+import de.skuzzle.jeve.invoke.InvocationChain;
+import de.skuzzle.jeve.invoke.InvocationInterceptor;
 import de.skuzzle.jeve.stores.PriorityListenerStore;
 
 /**
@@ -245,6 +250,15 @@ public interface EventProvider {
      */
     void setInterruptAware(boolean interruptAware);
 
+    /**
+     * Whether this provider takes the thread's interrupted state into account.
+     *
+     * @return Whether event delegation stops if the thread is interrupted.
+     * @see #setInterruptAware(boolean)
+     * @since 4.0.0
+     */
+    boolean isInterruptAware();
+
     /**
      * Notifies all listeners of a certain kind about an occurred event. If this
      * provider is not ready for dispatching as determined by
@@ -408,6 +422,110 @@ public interface EventProvider {
         event.defaultDispatch(this, ec);
     }
 
+    /**
+     * Notifies all listeners of a certain kind about an occurred event and
+     * returns a {@link CompletableFuture} which is completed as soon as all
+     * listeners have been notified. The future's {@link DispatchResult} holds
+     * the number of notified listeners and all invocations that failed.
+     * Failed invocations are still passed to the global
+     * {@link ExceptionCallback}.
+     *
+     * <p>
+     * On providers which notify listeners within the dispatching thread, the
+     * returned future will already be completed when this method returns. If
+     * this provider is not ready for dispatching as determined by
+     * {@link #canDispatch()}, the returned future will be completed with a
+     * result for zero notified listeners. If a listener or the ExceptionCallback
+     * throws an {@link AbortionException}, the future will be completed
+     * exceptionally.
+     * </p>
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the event which will be passed to a listener.
+     * @param event The occurred event which shall be passed to each listener.
+     * @param bc Function to delegate the event to the specific callback method
+     *            of the listener.
+     * @return A future which is completed after all listeners have been
+     *         notified.
+     * @throws IllegalArgumentException If any of the passed arguments is
+     *             <code>null</code>.
+     * @since 4.0.0
+     */
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc);
+
+    /**
+     * Notifies all listeners of a certain kind about an occurred event with
+     * explicit error handling and returns a {@link CompletableFuture} which is
+     * completed as soon as all listeners have been notified. See
+     * {@link #dispatchAsync(Event, BiConsumer)} for further information.
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the event which will be passed to a listener.
+     * @param event The occurred event which shall be passed to each listener.
+     * @param bc Function to delegate the event to the specific callback method
+     *            of the listener.
+     * @param ec Callback to be notified when any of the listeners throws an
+     *            exception.
+     * @return A future which is completed after all listeners have been
+     *         notified.
+     * @throws IllegalArgumentException If any of the passed arguments is
+     *             <code>null</code>.
+     * @since 4.0.0
+     */
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec);
+
+    /**
+     * Notifies all listeners of a certain kind about each event of the given
+     * collection. The listeners are only looked up once per listener class
+     * instead of once per event. The events are delivered in
+     * {@link BatchOrder#EVENT_MAJOR event major} order and exceptions thrown by
+     * listeners are passed to the default {@link ExceptionCallback}.
+     *
+     * <p>
+     * Asynchronous providers deliver the whole batch within a single task
+     * instead of scheduling one task per event. The collection is copied
+     * before this method returns, so it may be modified afterwards.
+     * </p>
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the events which will be passed to a listener.
+     * @param events The events to pass to each listener.
+     * @param bc Function to delegate each event to the specific callback
+     *            method of the listener.
+     * @throws IllegalArgumentException If any of the passed arguments is
+     *             <code>null</code> or if the collection contains
+     *             <code>null</code>.
+     * @since 4.0.0
+     */
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc);
+
+    /**
+     * Notifies all listeners of a certain kind about each event of the given
+     * collection with explicit error handling and in the specified order. See
+     * {@link #dispatchAll(Collection, BiConsumer)} for further information.
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the events which will be passed to a listener.
+     * @param events The events to pass to each listener.
+     * @param bc Function to delegate each event to the specific callback
+     *            method of the listener.
+     * @param ec Callback to be notified when any of the listeners throws an
+     *            exception.
+     * @param order The order in which events are delivered to the listeners.
+     * @throws IllegalArgumentException If any of the passed arguments is
+     *             <code>null</code> or if the collection contains
+     *             <code>null</code>.
+     * @since 4.0.0
+     */
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc,
+            ExceptionCallback ec, BatchOrder order);
+
     /**
      * Gets whether this EventProvider is ready for dispatching.
      *
@@ -442,6 +560,23 @@ public interface EventProvider {
      */
     public void setInvocationFactory(EventInvocationFactory factory);
 
+    /**
+     * Sets the {@link InvocationInterceptor InvocationInterceptors} which are
+     * invoked around the notification of each single listener. The
+     * interceptors are compiled into an {@link InvocationChain} once when this
+     * method is called, replacing any previously set interceptors. The first
+     * interceptor of the list will be the outermost one.
+     * <p>
+     * You can remove all interceptors by providing <code>null</code> or an
+     * empty list as parameter.
+     *
+     * @param interceptors The interceptors to use.
+     * @throws IllegalArgumentException If the list contains <code>null</code>.
+     * @since 4.0.0
+     */
+    public void setInvocationInterceptors(
+            List<? extends InvocationInterceptor> interceptors);
+
     /**
      * Returns whether this EventProvider is sequential, which means it strictly
      * notifies listeners in the order in which they were registered for a
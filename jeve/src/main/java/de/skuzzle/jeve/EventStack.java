@@ -11,7 +11,10 @@ import java.util.Optional;
  * again. This allows queries such as which events are currently active.
  *
  * <p>
- * Implementations must be thread safe.
+ * Implementations must be thread safe. The stack of the
+ * {@link de.skuzzle.jeve.providers.SequentialEventProvider
+ * SequentialEventProvider} is confined to the dispatching thread, thus its
+ * queries only refer to events which are dispatched by the calling thread.
  * </p>
  * @author Simon Taddiken
  */
@@ -1,5 +1,7 @@
 package de.skuzzle.jeve;
 
+import java.util.concurrent.TimeUnit;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -66,4 +68,34 @@ public final class ExceptionCallbacks {
             }
         };
     }
+
+    /**
+     * Like {@link #ignore()}, but instead of logging every failure, failures
+     * are counted per listener class and exception type and logged once per
+     * window from within a background thread. Each log entry contains the
+     * number of failures and the stack trace of a sampled failure.
+     *
+     * @param window The length of the window.
+     * @param unit The unit of the window.
+     * @return The callback.
+     * @see AggregatingExceptionCallback
+     */
+    public static AggregatingExceptionCallback ignoreAggregated(long window,
+            TimeUnit unit) {
+        return new AggregatingExceptionCallback(window, unit, false);
+    }
+
+    /**
+     * Like {@link #stopOnError()}, but failures are logged aggregated like
+     * with {@link #ignoreAggregated(long, TimeUnit)}.
+     *
+     * @param window The length of the window.
+     * @param unit The unit of the window.
+     * @return The callback.
+     * @see AggregatingExceptionCallback
+     */
+    public static AggregatingExceptionCallback stopOnErrorAggregated(long window,
+            TimeUnit unit) {
+        return new AggregatingExceptionCallback(window, unit, true);
+    }
 }
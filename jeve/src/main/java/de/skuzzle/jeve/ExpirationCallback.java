@@ -0,0 +1,24 @@
+package de.skuzzle.jeve;
+
+/**
+ * Callback which is notified by an {@link EventProvider} when an event is
+ * dropped because its {@link Event#getDeadline() deadline} passed before its
+ * listeners could be notified.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ * @see Event#setDeadline(java.time.Instant)
+ */
+@FunctionalInterface
+public interface ExpirationCallback {
+
+    /**
+     * Called when the given event has been dropped because it expired. This
+     * method is called within the thread which would have notified the
+     * listeners. Unchecked exceptions thrown by this method will be swallowed
+     * by the EventProvider.
+     *
+     * @param event The expired event.
+     */
+    public void expired(Event<?, ?> event);
+}
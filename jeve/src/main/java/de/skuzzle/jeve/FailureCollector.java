@@ -31,6 +31,10 @@ import de.skuzzle.jeve.invoke.FailedEventInvocation;
  * ...
  * </pre>
  *
+ * The collector keeps every failure, so it should not stay enabled in
+ * production. Use a {@link DeadLetterStore} to keep a bounded number of
+ * failures instead.
+ *
  * @author Simon Taddiken
  * @since 3.0.0
  */
@@ -0,0 +1,22 @@
+package de.skuzzle.jeve;
+
+/**
+ * The priority of an {@link Event}. EventProviders which queue events before
+ * notifying the listeners may use the priority to deliver more important
+ * events before less important ones which have been dispatched earlier.
+ * Providers which notify listeners immediately ignore the priority.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ * @see Event#setPriority(Priority)
+ */
+public enum Priority {
+    /** Events which should bypass all less important pending events. */
+    HIGH,
+
+    /** The default priority of events. */
+    NORMAL,
+
+    /** Events which may be delayed in favor of more important events. */
+    LOW
+}
@@ -39,6 +39,10 @@ public class ListenerAnnotationProcessor extends AbstractProcessor {
     private static final String ILLEGAL_PARAMETER =
             "Listening method '%s' must have a single parameter of type 'Event'";
 
+    private static final String ILLEGAL_BATCH_PARAMETER =
+            "Listening method '%s' must have a single parameter of type "
+                    + "'List<? extends Event>'";
+
     private static final String ILLEGAL_EXCEPTION =
             "Listening method '%s' can not throw checked exception";
 
@@ -92,7 +96,7 @@ public class ListenerAnnotationProcessor extends AbstractProcessor {
 
                 for (final ExecutableElement member : members) {
                     checkReturnValue(member, kind);
-                    checkParameter(member);
+                    checkParameter(member, kind);
                     checkThrown(member);
                 }
             }
@@ -110,6 +114,7 @@ public class ListenerAnnotationProcessor extends AbstractProcessor {
 
         switch (expectedKind) {
         case NORMAL:
+        case BATCH:
             if (!types.isSameType(ret, voidPrim)) {
                 msg.printMessage(Kind.ERROR, String.format(EXPECTED_TYPE,
                         member.getSimpleName(), "'void'", expectedKind), member);
@@ -136,14 +141,17 @@ public class ListenerAnnotationProcessor extends AbstractProcessor {
         }
     }
 
-    private void checkParameter(ExecutableElement member) {
+    private void checkParameter(ExecutableElement member, ListenerKind kind) {
         final Types types = this.processingEnv.getTypeUtils();
         final Messager msg = this.processingEnv.getMessager();
 
+        final String message = kind == ListenerKind.BATCH
+                ? ILLEGAL_BATCH_PARAMETER
+                : ILLEGAL_PARAMETER;
         final List<? extends VariableElement> params = member.getParameters();
 
         if (params.size() != 1) {
-            msg.printMessage(Kind.ERROR, String.format(ILLEGAL_PARAMETER,
+            msg.printMessage(Kind.ERROR, String.format(message,
                     member.getSimpleName()), member);
             return;
         }
@@ -158,8 +166,19 @@ public class ListenerAnnotationProcessor extends AbstractProcessor {
         final TypeMirror eType = types.getDeclaredType(eventType,
                 types.getWildcardType(null, null),
                 types.getWildcardType(listenerMirror, null));
-        if (!types.isSubtype(param.asType(), eType)) {
-            msg.printMessage(Kind.ERROR, String.format(ILLEGAL_PARAMETER,
+
+        final TypeMirror expected;
+        if (kind == ListenerKind.BATCH) {
+            final TypeElement listType = elements.getTypeElement(
+                    List.class.getName());
+            expected = types.getDeclaredType(listType,
+                    types.getWildcardType(eType, null));
+        } else {
+            expected = eType;
+        }
+
+        if (!types.isSubtype(param.asType(), expected)) {
+            msg.printMessage(Kind.ERROR, String.format(message,
                     member.getSimpleName()), param);
         }
     }
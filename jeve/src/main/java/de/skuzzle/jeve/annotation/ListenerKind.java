@@ -29,4 +29,22 @@ public enum ListenerKind {
      * methods but exists as super interface for other listeners.
      */
     TAGGING,
+
+    /**
+     * A batch listener as an interface which extends
+     * {@link de.skuzzle.jeve.Listener Listener} and which only contains methods
+     * adhering to the following conditions:
+     * <ul>
+     * <li>The return value is {@code void}</li>
+     * <li>The only parameter is a {@link java.util.List List} of sub types of
+     * {@link de.skuzzle.jeve.Event Event}</li>
+     * <li>No checked exceptions are thrown</li>
+     * </ul>
+     * Such listeners can be notified about many events at once using the
+     * {@link de.skuzzle.jeve.providers.BatchingEventProvider
+     * BatchingEventProvider}.
+     *
+     * @since 4.0.0
+     */
+    BATCH,
 }
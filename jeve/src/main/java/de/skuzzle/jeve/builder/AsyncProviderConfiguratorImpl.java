@@ -1,16 +1,27 @@
 package de.skuzzle.jeve.builder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import de.skuzzle.jeve.EventProvider;
 import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.ExceptionCallbacks;
+import de.skuzzle.jeve.Listener;
 import de.skuzzle.jeve.ListenerSource;
 import de.skuzzle.jeve.ListenerStore;
 import de.skuzzle.jeve.builder.EventProviderConfigurator.AsyncProviderConfigurator;
 import de.skuzzle.jeve.builder.EventProviderConfigurator.Chainable;
 import de.skuzzle.jeve.builder.EventProviderConfigurator.Final;
+import de.skuzzle.jeve.invoke.InvocationInterceptor;
+import de.skuzzle.jeve.invoke.ListenerCircuitBreaker;
+import de.skuzzle.jeve.invoke.ListenerWatchdog;
+import de.skuzzle.jeve.providers.BulkheadEventProvider;
+import de.skuzzle.jeve.providers.Drainable;
 import de.skuzzle.jeve.providers.ExecutorAware;
 import de.skuzzle.jeve.providers.StatisticsEventProvider;
 
@@ -23,6 +34,12 @@ class AsyncProviderConfiguratorImpl<E extends EventProvider>
     private Supplier<ExceptionCallback> ecSupplier;
     private Supplier<ExecutorService> executorSupplier;
     private boolean synchStore;
+    private long drainTimeout = -1;
+    private TimeUnit drainUnit;
+    private final List<Consumer<BulkheadEventProvider>> bulkheads = new ArrayList<>();
+    private final List<InvocationInterceptor> interceptors = new ArrayList<>();
+    private ListenerWatchdog watchdog;
+    private ListenerCircuitBreaker circuitBreaker;
 
     AsyncProviderConfiguratorImpl(Function<ListenerSource, E> providerConstructor,
             Supplier<? extends ListenerSource> sourceSupplier) {
@@ -41,8 +58,27 @@ class AsyncProviderConfiguratorImpl<E extends EventProvider>
                 ? this.sourceSupplier.get().synchronizedView()
                 : this.sourceSupplier.get();
         final E result = this.providerConstructor.apply(source);
-        if (this.ecSupplier != null) {
-            result.setExceptionCallback(this.ecSupplier.get());
+        final ExceptionCallback ec = this.ecSupplier == null
+                ? null
+                : this.ecSupplier.get();
+        if (this.circuitBreaker != null) {
+            result.setExceptionCallback(this.circuitBreaker.recordFailures(
+                    ec == null ? ExceptionCallbacks.ignore() : ec));
+        } else if (this.ecSupplier != null) {
+            result.setExceptionCallback(ec);
+        }
+        if (this.watchdog != null || this.circuitBreaker != null
+                || !this.interceptors.isEmpty()) {
+            final List<InvocationInterceptor> chain = new ArrayList<>(
+                    this.interceptors.size() + 2);
+            if (this.watchdog != null) {
+                chain.add(this.watchdog.watch(result));
+            }
+            if (this.circuitBreaker != null) {
+                chain.add(this.circuitBreaker);
+            }
+            chain.addAll(this.interceptors);
+            result.setInvocationInterceptors(chain);
         }
         if (this.executorSupplier != null) {
             if (result instanceof ExecutorAware) {
@@ -54,6 +90,25 @@ class AsyncProviderConfiguratorImpl<E extends EventProvider>
                                 + "an ExecutorService", result));
             }
         }
+        if (this.drainUnit != null) {
+            if (result instanceof Drainable) {
+                ((Drainable) result).setDrainOnClose(this.drainTimeout, this.drainUnit);
+            } else {
+                throw new IllegalStateException(String.format(
+                        "The configured EventProvider %s does not support "
+                                + "draining", result));
+            }
+        }
+        if (!this.bulkheads.isEmpty()) {
+            if (result instanceof BulkheadEventProvider) {
+                this.bulkheads.forEach(bulkhead -> bulkhead.accept(
+                        (BulkheadEventProvider) result));
+            } else {
+                throw new IllegalStateException(String.format(
+                        "The configured EventProvider %s does not support "
+                                + "bulkheads", result));
+            }
+        }
         return result;
     }
 
@@ -169,4 +224,122 @@ class AsyncProviderConfiguratorImpl<E extends EventProvider>
 
         };
     }
+
+    @Override
+    public Chainable<AsyncProviderConfigurator<E>, E> interceptor(
+            InvocationInterceptor interceptor) {
+        if (interceptor == null) {
+            throw new IllegalArgumentException("interceptor is null");
+        }
+        this.interceptors.add(interceptor);
+        return new Chainable<AsyncProviderConfigurator<E>, E>() {
+
+            @Override
+            public AsyncProviderConfigurator<E> and() {
+                return AsyncProviderConfiguratorImpl.this;
+            }
+
+            @Override
+            public E create() {
+                return AsyncProviderConfiguratorImpl.this.create();
+            }
+
+        };
+    }
+
+    @Override
+    public Chainable<AsyncProviderConfigurator<E>, E> circuitBreaker(
+            ListenerCircuitBreaker breaker) {
+        if (breaker == null) {
+            throw new IllegalArgumentException("breaker is null");
+        }
+        this.circuitBreaker = breaker;
+        return new Chainable<AsyncProviderConfigurator<E>, E>() {
+
+            @Override
+            public AsyncProviderConfigurator<E> and() {
+                return AsyncProviderConfiguratorImpl.this;
+            }
+
+            @Override
+            public E create() {
+                return AsyncProviderConfiguratorImpl.this.create();
+            }
+
+        };
+    }
+
+    @Override
+    public Chainable<AsyncProviderConfigurator<E>, E> watchdog(ListenerWatchdog watchdog) {
+        if (watchdog == null) {
+            throw new IllegalArgumentException("watchdog is null");
+        }
+        this.watchdog = watchdog;
+        return new Chainable<AsyncProviderConfigurator<E>, E>() {
+
+            @Override
+            public AsyncProviderConfigurator<E> and() {
+                return AsyncProviderConfiguratorImpl.this;
+            }
+
+            @Override
+            public E create() {
+                return AsyncProviderConfiguratorImpl.this.create();
+            }
+
+        };
+    }
+
+    @Override
+    public Chainable<AsyncProviderConfigurator<E>, E> drainOnClose(long timeout,
+            TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        } else if (timeout < 0) {
+            throw new IllegalArgumentException("timeout < 0");
+        }
+        this.drainTimeout = timeout;
+        this.drainUnit = unit;
+        return new Chainable<AsyncProviderConfigurator<E>, E>() {
+
+            @Override
+            public AsyncProviderConfigurator<E> and() {
+                return AsyncProviderConfiguratorImpl.this;
+            }
+
+            @Override
+            public E create() {
+                return AsyncProviderConfiguratorImpl.this.create();
+            }
+
+        };
+    }
+
+    @Override
+    public Chainable<AsyncProviderConfigurator<E>, E> bulkhead(
+            Class<? extends Listener> listenerClass, int maxConcurrency,
+            int queueCapacity) {
+        if (listenerClass == null) {
+            throw new IllegalArgumentException("listenerClass is null");
+        } else if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency <= 0");
+        } else if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity < 0");
+        }
+        this.bulkheads.add(provider -> provider.addBulkhead(listenerClass,
+                maxConcurrency, queueCapacity));
+        return new Chainable<AsyncProviderConfigurator<E>, E>() {
+
+            @Override
+            public AsyncProviderConfigurator<E> and() {
+                return AsyncProviderConfiguratorImpl.this;
+            }
+
+            @Override
+            public E create() {
+                return AsyncProviderConfiguratorImpl.this.create();
+            }
+
+        };
+    }
 }
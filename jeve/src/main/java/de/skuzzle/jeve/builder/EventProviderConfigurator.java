@@ -2,7 +2,9 @@ package de.skuzzle.jeve.builder;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import de.skuzzle.jeve.Event;
@@ -11,10 +13,23 @@ import de.skuzzle.jeve.ExceptionCallback;
 import de.skuzzle.jeve.Listener;
 import de.skuzzle.jeve.ListenerSource;
 import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.annotation.ListenerKind;
 import de.skuzzle.jeve.invoke.EventInvocationFactory;
+import de.skuzzle.jeve.invoke.InvocationInterceptor;
+import de.skuzzle.jeve.invoke.ListenerCircuitBreaker;
+import de.skuzzle.jeve.invoke.ListenerWatchdog;
 import de.skuzzle.jeve.providers.AWTEventProvider;
+import de.skuzzle.jeve.providers.AdaptiveEventProvider;
 import de.skuzzle.jeve.providers.AsynchronousEventProvider;
+import de.skuzzle.jeve.providers.BatchingEventProvider;
 import de.skuzzle.jeve.providers.BlockingParallelEventProvider;
+import de.skuzzle.jeve.providers.BufferedAWTEventProvider;
+import de.skuzzle.jeve.providers.Bulkhead;
+import de.skuzzle.jeve.providers.BulkheadEventProvider;
+import de.skuzzle.jeve.providers.ConcurrentUnrollingEventProvider;
+import de.skuzzle.jeve.providers.ConflatingEventProvider;
+import de.skuzzle.jeve.providers.Drainable;
+import de.skuzzle.jeve.providers.EventLoopEventProvider;
 import de.skuzzle.jeve.providers.ParallelEventProvider;
 import de.skuzzle.jeve.providers.SequentialEventProvider;
 import de.skuzzle.jeve.providers.StatisticsEventProvider;
@@ -95,6 +110,18 @@ public interface EventProviderConfigurator {
         Chainable<ProviderConfigurator<UnrollingEventProvider>,
                 UnrollingEventProvider> useUnrollingProvider();
 
+        /**
+         * Creates a new {@link ConcurrentUnrollingEventProvider}. This provider
+         * behaves like the one created by {@link #useUnrollingProvider()} but
+         * keeps its queue of nested events per thread, so it can be used by
+         * multiple threads concurrently.
+         *
+         * @return Fluent API object for further configuration.
+         * @since 4.0.0
+         */
+        Chainable<ProviderConfigurator<ConcurrentUnrollingEventProvider>,
+                ConcurrentUnrollingEventProvider> useConcurrentUnrollingProvider();
+
         /**
          * Configures a synchronous EventProvider which will dispatch all events
          * from within the thread in which its {@code dispatch} method was
@@ -152,6 +179,62 @@ public interface EventProviderConfigurator {
         Chainable<AsyncProviderConfigurator<AsynchronousEventProvider>,
                 AsynchronousEventProvider> useAsynchronousProvider();
 
+        /**
+         * Configures an asynchronous {@link EventProvider} which conflates
+         * pending events. Events which are mapped to the same key by the given
+         * function and which target the same listener class replace each other
+         * while they are waiting to be delivered, so that listeners only
+         * receive the latest one. By default, the configured provider uses a
+         * single thread executor service.
+         *
+         * @param keyFunction Function which determines the coalescing key of
+         *            an event. Events for which it returns <code>null</code>
+         *            are never conflated.
+         * @return Fluent API object for further configuration.
+         * @since 4.0.0
+         * @see ConflatingEventProvider
+         */
+        Chainable<AsyncProviderConfigurator<ConflatingEventProvider>,
+                ConflatingEventProvider> useConflatingProvider(
+                        Function<? super Event<?, ?>, ?> keyFunction);
+
+        /**
+         * Configures an asynchronous {@link EventProvider} which additionally
+         * accumulates events for {@link ListenerKind#BATCH batch listeners}
+         * and delivers them in batches. A batch is delivered as soon as it
+         * contains the given maximum number of events or the linger time
+         * elapsed since its first event has been dispatched. By default, the
+         * configured provider uses a single thread executor service.
+         *
+         * @param maxBatchSize The maximum number of events within a batch.
+         * @param linger The maximum time to wait for further events.
+         * @param unit The unit of the linger time.
+         * @return Fluent API object for further configuration.
+         * @since 4.0.0
+         * @see BatchingEventProvider
+         */
+        Chainable<AsyncProviderConfigurator<BatchingEventProvider>,
+                BatchingEventProvider> useBatchingProvider(int maxBatchSize,
+                        long linger, TimeUnit unit);
+
+        /**
+         * Configures an {@link EventProvider} which notifies all listeners
+         * within a single dedicated event loop thread. Dispatched events are
+         * queued and processed one after another, each event being dispatched
+         * to all of its listeners before the next one is started.
+         *
+         * <p>
+         * When closing the returned {@link EventProvider}, its event loop
+         * thread will be stopped. Its not possible to reuse the provider after
+         * closing it.
+         * </p>
+         *
+         * @return Fluent API object for further configuration.
+         * @since 4.0.0
+         */
+        Chainable<ProviderConfigurator<EventLoopEventProvider>,
+                EventLoopEventProvider> useEventLoopProvider();
+
         /**
          * Configures an {@link EventProvider} which notifies each listener
          * within an own thread. This means that for a single event, multiple
@@ -198,6 +281,41 @@ public interface EventProviderConfigurator {
         Chainable<AsyncProviderConfigurator<BlockingParallelEventProvider>,
                 BlockingParallelEventProvider> useBlockingParallelProvider();
 
+        /**
+         * Configures an {@link EventProvider} which decides per listener class
+         * whether listeners are notified sequentially within the dispatching
+         * thread or each within an own thread. The decision is based on the
+         * measured number of listeners and their execution time. Parallel
+         * notification is by default handled by an
+         * {@link Executors#newCachedThreadPool() cached thread pool}. The
+         * returned EventProvider instance is not sequential.
+         *
+         * @param threshold The expected work of a single dispatch action above
+         *            which the listeners are notified in parallel.
+         * @param unit The unit of the threshold.
+         * @return Fluent API object for further configuration.
+         * @since 4.0.0
+         * @see AdaptiveEventProvider
+         */
+        Chainable<AsyncProviderConfigurator<AdaptiveEventProvider>,
+                AdaptiveEventProvider> useAdaptiveProvider(long threshold,
+                        TimeUnit unit);
+
+        /**
+         * Configures an {@link EventProvider} which notifies each listener
+         * within an own thread like the provider configured by
+         * {@link #useParallelProvider()}, but isolates the listeners of
+         * certain classes in dedicated bounded executors. Use
+         * {@link AsyncProviderConfigurator#bulkhead(Class, int, int)} to
+         * configure the bulkheads.
+         *
+         * @return Fluent API object for further configuration.
+         * @since 4.0.0
+         * @see BulkheadEventProvider
+         */
+        Chainable<AsyncProviderConfigurator<BulkheadEventProvider>,
+                BulkheadEventProvider> useBulkheadProvider();
+
         /**
          * Configures an {@link EventProvider} which dispatches all events in
          * the AWT event thread and waits (blocks current thread) after
@@ -231,6 +349,20 @@ public interface EventProviderConfigurator {
          */
         Chainable<ProviderConfigurator<AWTEventProvider>, AWTEventProvider>
                 useAsynchronAWTEventProvider();
+
+        /**
+         * Configures an {@link EventProvider} which dispatches all events in
+         * the AWT event thread like the provider configured by
+         * {@link #useAsynchronAWTEventProvider()}, but buffers events which
+         * are dispatched in quick succession and delivers them using a single
+         * task within the AWT event queue.
+         *
+         * @return Fluent API object for further configuration.
+         * @since 4.0.0
+         * @see BufferedAWTEventProvider
+         */
+        Chainable<ProviderConfigurator<BufferedAWTEventProvider>,
+                BufferedAWTEventProvider> useBufferedAWTEventProvider();
     }
 
     /**
@@ -314,6 +446,44 @@ public interface EventProviderConfigurator {
          */
         Chainable<ProviderConfigurator<E>, E> invocationFactory(EventInvocationFactory f);
 
+        /**
+         * Adds an {@link InvocationInterceptor} which surrounds the
+         * notification of every listener. Interceptors are called in the order
+         * in which they are added here.
+         *
+         * @param interceptor The interceptor.
+         * @return Fluent API object for further configuration.
+         * @since 4.0.0
+         */
+        Chainable<ProviderConfigurator<E>, E> interceptor(
+                InvocationInterceptor interceptor);
+
+        /**
+         * Reports listeners which block the notifying thread for too long to
+         * the given watchdog. The watchdog surrounds all
+         * {@link #interceptor(InvocationInterceptor) interceptors}.
+         *
+         * @param watchdog The watchdog.
+         * @return Fluent API object for further configuration.
+         * @see ListenerWatchdog#watch(EventProvider)
+         * @since 4.0.0
+         */
+        Chainable<ProviderConfigurator<E>, E> watchdog(ListenerWatchdog watchdog);
+
+        /**
+         * Skips listeners which fail repeatedly using the given circuit
+         * breaker. The breaker is added as interceptor right after the
+         * {@link #watchdog(ListenerWatchdog) watchdog} and the configured
+         * ExceptionCallback is wrapped so that it reports failures to the
+         * breaker.
+         *
+         * @param breaker The circuit breaker.
+         * @return Fluent API object for further configuration.
+         * @see ListenerCircuitBreaker#recordFailures(ExceptionCallback)
+         * @since 4.0.0
+         */
+        Chainable<ProviderConfigurator<E>, E> circuitBreaker(ListenerCircuitBreaker breaker);
+
         /**
          * Instruct the provider to use the synchronized (thread-safe) version
          * of the configured store.
@@ -391,6 +561,44 @@ public interface EventProviderConfigurator {
          */
         Chainable<AsyncProviderConfigurator<E>, E> executor(ExecutorService executor);
 
+        /**
+         * Adds an {@link InvocationInterceptor} which surrounds the
+         * notification of every listener. Interceptors are called in the order
+         * in which they are added here.
+         *
+         * @param interceptor The interceptor.
+         * @return Fluent API object for further configuration.
+         * @since 4.0.0
+         */
+        Chainable<AsyncProviderConfigurator<E>, E> interceptor(
+                InvocationInterceptor interceptor);
+
+        /**
+         * Reports listeners which block the notifying thread for too long to
+         * the given watchdog. The watchdog surrounds all
+         * {@link #interceptor(InvocationInterceptor) interceptors}.
+         *
+         * @param watchdog The watchdog.
+         * @return Fluent API object for further configuration.
+         * @see ListenerWatchdog#watch(EventProvider)
+         * @since 4.0.0
+         */
+        Chainable<AsyncProviderConfigurator<E>, E> watchdog(ListenerWatchdog watchdog);
+
+        /**
+         * Skips listeners which fail repeatedly using the given circuit
+         * breaker. The breaker is added as interceptor right after the
+         * {@link #watchdog(ListenerWatchdog) watchdog} and the configured
+         * ExceptionCallback is wrapped so that it reports failures to the
+         * breaker.
+         *
+         * @param breaker The circuit breaker.
+         * @return Fluent API object for further configuration.
+         * @see ListenerCircuitBreaker#recordFailures(ExceptionCallback)
+         * @since 4.0.0
+         */
+        Chainable<AsyncProviderConfigurator<E>, E> circuitBreaker(ListenerCircuitBreaker breaker);
+
         /**
          * Instruct the provider to use the synchronized (thread-safe) version
          * of the configured store.
@@ -409,6 +617,37 @@ public interface EventProviderConfigurator {
         Chainable<AsyncProviderConfigurator<E>, E> executor(
                 Supplier<ExecutorService> executorSupplier);
 
+        /**
+         * Configures the provider to {@link Drainable#drain(long, TimeUnit)
+         * drain} all pending events within the given timeout when it is
+         * closed, instead of discarding them.
+         *
+         * @param timeout The maximum time to wait for pending events when
+         *            closing the provider.
+         * @param unit The unit of the timeout.
+         * @return Fluent API object for further configuration.
+         * @since 4.0.0
+         */
+        Chainable<AsyncProviderConfigurator<E>, E> drainOnClose(long timeout,
+                TimeUnit unit);
+
+        /**
+         * Isolates the notification of listeners of the given class in a
+         * dedicated {@link Bulkhead bulkhead}. This is only supported by the
+         * {@link BulkheadEventProvider}.
+         *
+         * @param listenerClass The listener interface or implementation class.
+         * @param maxConcurrency The maximum number of listeners of that class
+         *            which are notified concurrently.
+         * @param queueCapacity The maximum number of queued notifications.
+         * @return Fluent API object for further configuration.
+         * @since 4.0.0
+         * @see BulkheadEventProvider#addBulkhead(Class, int, int)
+         */
+        Chainable<AsyncProviderConfigurator<E>, E> bulkhead(
+                Class<? extends Listener> listenerClass, int maxConcurrency,
+                int queueCapacity);
+
         /**
          * Wraps the so far configured provider with a
          * {@link StatisticsEventProvider} which counts all dispatch actions.
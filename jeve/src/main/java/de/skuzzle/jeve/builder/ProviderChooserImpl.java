@@ -1,8 +1,11 @@
 package de.skuzzle.jeve.builder;
 
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.EventProvider;
 import de.skuzzle.jeve.ListenerSource;
 import de.skuzzle.jeve.builder.EventProviderConfigurator.AsyncProviderConfigurator;
@@ -10,8 +13,15 @@ import de.skuzzle.jeve.builder.EventProviderConfigurator.Chainable;
 import de.skuzzle.jeve.builder.EventProviderConfigurator.ProviderChooser;
 import de.skuzzle.jeve.builder.EventProviderConfigurator.ProviderConfigurator;
 import de.skuzzle.jeve.providers.AWTEventProvider;
+import de.skuzzle.jeve.providers.AdaptiveEventProvider;
 import de.skuzzle.jeve.providers.AsynchronousEventProvider;
+import de.skuzzle.jeve.providers.BatchingEventProvider;
 import de.skuzzle.jeve.providers.BlockingParallelEventProvider;
+import de.skuzzle.jeve.providers.BufferedAWTEventProvider;
+import de.skuzzle.jeve.providers.BulkheadEventProvider;
+import de.skuzzle.jeve.providers.ConcurrentUnrollingEventProvider;
+import de.skuzzle.jeve.providers.ConflatingEventProvider;
+import de.skuzzle.jeve.providers.EventLoopEventProvider;
 import de.skuzzle.jeve.providers.ParallelEventProvider;
 import de.skuzzle.jeve.providers.SequentialEventProvider;
 import de.skuzzle.jeve.providers.UnrollingEventProvider;
@@ -117,6 +127,14 @@ class ProviderChooserImpl implements ProviderChooser {
         return synchronAnd(ctor, this.sourceSupplier);
     }
 
+    @Override
+    public Chainable<ProviderConfigurator<ConcurrentUnrollingEventProvider>,
+            ConcurrentUnrollingEventProvider> useConcurrentUnrollingProvider() {
+        final Function<ListenerSource, ConcurrentUnrollingEventProvider> ctor =
+                ConcurrentUnrollingEventProvider::new;
+        return synchronAnd(ctor, this.sourceSupplier);
+    }
+
     @Override
     public Chainable<AsyncProviderConfigurator<AsynchronousEventProvider>,
             AsynchronousEventProvider> useAsynchronousProvider() {
@@ -125,6 +143,43 @@ class ProviderChooserImpl implements ProviderChooser {
         return asynchronAnd(ctor, this.sourceSupplier);
     }
 
+    @Override
+    public Chainable<AsyncProviderConfigurator<ConflatingEventProvider>,
+            ConflatingEventProvider> useConflatingProvider(
+                    Function<? super Event<?, ?>, ?> keyFunction) {
+        if (keyFunction == null) {
+            throw new IllegalArgumentException("keyFunction is null");
+        }
+        final Function<ListenerSource, ConflatingEventProvider> ctor =
+                source -> new ConflatingEventProvider(source, keyFunction);
+        return asynchronAnd(ctor, this.sourceSupplier);
+    }
+
+    @Override
+    public Chainable<AsyncProviderConfigurator<BatchingEventProvider>,
+            BatchingEventProvider> useBatchingProvider(int maxBatchSize,
+                    long linger, TimeUnit unit) {
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize <= 0");
+        } else if (linger < 0) {
+            throw new IllegalArgumentException("linger < 0");
+        } else if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        final Function<ListenerSource, BatchingEventProvider> ctor =
+                source -> new BatchingEventProvider(source, maxBatchSize, linger,
+                        unit);
+        return asynchronAnd(ctor, this.sourceSupplier);
+    }
+
+    @Override
+    public Chainable<ProviderConfigurator<EventLoopEventProvider>,
+            EventLoopEventProvider> useEventLoopProvider() {
+        final Function<ListenerSource, EventLoopEventProvider> ctor =
+                EventLoopEventProvider::new;
+        return synchronAnd(ctor, this.sourceSupplier);
+    }
+
     @Override
     public Chainable<AsyncProviderConfigurator<ParallelEventProvider>,
             ParallelEventProvider> useParallelProvider() {
@@ -133,6 +188,28 @@ class ProviderChooserImpl implements ProviderChooser {
         return asynchronAnd(ctor, this.sourceSupplier);
     }
 
+    @Override
+    public Chainable<AsyncProviderConfigurator<AdaptiveEventProvider>,
+            AdaptiveEventProvider> useAdaptiveProvider(long threshold, TimeUnit unit) {
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold < 0");
+        } else if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        final Function<ListenerSource, AdaptiveEventProvider> ctor =
+                source -> new AdaptiveEventProvider(source,
+                        Executors.newCachedThreadPool(), threshold, unit);
+        return asynchronAnd(ctor, this.sourceSupplier);
+    }
+
+    @Override
+    public Chainable<AsyncProviderConfigurator<BulkheadEventProvider>,
+            BulkheadEventProvider> useBulkheadProvider() {
+        final Function<ListenerSource, BulkheadEventProvider> ctor =
+                BulkheadEventProvider::new;
+        return asynchronAnd(ctor, this.sourceSupplier);
+    }
+
     @Override
     public Chainable<AsyncProviderConfigurator<BlockingParallelEventProvider>,
             BlockingParallelEventProvider> useBlockingParallelProvider() {
@@ -156,4 +233,12 @@ class ProviderChooserImpl implements ProviderChooser {
                 store -> new AWTEventProvider(store, false);
         return synchronAnd(ctor, this.sourceSupplier);
     }
+
+    @Override
+    public Chainable<ProviderConfigurator<BufferedAWTEventProvider>,
+            BufferedAWTEventProvider> useBufferedAWTEventProvider() {
+        final Function<ListenerSource, BufferedAWTEventProvider> ctor =
+                BufferedAWTEventProvider::new;
+        return synchronAnd(ctor, this.sourceSupplier);
+    }
 }
@@ -1,16 +1,22 @@
 package de.skuzzle.jeve.builder;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import de.skuzzle.jeve.EventProvider;
 import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.ExceptionCallbacks;
 import de.skuzzle.jeve.ListenerSource;
 import de.skuzzle.jeve.ListenerStore;
 import de.skuzzle.jeve.builder.EventProviderConfigurator.Chainable;
 import de.skuzzle.jeve.builder.EventProviderConfigurator.Final;
 import de.skuzzle.jeve.builder.EventProviderConfigurator.ProviderConfigurator;
 import de.skuzzle.jeve.invoke.EventInvocationFactory;
+import de.skuzzle.jeve.invoke.InvocationInterceptor;
+import de.skuzzle.jeve.invoke.ListenerCircuitBreaker;
+import de.skuzzle.jeve.invoke.ListenerWatchdog;
 import de.skuzzle.jeve.providers.StatisticsEventProvider;
 
 class ProviderConfiguratorImpl<E extends EventProvider>
@@ -23,6 +29,9 @@ class ProviderConfiguratorImpl<E extends EventProvider>
     private Supplier<EventInvocationFactory> factorySupplier;
     private boolean synchStore;
     private boolean interruptAware;
+    private final List<InvocationInterceptor> interceptors = new ArrayList<>();
+    private ListenerWatchdog watchdog;
+    private ListenerCircuitBreaker circuitBreaker;
 
     ProviderConfiguratorImpl(Function<ListenerSource, E> providerConstructor,
             Supplier<? extends ListenerSource> sourceSupplier) {
@@ -43,12 +52,31 @@ class ProviderConfiguratorImpl<E extends EventProvider>
 
         final E result = this.providerConstructor.apply(source);
         result.setInterruptAware(this.interruptAware);
-        if (this.ecSupplier != null) {
-            result.setExceptionCallback(this.ecSupplier.get());
+        final ExceptionCallback ec = this.ecSupplier == null
+                ? null
+                : this.ecSupplier.get();
+        if (this.circuitBreaker != null) {
+            result.setExceptionCallback(this.circuitBreaker.recordFailures(
+                    ec == null ? ExceptionCallbacks.ignore() : ec));
+        } else if (this.ecSupplier != null) {
+            result.setExceptionCallback(ec);
         }
         if (this.factorySupplier != null) {
             result.setInvocationFactory(this.factorySupplier.get());
         }
+        if (this.watchdog != null || this.circuitBreaker != null
+                || !this.interceptors.isEmpty()) {
+            final List<InvocationInterceptor> chain = new ArrayList<>(
+                    this.interceptors.size() + 2);
+            if (this.watchdog != null) {
+                chain.add(this.watchdog.watch(result));
+            }
+            if (this.circuitBreaker != null) {
+                chain.add(this.circuitBreaker);
+            }
+            chain.addAll(this.interceptors);
+            result.setInvocationInterceptors(chain);
+        }
 
         return result;
     }
@@ -109,6 +137,71 @@ class ProviderConfiguratorImpl<E extends EventProvider>
         };
     }
 
+    @Override
+    public Chainable<ProviderConfigurator<E>, E> interceptor(
+            InvocationInterceptor interceptor) {
+        if (interceptor == null) {
+            throw new IllegalArgumentException("interceptor is null");
+        }
+        this.interceptors.add(interceptor);
+        return new Chainable<ProviderConfigurator<E>, E>() {
+
+            @Override
+            public ProviderConfigurator<E> and() {
+                return ProviderConfiguratorImpl.this;
+            }
+
+            @Override
+            public E create() {
+                return ProviderConfiguratorImpl.this.create();
+            }
+
+        };
+    }
+
+    @Override
+    public Chainable<ProviderConfigurator<E>, E> circuitBreaker(
+            ListenerCircuitBreaker breaker) {
+        if (breaker == null) {
+            throw new IllegalArgumentException("breaker is null");
+        }
+        this.circuitBreaker = breaker;
+        return new Chainable<ProviderConfigurator<E>, E>() {
+
+            @Override
+            public ProviderConfigurator<E> and() {
+                return ProviderConfiguratorImpl.this;
+            }
+
+            @Override
+            public E create() {
+                return ProviderConfiguratorImpl.this.create();
+            }
+
+        };
+    }
+
+    @Override
+    public Chainable<ProviderConfigurator<E>, E> watchdog(ListenerWatchdog watchdog) {
+        if (watchdog == null) {
+            throw new IllegalArgumentException("watchdog is null");
+        }
+        this.watchdog = watchdog;
+        return new Chainable<ProviderConfigurator<E>, E>() {
+
+            @Override
+            public ProviderConfigurator<E> and() {
+                return ProviderConfiguratorImpl.this;
+            }
+
+            @Override
+            public E create() {
+                return ProviderConfiguratorImpl.this.create();
+            }
+
+        };
+    }
+
     @Override
     public Chainable<ProviderConfigurator<E>, E> exceptionCallBack(
             Supplier<ExceptionCallback> callBackSupplier) {
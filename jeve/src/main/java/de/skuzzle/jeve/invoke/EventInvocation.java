@@ -37,6 +37,28 @@ public interface EventInvocation {
         return new EventInvocationImpl<>(event, listener, ec, method);
     }
 
+    /**
+     * Notifies the given listener exactly like
+     * <code>of(listener, event, method, ec).notifyListener()</code> would do,
+     * but without creating an EventInvocation object unless the listener
+     * throws an exception. This is used by EventProviders as allocation free
+     * fast path if no custom {@link EventInvocationFactory} is installed.
+     *
+     * @param <L> The type of the listener.
+     * @param <E> The type of the event.
+     * @param listener The listener to notify.
+     * @param event The event to pass to the listener.
+     * @param method The method of the listener to call.
+     * @param ec The exception handler.
+     * @throws de.skuzzle.jeve.AbortionException If the listener or the
+     *             exception handler threw an AbortionException.
+     * @since 4.0.0
+     */
+    public static <L extends Listener, E extends Event<?, L>> void notifyDirectly(
+            L listener, E event, BiConsumer<L, E> method, ExceptionCallback ec) {
+        EventInvocationImpl.notifyDirectly(event, listener, ec, method);
+    }
+
     /**
      * Gets the event to notify the listener about.
      *
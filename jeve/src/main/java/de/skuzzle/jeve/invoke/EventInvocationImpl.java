@@ -70,6 +70,20 @@ class EventInvocationImpl<L extends Listener, E extends Event<?, L>>
         }
     }
 
+    static <L extends Listener, E extends Event<?, L>> void notifyDirectly(E event,
+            L listener, ExceptionCallback ec, BiConsumer<L, E> consumer) {
+        try {
+            if (!event.isHandled()) {
+                consumer.accept(listener, event);
+            }
+        } catch (final AbortionException e) {
+            throw e;
+        } catch (final RuntimeException e) {
+            handleException(ec, new FailedEventInvocationImpl<>(event, listener, ec,
+                    consumer, e));
+        }
+    }
+
     @Override
     public FailedEventInvocation fail(Exception e) {
         return new FailedEventInvocationImpl<>(this.event, this.listener, this.ec,
@@ -77,14 +91,19 @@ class EventInvocationImpl<L extends Listener, E extends Event<?, L>>
     }
 
     private void handleException(FailedEventInvocation inv) {
+        handleException(this.ec, inv);
+    }
+
+    private static void handleException(ExceptionCallback ec,
+            FailedEventInvocation inv) {
         try {
-            this.ec.exception(inv);
+            ec.exception(inv);
         } catch (final AbortionException abort) {
             throw abort;
         } catch (final Exception ignore) {
             // where is your god now?
             LOG.error("ExceptionCallback '{}' threw an exception other than " +
-                "AbortionException", this.ec, ignore);
+                "AbortionException", ec, ignore);
         }
     }
 }
@@ -0,0 +1,83 @@
+package de.skuzzle.jeve.invoke;
+
+import java.util.List;
+
+/**
+ * A compiled chain of {@link InvocationInterceptor InvocationInterceptors}.
+ * The chain is built once when the interceptors are configured. Each element
+ * of the chain holds one interceptor and a reference to the next element, so
+ * that passing an invocation through the chain does not create any objects
+ * besides the invocation itself. The last element of each chain notifies the
+ * listener by calling {@link EventInvocation#notifyListener()}.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public final class InvocationChain {
+
+    private static final InvocationChain EMPTY = new InvocationChain(null, null);
+
+    private final InvocationInterceptor interceptor;
+    private final InvocationChain next;
+
+    private InvocationChain(InvocationInterceptor interceptor, InvocationChain next) {
+        this.interceptor = interceptor;
+        this.next = next;
+    }
+
+    /**
+     * Gets the chain which contains no interceptors.
+     *
+     * @return The empty chain.
+     */
+    public static InvocationChain empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Compiles the given interceptors into a chain. The first interceptor of
+     * the list will be the outermost one.
+     *
+     * @param interceptors The interceptors.
+     * @return The chain.
+     * @throws IllegalArgumentException If the list is <code>null</code> or
+     *             contains <code>null</code>.
+     */
+    public static InvocationChain of(List<? extends InvocationInterceptor> interceptors) {
+        if (interceptors == null) {
+            throw new IllegalArgumentException("interceptors is null");
+        }
+        InvocationChain chain = EMPTY;
+        for (int i = interceptors.size() - 1; i >= 0; --i) {
+            final InvocationInterceptor interceptor = interceptors.get(i);
+            if (interceptor == null) {
+                throw new IllegalArgumentException("interceptors contains null");
+            }
+            chain = new InvocationChain(interceptor, chain);
+        }
+        return chain;
+    }
+
+    /**
+     * Whether this chain contains no interceptors.
+     *
+     * @return Whether this chain is empty.
+     */
+    public boolean isEmpty() {
+        return this.interceptor == null;
+    }
+
+    /**
+     * Passes the invocation to the next interceptor of this chain or notifies
+     * the listener if all interceptors have been passed.
+     *
+     * @param invocation The invocation.
+     */
+    public void proceed(EventInvocation invocation) {
+        if (this.interceptor == null) {
+            invocation.notifyListener();
+        } else {
+            this.interceptor.intercept(invocation, this.next);
+        }
+    }
+}
@@ -1,6 +1,47 @@
 package de.skuzzle.jeve.invoke;
 
+/**
+ * Intercepts the notification of single listeners. Interceptors are
+ * registered at an EventProvider using
+ * {@link de.skuzzle.jeve.EventProvider#setInvocationInterceptors(java.util.List)
+ * setInvocationInterceptors} and are invoked around each
+ * {@link EventInvocation#notifyListener() listener notification} in the order
+ * in which they have been registered. Each interceptor decides whether and
+ * when the notification proceeds by calling
+ * {@link InvocationChain#proceed(EventInvocation)} on the given chain:
+ *
+ * <pre>
+ * final InvocationInterceptor timing = (invocation, chain) -&gt; {
+ *     final long start = System.nanoTime();
+ *     try {
+ *         chain.proceed(invocation);
+ *     } finally {
+ *         record(invocation.getListener(), System.nanoTime() - start);
+ *     }
+ * };
+ * </pre>
+ *
+ * <p>
+ * Not calling <code>proceed</code> skips the notification of the listener as
+ * well as all subsequent interceptors. Exceptions thrown by the listener are
+ * handled by the {@link de.skuzzle.jeve.ExceptionCallback ExceptionCallback}
+ * before <code>proceed</code> returns, whereas exceptions thrown by
+ * interceptors are propagated to the EventProvider.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+@FunctionalInterface
 public interface InvocationInterceptor {
 
-    public void intercept(EventInvocation invocation);
+    /**
+     * Intercepts the notification of a single listener.
+     *
+     * @param invocation The invocation which notifies the listener.
+     * @param chain The remaining chain. Call
+     *            {@link InvocationChain#proceed(EventInvocation)} to notify
+     *            the listener.
+     */
+    public void intercept(EventInvocation invocation, InvocationChain chain);
 }
@@ -0,0 +1,304 @@
+package de.skuzzle.jeve.invoke;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.skuzzle.jeve.AbortionException;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.ExceptionCallback;
+
+/**
+ * ExceptionCallback which retries failed invocations with exponential backoff
+ * instead of blocking the dispatching thread. Each failure which is reported
+ * to this callback is scheduled for a retry on a scheduler thread and the
+ * callback returns immediately. Retries are delayed by an exponentially
+ * growing amount of time with random jitter, so that many listeners which
+ * fail because of the same outage do not retry in lock step.
+ *
+ * <p>
+ * If a retry fails again, the listener's EventProvider reports the failure to
+ * its ExceptionCallback again. The retrier recognizes that the failure
+ * belongs to a retry in progress, so this callback must be reachable from the
+ * ExceptionCallback of the provider, either directly or through a delegating
+ * callback. A retry which completes without reporting a failure to this
+ * callback is considered successful.
+ * </p>
+ *
+ * <p>
+ * The number of retries per invocation as well as the number of invocations
+ * which are retried concurrently are bounded. Invocations which exhausted all
+ * retries or which could not be retried because too many retries are in
+ * flight are passed to the {@link ExhaustedCallback}. Note that retries
+ * notify the listener from within the scheduler thread and that the event
+ * might have been processed by other listeners in the meantime.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public class InvocationRetrier implements ExceptionCallback, AutoCloseable {
+
+    /**
+     * Callback which is notified about invocations which will not be retried
+     * anymore.
+     *
+     * @author Simon Taddiken
+     * @since 4.0.0
+     */
+    @FunctionalInterface
+    public interface ExhaustedCallback {
+
+        /**
+         * Called when an invocation is given up.
+         *
+         * @param invocation The failed invocation.
+         * @param attempts The number of times the listener has been notified,
+         *            including the original notification.
+         */
+        void exhausted(FailedEventInvocation invocation, int attempts);
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventProvider.class);
+
+    private static final ExhaustedCallback LOG_EXHAUSTED = (inv, attempts) ->
+            FailedEventInvocation.log(LOGGER, inv);
+
+    /** A single invocation which is being retried. */
+    private final class Retry implements Runnable {
+        private final FailedEventInvocation invocation;
+        private int attempts = 1;
+        private boolean failed;
+
+        private Retry(FailedEventInvocation invocation) {
+            this.invocation = invocation;
+        }
+
+        @Override
+        public void run() {
+            ++this.attempts;
+            this.failed = false;
+            InvocationRetrier.this.current.set(this);
+            try {
+                this.invocation.notifyListener();
+            } catch (final AbortionException e) {
+                this.failed = true;
+            } finally {
+                InvocationRetrier.this.current.remove();
+            }
+
+            if (!this.failed) {
+                InvocationRetrier.this.succeeded.increment();
+                InvocationRetrier.this.inFlight.decrementAndGet();
+            } else if (this.attempts > InvocationRetrier.this.maxRetries) {
+                InvocationRetrier.this.inFlight.decrementAndGet();
+                giveUp(this.invocation, this.attempts);
+            } else {
+                schedule(this);
+            }
+        }
+    }
+
+    private final int maxRetries;
+    private final long initialDelayNanos;
+    private final long maxDelayNanos;
+    private final int maxInFlight;
+    private final ExhaustedCallback exhaustedCallback;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownScheduler;
+    private final ThreadLocal<Retry> current;
+    private final AtomicInteger inFlight;
+    private final LongAdder succeeded;
+    private final LongAdder exhausted;
+
+    /**
+     * Creates a new InvocationRetrier which uses its own scheduler thread and
+     * logs invocations which are given up.
+     *
+     * @param maxRetries The maximum number of retries per invocation.
+     * @param initialDelay The delay before the first retry.
+     * @param maxDelay The maximum delay between two retries.
+     * @param unit The unit of the delays.
+     * @param maxInFlight The maximum number of invocations which are retried
+     *            concurrently.
+     */
+    public InvocationRetrier(int maxRetries, long initialDelay, long maxDelay,
+            TimeUnit unit, int maxInFlight) {
+        this(maxRetries, initialDelay, maxDelay, unit, maxInFlight, LOG_EXHAUSTED);
+    }
+
+    /**
+     * Creates a new InvocationRetrier which uses its own scheduler thread.
+     *
+     * @param maxRetries The maximum number of retries per invocation.
+     * @param initialDelay The delay before the first retry.
+     * @param maxDelay The maximum delay between two retries.
+     * @param unit The unit of the delays.
+     * @param maxInFlight The maximum number of invocations which are retried
+     *            concurrently.
+     * @param exhaustedCallback Callback for invocations which are given up.
+     */
+    public InvocationRetrier(int maxRetries, long initialDelay, long maxDelay,
+            TimeUnit unit, int maxInFlight, ExhaustedCallback exhaustedCallback) {
+        this(maxRetries, initialDelay, maxDelay, unit, maxInFlight, exhaustedCallback,
+                Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    final Thread thread = new Thread(runnable, "jeve-retry");
+                    thread.setDaemon(true);
+                    return thread;
+                }), true);
+    }
+
+    /**
+     * Creates a new InvocationRetrier which uses the given scheduler. The
+     * scheduler is not shut down when this retrier is closed.
+     *
+     * @param maxRetries The maximum number of retries per invocation.
+     * @param initialDelay The delay before the first retry.
+     * @param maxDelay The maximum delay between two retries.
+     * @param unit The unit of the delays.
+     * @param maxInFlight The maximum number of invocations which are retried
+     *            concurrently.
+     * @param exhaustedCallback Callback for invocations which are given up.
+     * @param scheduler The scheduler which performs the retries.
+     */
+    public InvocationRetrier(int maxRetries, long initialDelay, long maxDelay,
+            TimeUnit unit, int maxInFlight, ExhaustedCallback exhaustedCallback,
+            ScheduledExecutorService scheduler) {
+        this(maxRetries, initialDelay, maxDelay, unit, maxInFlight, exhaustedCallback,
+                scheduler, false);
+    }
+
+    private InvocationRetrier(int maxRetries, long initialDelay, long maxDelay,
+            TimeUnit unit, int maxInFlight, ExhaustedCallback exhaustedCallback,
+            ScheduledExecutorService scheduler, boolean ownScheduler) {
+        if (maxRetries <= 0) {
+            throw new IllegalArgumentException("maxRetries <= 0");
+        } else if (initialDelay <= 0) {
+            throw new IllegalArgumentException("initialDelay <= 0");
+        } else if (maxDelay < initialDelay) {
+            throw new IllegalArgumentException("maxDelay < initialDelay");
+        } else if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        } else if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight <= 0");
+        } else if (exhaustedCallback == null) {
+            throw new IllegalArgumentException("exhaustedCallback is null");
+        } else if (scheduler == null) {
+            throw new IllegalArgumentException("scheduler is null");
+        }
+        this.maxRetries = maxRetries;
+        this.initialDelayNanos = unit.toNanos(initialDelay);
+        this.maxDelayNanos = unit.toNanos(maxDelay);
+        this.maxInFlight = maxInFlight;
+        this.exhaustedCallback = exhaustedCallback;
+        this.scheduler = scheduler;
+        this.ownScheduler = ownScheduler;
+        this.current = new ThreadLocal<>();
+        this.inFlight = new AtomicInteger();
+        this.succeeded = new LongAdder();
+        this.exhausted = new LongAdder();
+    }
+
+    @Override
+    public void exception(FailedEventInvocation invocation) {
+        final Retry retry = this.current.get();
+        if (retry != null && retry.invocation == invocation) {
+            // the retry in progress failed again
+            retry.failed = true;
+            return;
+        }
+
+        int count;
+        do {
+            count = this.inFlight.get();
+            if (count >= this.maxInFlight) {
+                giveUp(invocation, 1);
+                return;
+            }
+        } while (!this.inFlight.compareAndSet(count, count + 1));
+        schedule(new Retry(invocation));
+    }
+
+    private void schedule(Retry retry) {
+        try {
+            this.scheduler.schedule(retry, nextDelay(retry.attempts),
+                    TimeUnit.NANOSECONDS);
+        } catch (final RejectedExecutionException e) {
+            this.inFlight.decrementAndGet();
+            giveUp(retry.invocation, retry.attempts);
+        }
+    }
+
+    /**
+     * Computes the delay before the next retry of an invocation which has
+     * been notified the given number of times. The delay doubles with each
+     * attempt up to the maximum delay. Half of it is randomized.
+     *
+     * @param attempts The number of notifications so far.
+     * @return The delay in nanoseconds.
+     */
+    long nextDelay(int attempts) {
+        final int shift = Math.min(attempts - 1, 62);
+        final long delay = this.initialDelayNanos > this.maxDelayNanos >> shift
+                ? this.maxDelayNanos
+                : this.initialDelayNanos << shift;
+        final long half = delay / 2;
+        return delay - half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private void giveUp(FailedEventInvocation invocation, int attempts) {
+        this.exhausted.increment();
+        try {
+            this.exhaustedCallback.exhausted(invocation, attempts);
+        } catch (final RuntimeException e) {
+            LOGGER.error("ExhaustedCallback '{}' threw an exception",
+                    this.exhaustedCallback, e);
+        }
+    }
+
+    /**
+     * Gets the number of invocations which are currently waiting for or
+     * performing a retry.
+     *
+     * @return The number of retries in flight.
+     */
+    public int getInFlightCount() {
+        return this.inFlight.get();
+    }
+
+    /**
+     * Gets the number of invocations which succeeded after being retried.
+     *
+     * @return The number of successful retries.
+     */
+    public long getSucceededCount() {
+        return this.succeeded.sum();
+    }
+
+    /**
+     * Gets the number of invocations which have been given up.
+     *
+     * @return The number of exhausted invocations.
+     */
+    public long getExhaustedCount() {
+        return this.exhausted.sum();
+    }
+
+    /**
+     * Shuts down the scheduler if it has been created by this retrier.
+     * Pending retries are discarded.
+     */
+    @Override
+    public void close() {
+        if (this.ownScheduler) {
+            this.scheduler.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package de.skuzzle.jeve.invoke;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+
+/**
+ * Isolates listeners which fail repeatedly. The breaker consists of two
+ * parts which must both be registered at the EventProvider: the breaker
+ * itself is an {@link InvocationInterceptor} which skips listeners while
+ * their circuit is open and the {@link ExceptionCallback} returned by
+ * {@link #recordFailures(ExceptionCallback)} counts the failures of each
+ * listener:
+ *
+ * <pre>
+ * final ListenerCircuitBreaker breaker = new ListenerCircuitBreaker(
+ *         5, 10, TimeUnit.SECONDS, 30, TimeUnit.SECONDS);
+ * provider.setInvocationInterceptors(Arrays.asList(breaker));
+ * provider.setExceptionCallback(breaker.recordFailures(ExceptionCallbacks.ignore()));
+ * </pre>
+ *
+ * <p>
+ * If a listener fails the configured number of times within the failure
+ * window, its circuit is {@link State#OPEN opened}. As long as it is open,
+ * the listener is skipped without being notified, so that no
+ * {@link FailedEventInvocation} is created and the ExceptionCallback is not
+ * called for it. After the open duration has elapsed, the next notification
+ * of the listener is let through as a probe ({@link State#HALF_OPEN}). If the
+ * probe succeeds, the circuit is closed again, otherwise it is re-opened for
+ * another open duration.
+ * </p>
+ *
+ * <p>
+ * Listeners which have never failed are not tracked, so the breaker only
+ * costs a single map lookup for them. Listeners are forgotten again once they
+ * did not fail for a whole failure window, or once their circuit has been
+ * open for the open duration and a whole failure window without being probed.
+ * Thus, the breaker does not keep listeners alive which have been removed
+ * from their EventProvider. Note that failures are only counted if they are
+ * reported to the wrapped ExceptionCallback; callbacks which are passed
+ * directly to a dispatch method must be wrapped as well.
+ * </p>
+ *
+ * <p>
+ * Notifications for events which have already been
+ * {@link de.skuzzle.jeve.Event#isHandled() handled} are never used as probe,
+ * because the listener would not be notified.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public class ListenerCircuitBreaker implements InvocationInterceptor {
+
+    /**
+     * The state of the circuit of a single listener.
+     *
+     * @author Simon Taddiken
+     * @since 4.0.0
+     */
+    public enum State {
+        /** The listener is notified normally. */
+        CLOSED,
+        /** The listener is skipped. */
+        OPEN,
+        /** A single notification of the listener is in progress as probe. */
+        HALF_OPEN
+    }
+
+    /** The circuit of a single listener. */
+    private final class Circuit {
+        private volatile State state = State.CLOSED;
+        private volatile long failures;
+        private long openUntil;
+        private long windowStart;
+        private int windowFailures;
+        private long lastChange;
+        private boolean removed;
+
+        private Circuit(long now) {
+            this.lastChange = now;
+        }
+
+        private synchronized boolean recordFailure(long now) {
+            if (this.removed) {
+                return false;
+            }
+            ++this.failures;
+            this.lastChange = now;
+            if (this.state == State.HALF_OPEN) {
+                open(now);
+                return true;
+            } else if (this.state == State.OPEN) {
+                return true;
+            }
+
+            if (this.windowFailures == 0
+                    || now - this.windowStart > ListenerCircuitBreaker.this.windowNanos) {
+                this.windowStart = now;
+                this.windowFailures = 0;
+            }
+            if (++this.windowFailures >= ListenerCircuitBreaker.this.failureThreshold) {
+                open(now);
+            }
+            return true;
+        }
+
+        /**
+         * Marks this circuit as removed if it has not changed for a whole
+         * failure window.
+         */
+        private synchronized boolean tryRemove(long now) {
+            final long window = ListenerCircuitBreaker.this.windowNanos;
+            if (this.state == State.HALF_OPEN || now - this.lastChange <= window
+                    || this.state == State.OPEN && now - this.openUntil <= window) {
+                return false;
+            }
+            this.removed = true;
+            return true;
+        }
+
+        private void open(long now) {
+            this.state = State.OPEN;
+            this.openUntil = now + ListenerCircuitBreaker.this.openNanos;
+            ListenerCircuitBreaker.this.opened.increment();
+        }
+
+        private synchronized boolean tryProbe(long now) {
+            if (this.state != State.OPEN || now - this.openUntil < 0) {
+                return false;
+            }
+            this.state = State.HALF_OPEN;
+            return true;
+        }
+
+        private synchronized void probeFinished(boolean success, long now) {
+            if (this.state != State.HALF_OPEN) {
+                // a failed probe already re-opened the circuit
+                return;
+            } else if (success) {
+                this.state = State.CLOSED;
+                this.windowFailures = 0;
+                this.lastChange = now;
+            } else {
+                open(now);
+            }
+        }
+    }
+
+    private final int failureThreshold;
+    private final long windowNanos;
+    private final long openNanos;
+    private final Map<Listener, Circuit> circuits;
+    private final LongAdder skipped;
+    private final LongAdder opened;
+    private final AtomicLong lastSweep;
+
+    /**
+     * Creates a new ListenerCircuitBreaker.
+     *
+     * @param failureThreshold The number of failures within the window after
+     *            which the circuit of a listener is opened.
+     * @param window The length of the window in which failures are counted.
+     * @param windowUnit The unit of the window.
+     * @param openDuration The time for which a listener is skipped before it
+     *            is probed again.
+     * @param openUnit The unit of the open duration.
+     */
+    public ListenerCircuitBreaker(int failureThreshold, long window,
+            TimeUnit windowUnit, long openDuration, TimeUnit openUnit) {
+        if (failureThreshold <= 0) {
+            throw new IllegalArgumentException("failureThreshold <= 0");
+        } else if (window <= 0) {
+            throw new IllegalArgumentException("window <= 0");
+        } else if (windowUnit == null) {
+            throw new IllegalArgumentException("windowUnit is null");
+        } else if (openDuration <= 0) {
+            throw new IllegalArgumentException("openDuration <= 0");
+        } else if (openUnit == null) {
+            throw new IllegalArgumentException("openUnit is null");
+        }
+        this.failureThreshold = failureThreshold;
+        this.windowNanos = windowUnit.toNanos(window);
+        this.openNanos = openUnit.toNanos(openDuration);
+        this.circuits = new ConcurrentHashMap<>();
+        this.skipped = new LongAdder();
+        this.opened = new LongAdder();
+        this.lastSweep = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Creates an ExceptionCallback which reports each failure to this breaker
+     * before delegating to the given callback.
+     *
+     * @param ec The callback to delegate to.
+     * @return The recording callback.
+     */
+    public ExceptionCallback recordFailures(ExceptionCallback ec) {
+        if (ec == null) {
+            throw new IllegalArgumentException("ec is null");
+        }
+        return new ExceptionCallback() {
+            @Override
+            public void exception(FailedEventInvocation invocation) {
+                recordFailure(invocation.getListener());
+                ec.exception(invocation);
+            }
+        };
+    }
+
+    /**
+     * Records a failure of the given listener.
+     *
+     * @param listener The listener which failed.
+     */
+    public void recordFailure(Listener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("listener is null");
+        }
+        final long now = System.nanoTime();
+        Circuit circuit = this.circuits.computeIfAbsent(listener, key -> new Circuit(now));
+        while (!circuit.recordFailure(now)) {
+            // concurrently forgotten by a sweep
+            this.circuits.remove(listener, circuit);
+            circuit = this.circuits.computeIfAbsent(listener, key -> new Circuit(now));
+        }
+        sweep(now);
+    }
+
+    /**
+     * Forgets about listeners which have not failed for a while. The map only
+     * grows when failures are recorded, so it is swept from there, but at
+     * most once per failure window.
+     */
+    private void sweep(long now) {
+        final long last = this.lastSweep.get();
+        if (now - last <= this.windowNanos || !this.lastSweep.compareAndSet(last, now)) {
+            return;
+        }
+        this.circuits.forEach((listener, circuit) -> {
+            if (circuit.tryRemove(now)) {
+                this.circuits.remove(listener, circuit);
+            }
+        });
+    }
+
+    @Override
+    public void intercept(EventInvocation invocation, InvocationChain chain) {
+        final Circuit circuit = this.circuits.get(invocation.getListener());
+        if (circuit == null || circuit.state == State.CLOSED) {
+            chain.proceed(invocation);
+        } else if (invocation.getEvent().isHandled()) {
+            // the listener would not be notified, so this is no valid probe
+            return;
+        } else if (circuit.tryProbe(System.nanoTime())) {
+            final long failures = circuit.failures;
+            boolean success = false;
+            try {
+                chain.proceed(invocation);
+                success = failures == circuit.failures;
+            } finally {
+                circuit.probeFinished(success, System.nanoTime());
+            }
+        } else {
+            this.skipped.increment();
+        }
+    }
+
+    /**
+     * Gets the state of the circuit of the given listener.
+     *
+     * @param listener The listener.
+     * @return The state of its circuit.
+     */
+    public State getState(Listener listener) {
+        final Circuit circuit = this.circuits.get(listener);
+        return circuit == null
+                ? State.CLOSED
+                : circuit.state;
+    }
+
+    /**
+     * Creates a snapshot of the states of all listeners which have failed at
+     * least once.
+     *
+     * @return Map of listeners to the state of their circuit.
+     */
+    public Map<Listener, State> getStates() {
+        final Map<Listener, State> result = new HashMap<>();
+        this.circuits.forEach((listener, circuit) -> result.put(listener,
+                circuit.state));
+        return result;
+    }
+
+    /**
+     * Gets the number of notifications which have been skipped because the
+     * circuit of the listener was open.
+     *
+     * @return The number of skipped notifications.
+     */
+    public long getSkippedCount() {
+        return this.skipped.sum();
+    }
+
+    /**
+     * Gets the number of times a circuit has been opened.
+     *
+     * @return The number of opened circuits.
+     */
+    public long getOpenedCount() {
+        return this.opened.sum();
+    }
+
+    /**
+     * Closes all circuits and forgets about all listeners which have failed.
+     */
+    public void reset() {
+        this.circuits.clear();
+    }
+}
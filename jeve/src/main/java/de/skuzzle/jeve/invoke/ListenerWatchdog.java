@@ -0,0 +1,335 @@
+package de.skuzzle.jeve.invoke;
+
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.skuzzle.jeve.EventProvider;
+
+/**
+ * Detects listeners which block the notifying thread for too long. The
+ * watchdog is attached to an EventProvider as the
+ * {@link #watch(EventProvider) interceptor} which is returned for that
+ * provider:
+ *
+ * <pre>
+ * final ListenerWatchdog watchdog = new ListenerWatchdog(5, TimeUnit.SECONDS);
+ * provider.setInvocationInterceptors(Arrays.asList(watchdog.watch(provider)));
+ * </pre>
+ *
+ * <p>
+ * Every thread which notifies listeners owns a slot which holds the
+ * invocation that is currently in progress and its start time. Slots are
+ * created once per thread and updated using plain volatile writes, so
+ * tracking an invocation neither locks nor allocates. A single daemon thread
+ * periodically checks all slots and reports each invocation which exceeds the
+ * threshold once to the {@link WatchdogCallback}, together with the current
+ * stack trace of the blocked thread.
+ * </p>
+ *
+ * <p>
+ * If {@link #setInterruptSlowListeners(boolean) enabled}, the watchdog
+ * additionally interrupts the blocked thread, but only if the EventProvider
+ * which notifies the listener is {@link EventProvider#isInterruptAware()
+ * interrupt aware}. Interrupting threads of other providers could leave the
+ * interrupted state set for code which does not expect it. The thread is
+ * only interrupted while the slow invocation is still in progress. If the
+ * listener returns concurrently, an interrupt which arrives too late is
+ * cleared again before the thread continues with other code.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public class ListenerWatchdog implements AutoCloseable {
+
+    /**
+     * Callback which is notified when a listener exceeds the threshold of the
+     * watchdog.
+     *
+     * @author Simon Taddiken
+     * @since 4.0.0
+     */
+    @FunctionalInterface
+    public interface WatchdogCallback {
+
+        /**
+         * Called from within the watchdog thread while the given invocation is
+         * still in progress.
+         *
+         * @param invocation The slow invocation.
+         * @param thread The thread which is blocked by the invocation.
+         * @param stackTrace The stack trace of that thread at the time the
+         *            invocation was detected.
+         * @param durationNanos The time since the invocation started in
+         *            nanoseconds.
+         */
+        void slowInvocation(EventInvocation invocation, Thread thread,
+                StackTraceElement[] stackTrace, long durationNanos);
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventProvider.class);
+
+    private static final long MIN_CHECK_INTERVAL = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static final WatchdogCallback LOG_SLOW_INVOCATION = (inv, thread,
+            stackTrace, nanos) -> {
+        final Throwable trace = new Throwable("Stack trace of " + thread.getName());
+        trace.setStackTrace(stackTrace);
+        LOGGER.warn("Listener '{}' blocks thread '{}' for {} ms while handling event {}",
+                inv.getListener(), thread.getName(),
+                TimeUnit.NANOSECONDS.toMillis(nanos), inv.getEvent(), trace);
+    };
+
+    /** The invocation which is in progress within a single thread. */
+    private static final class Slot {
+        private final Thread thread;
+        private volatile EventInvocation invocation;
+        private volatile EventProvider provider;
+        private volatile long start;
+
+        // set by the watchdog thread while it holds the lock of the slot and
+        // is about to interrupt the thread
+        private volatile boolean interrupting;
+
+        // only accessed by the watchdog thread
+        private EventInvocation reported;
+        private long reportedStart;
+
+        private Slot(Thread thread) {
+            this.thread = thread;
+        }
+    }
+
+    private final long thresholdNanos;
+    private final WatchdogCallback callback;
+    private final Queue<Slot> slots;
+    private final ThreadLocal<Slot> currentSlot;
+    private final ScheduledExecutorService timer;
+    private final LongAdder slowInvocations;
+    private final LongAdder interrupts;
+    private volatile boolean interruptSlowListeners;
+
+    /**
+     * Creates a new ListenerWatchdog which logs slow invocations.
+     *
+     * @param threshold The time after which an invocation is considered slow.
+     * @param unit The unit of the threshold.
+     */
+    public ListenerWatchdog(long threshold, TimeUnit unit) {
+        this(threshold, unit, LOG_SLOW_INVOCATION);
+    }
+
+    /**
+     * Creates a new ListenerWatchdog.
+     *
+     * @param threshold The time after which an invocation is considered slow.
+     * @param unit The unit of the threshold.
+     * @param callback Callback which is notified about slow invocations.
+     */
+    public ListenerWatchdog(long threshold, TimeUnit unit, WatchdogCallback callback) {
+        this(threshold, unit, callback, true);
+    }
+
+    ListenerWatchdog(long threshold, TimeUnit unit, WatchdogCallback callback,
+            boolean startTimer) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("threshold <= 0");
+        } else if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        } else if (callback == null) {
+            throw new IllegalArgumentException("callback is null");
+        }
+        this.thresholdNanos = unit.toNanos(threshold);
+        this.callback = callback;
+        this.slots = new ConcurrentLinkedQueue<>();
+        this.currentSlot = ThreadLocal.withInitial(() -> {
+            final Slot slot = new Slot(Thread.currentThread());
+            this.slots.add(slot);
+            return slot;
+        });
+        this.slowInvocations = new LongAdder();
+        this.interrupts = new LongAdder();
+
+        if (startTimer) {
+            this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "jeve-watchdog");
+                thread.setDaemon(true);
+                return thread;
+            });
+            final long interval = Math.max(this.thresholdNanos / 2, MIN_CHECK_INTERVAL);
+            this.timer.scheduleWithFixedDelay(this::check, interval, interval,
+                    TimeUnit.NANOSECONDS);
+        } else {
+            this.timer = null;
+        }
+    }
+
+    /**
+     * Sets whether threads which are blocked by a slow listener should be
+     * interrupted. Threads are only interrupted if the EventProvider which
+     * notifies the listener is {@link EventProvider#isInterruptAware()
+     * interrupt aware}. Per default, threads are not interrupted.
+     *
+     * @param interruptSlowListeners Whether to interrupt blocked threads.
+     */
+    public void setInterruptSlowListeners(boolean interruptSlowListeners) {
+        this.interruptSlowListeners = interruptSlowListeners;
+    }
+
+    /**
+     * Gets the number of slow invocations which have been reported so far.
+     *
+     * @return The number of slow invocations.
+     */
+    public long getSlowInvocationCount() {
+        return this.slowInvocations.sum();
+    }
+
+    /**
+     * Gets the number of times a blocked thread has been interrupted.
+     *
+     * @return The number of interrupts.
+     */
+    public long getInterruptCount() {
+        return this.interrupts.sum();
+    }
+
+    /**
+     * Creates the interceptor which reports the invocations of the given
+     * provider to this watchdog. The interceptor should be the first one of
+     * the provider so that the time spent in other interceptors is included.
+     * The same watchdog can watch multiple providers.
+     *
+     * @param provider The provider which will use the interceptor.
+     * @return The interceptor.
+     */
+    public InvocationInterceptor watch(EventProvider provider) {
+        if (provider == null) {
+            throw new IllegalArgumentException("provider is null");
+        }
+        return (invocation, chain) -> track(provider, invocation, chain);
+    }
+
+    private void track(EventProvider provider, EventInvocation invocation,
+            InvocationChain chain) {
+        final Slot slot = this.currentSlot.get();
+
+        // listeners might dispatch further events from within the same thread
+        final EventInvocation outerInvocation = slot.invocation;
+        final EventProvider outerProvider = slot.provider;
+        final long outerStart = slot.start;
+
+        // the invocation is published last, so that the watchdog never sees it
+        // with the start time of the outer invocation
+        slot.start = System.nanoTime();
+        slot.provider = provider;
+        slot.invocation = invocation;
+        try {
+            chain.proceed(invocation);
+        } finally {
+            final boolean interruptedWhileRunning = Thread.currentThread().isInterrupted();
+            slot.invocation = outerInvocation;
+            slot.provider = outerProvider;
+            slot.start = outerStart;
+            if (slot.interrupting) {
+                clearLateInterrupt(slot, interruptedWhileRunning);
+            }
+        }
+    }
+
+    private void clearLateInterrupt(Slot slot, boolean interruptedWhileRunning) {
+        // the watchdog decided to interrupt this thread before the invocation
+        // was reset. Wait until it is done and clear the interrupt if it
+        // arrived after the listener returned
+        synchronized (slot) {
+            if (slot.interrupting) {
+                slot.interrupting = false;
+                if (!interruptedWhileRunning) {
+                    Thread.interrupted();
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks all threads for slow invocations. Called periodically by the
+     * watchdog thread.
+     */
+    void check() {
+        final long now = System.nanoTime();
+        for (final Iterator<Slot> it = this.slots.iterator(); it.hasNext();) {
+            final Slot slot = it.next();
+            if (!slot.thread.isAlive()) {
+                it.remove();
+                continue;
+            }
+
+            final EventInvocation invocation = slot.invocation;
+            final long start = slot.start;
+            final EventProvider provider = slot.provider;
+            if (invocation == null || invocation != slot.invocation) {
+                // idle or changed while reading
+                continue;
+            }
+
+            final long duration = now - start;
+            if (duration < this.thresholdNanos || invocation == slot.reported
+                    && start == slot.reportedStart) {
+                continue;
+            }
+            slot.reported = invocation;
+            slot.reportedStart = start;
+            this.slowInvocations.increment();
+            report(invocation, slot.thread, duration);
+
+            if (this.interruptSlowListeners && provider != null
+                    && provider.isInterruptAware()) {
+                interrupt(slot, invocation, start);
+            }
+        }
+    }
+
+    private void interrupt(Slot slot, EventInvocation invocation, long start) {
+        synchronized (slot) {
+            // the flag is published before the invocation is checked again, so
+            // either this thread sees the invocation being reset or the
+            // notifying thread sees the flag and clears a late interrupt
+            slot.interrupting = true;
+            if (slot.invocation == invocation && slot.start == start) {
+                this.interrupts.increment();
+                slot.thread.interrupt();
+            } else {
+                // the listener returned while it was being reported
+                slot.interrupting = false;
+            }
+        }
+    }
+
+    private void report(EventInvocation invocation, Thread thread, long duration) {
+        try {
+            this.callback.slowInvocation(invocation, thread, thread.getStackTrace(),
+                    duration);
+        } catch (final RuntimeException e) {
+            LOGGER.error("WatchdogCallback '{}' threw an exception", this.callback, e);
+        }
+    }
+
+    /**
+     * Stops the watchdog thread. Invocations are still tracked by the
+     * interceptors but are no longer reported.
+     */
+    @Override
+    public void close() {
+        if (this.timer != null) {
+            this.timer.shutdownNow();
+        }
+    }
+}
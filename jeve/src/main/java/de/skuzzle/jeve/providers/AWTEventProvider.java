@@ -1,11 +1,23 @@
 package de.skuzzle.jeve.providers;
 
 import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiConsumer;
 
 import javax.swing.SwingUtilities;
 
 import de.skuzzle.jeve.AbortionException;
+import de.skuzzle.jeve.BatchOrder;
+import de.skuzzle.jeve.DispatchResult;
 import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.EventProvider;
 import de.skuzzle.jeve.ExceptionCallback;
@@ -16,13 +28,72 @@ import de.skuzzle.jeve.ListenerSource;
  * {@link EventProvider} implementation that dispatches all events in the AWT
  * event thread.
  *
+ * <p>
+ * Notifying hundreds of listeners within a single task blocks the AWT event
+ * thread and freezes the UI. Using {@link #setSliceBudget(long, TimeUnit)},
+ * {@link #dispatch(Event, BiConsumer, ExceptionCallback) dispatch} can be
+ * configured to notify the listeners of an event in slices. Once a slice
+ * exceeded the budget, notification is resumed within a new task which is
+ * appended to the AWT event queue, so that pending paint and input events are
+ * processed in between. Dispatch actions are processed one after another, so
+ * the order in which listeners and events are notified is preserved. No
+ * further slices are scheduled once the event has been
+ * {@link Event#isHandled() handled}.
+ * </p>
+ *
  * @author Simon Taddiken
  * @since 1.0.0
  */
 public class AWTEventProvider extends AbstractEventProvider {
 
+    /** State of a dispatch action which is notified in multiple slices. */
+    private final class SlicedDispatch<L extends Listener, E extends Event<?, L>> {
+        private final E event;
+        private final BiConsumer<L, E> bc;
+        private final ExceptionCallback ec;
+        private final CountDownLatch done;
+        private Iterator<L> listeners;
+        private volatile RuntimeException failure;
+
+        private SlicedDispatch(E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+            this.event = event;
+            this.bc = bc;
+            this.ec = ec;
+            this.done = new CountDownLatch(1);
+        }
+
+        /**
+         * Notifies listeners until all have been notified or the budget is
+         * exceeded.
+         *
+         * @param budgetNanos The budget of this slice.
+         * @return Whether all listeners have been notified.
+         */
+        private boolean resume(long budgetNanos) {
+            final long start = System.nanoTime();
+            if (this.listeners == null) {
+                this.listeners = getListenerSource()
+                        .get(this.event.getListenerClass())
+                        .iterator();
+            }
+            while (this.listeners.hasNext() && checkInterrupt()
+                    && !this.event.isHandled()) {
+                notifySingle(this.listeners.next(), this.event, this.bc, this.ec);
+                if (System.nanoTime() - start >= budgetNanos) {
+                    return !this.listeners.hasNext() || this.event.isHandled();
+                }
+            }
+            return true;
+        }
+    }
+
     private final boolean invokeNow;
 
+    // only accessed from within the AWT event thread
+    private final Queue<SlicedDispatch<?, ?>> sliced;
+    private final LongAdder slices;
+    private volatile long sliceBudgetNanos;
+
     /**
      * Creates a new AwtEventProvider. You can decide whether events shall be
      * scheduled for later execution via
@@ -41,6 +112,51 @@ public class AWTEventProvider extends AbstractEventProvider {
     public AWTEventProvider(ListenerSource source, boolean invokeNow) {
         super(source);
         this.invokeNow = invokeNow;
+        this.sliced = new ArrayDeque<>();
+        this.slices = new LongAdder();
+        this.sliceBudgetNanos = Long.MAX_VALUE;
+    }
+
+    /**
+     * Sets the maximum time for which a single task within the AWT event
+     * thread notifies listeners of a dispatched event. Listeners which have
+     * not been notified when the budget is exceeded are notified by a
+     * subsequent task. The budget is checked after each listener, so a single
+     * slow listener can still exceed it.
+     *
+     * <p>
+     * If this provider {@link #isInvokeNow() waits} for the notification of
+     * all listeners, the dispatching thread is blocked until the last slice
+     * has been processed. Events which are dispatched from within the AWT
+     * event thread in waiting mode are not sliced, because the current thread
+     * can not wait for subsequent tasks. Slicing only applies to
+     * {@link #dispatch(Event, BiConsumer, ExceptionCallback) dispatch}.
+     * </p>
+     *
+     * @param budget The budget. Pass a value &lt;= 0 to notify all listeners
+     *            within a single task.
+     * @param unit The unit of the budget value.
+     * @since 4.0.0
+     */
+    public void setSliceBudget(long budget, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        this.sliceBudgetNanos = budget <= 0
+                ? Long.MAX_VALUE
+                : unit.toNanos(budget);
+    }
+
+    /**
+     * Gets the number of tasks which have been scheduled to resume the
+     * notification of listeners because a slice exceeded the
+     * {@link #setSliceBudget(long, TimeUnit) budget}.
+     *
+     * @return The number of resumed slices.
+     * @since 4.0.0
+     */
+    public long getResumedSliceCount() {
+        return this.slices.sum();
     }
 
     /**
@@ -60,14 +176,81 @@ public class AWTEventProvider extends AbstractEventProvider {
             final E event, final BiConsumer<L, E> bc, ExceptionCallback ec) {
 
         checkDispatchArgs(event, bc, ec);
+        if (this.sliceBudgetNanos == Long.MAX_VALUE
+                || this.invokeNow && SwingUtilities.isEventDispatchThread()) {
+            runInEventThread(() -> notifyListeners(event, bc, ec));
+        } else {
+            dispatchSliced(new SlicedDispatch<>(event, bc, ec));
+        }
+    }
+
+    private void dispatchSliced(SlicedDispatch<?, ?> dispatch) {
+        SwingUtilities.invokeLater(() -> {
+            this.sliced.add(dispatch);
+            if (this.sliced.size() == 1) {
+                runSlice();
+            }
+        });
 
+        if (!this.invokeNow) {
+            return;
+        }
+        try {
+            dispatch.done.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AbortionException(e);
+        }
+        if (dispatch.failure != null) {
+            throw dispatch.failure;
+        }
+    }
+
+    private void runSlice() {
+        final SlicedDispatch<?, ?> current = this.sliced.peek();
+        boolean finished;
+        try {
+            finished = current.resume(this.sliceBudgetNanos);
+        } catch (final RuntimeException e) {
+            current.failure = e;
+            finished = true;
+        }
+
+        if (finished) {
+            this.sliced.remove();
+            current.done.countDown();
+        } else {
+            this.slices.increment();
+        }
+        if (!this.sliced.isEmpty()) {
+            SwingUtilities.invokeLater(this::runSlice);
+        }
+        if (!this.invokeNow && current.failure != null) {
+            // nobody waits for this dispatch action
+            throw current.failure;
+        }
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc,
+            ExceptionCallback ec, BatchOrder order) {
+
+        checkDispatchAllArgs(events, bc, ec, order);
+        if (events.isEmpty()) {
+            return;
+        }
+        final List<E> batch = new ArrayList<>(events);
+        runInEventThread(() -> notifyBatch(batch, bc, ec, order));
+    }
+
+    private void runInEventThread(Runnable action) {
         if (this.invokeNow) {
             if (SwingUtilities.isEventDispatchThread()) {
-                notifyListeners(event, bc, ec);
+                action.run();
             } else {
                 try {
-                    SwingUtilities.invokeAndWait(
-                            () -> notifyListeners(event, bc, ec));
+                    SwingUtilities.invokeAndWait(action);
                 } catch (final InvocationTargetException e) {
                     if (e.getTargetException() instanceof AbortionException) {
                         throw (AbortionException) e.getTargetException();
@@ -82,8 +265,37 @@ public class AWTEventProvider extends AbstractEventProvider {
                 }
             }
         } else {
-            SwingUtilities.invokeLater(() -> notifyListeners(event, bc, ec));
+            SwingUtilities.invokeLater(action);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If this method is called from within the AWT event thread, all listeners
+     * are notified immediately and the returned future will already be
+     * completed. Otherwise, notifying the listeners is always scheduled using
+     * {@link SwingUtilities#invokeLater(Runnable)}, regardless of the
+     * {@link #isInvokeNow() invokeNow} flag.
+     * </p>
+     */
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        if (SwingUtilities.isEventDispatchThread()) {
+            return super.dispatchAsync(event, bc, ec);
         }
+
+        checkDispatchArgs(event, bc, ec);
+        final DispatchResultCollector<L, E> collector =
+                new DispatchResultCollector<>(event, bc, ec);
+        return CompletableFuture
+                .runAsync(() -> notifyListeners(event, collector,
+                        collector.getExceptionCallback()), SwingUtilities::invokeLater)
+                .thenApply(nothing -> collector.toResult());
     }
 
     @Override
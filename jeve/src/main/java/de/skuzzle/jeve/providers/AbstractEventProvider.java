@@ -1,11 +1,21 @@
 package de.skuzzle.jeve.providers;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import de.skuzzle.jeve.AbortionException;
+import de.skuzzle.jeve.BatchOrder;
 import de.skuzzle.jeve.DefaultDispatchable;
+import de.skuzzle.jeve.DispatchResult;
 import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.EventProvider;
 import de.skuzzle.jeve.ExceptionCallback;
@@ -14,6 +24,8 @@ import de.skuzzle.jeve.Listener;
 import de.skuzzle.jeve.ListenerSource;
 import de.skuzzle.jeve.invoke.EventInvocation;
 import de.skuzzle.jeve.invoke.EventInvocationFactory;
+import de.skuzzle.jeve.invoke.InvocationChain;
+import de.skuzzle.jeve.invoke.InvocationInterceptor;
 
 /**
  * Implementation of basic {@link EventProvider} methods. All implementations
@@ -29,6 +41,10 @@ import de.skuzzle.jeve.invoke.EventInvocationFactory;
  */
 public abstract class AbstractEventProvider implements EventProvider {
 
+    /** The factory which is used if no custom factory has been set. */
+    private static final EventInvocationFactory DEFAULT_INVOCATION_FACTORY =
+            EventInvocation::of;
+
     /** The listener store associated with this provider */
     private final ListenerSource source;
 
@@ -43,13 +59,21 @@ public abstract class AbstractEventProvider implements EventProvider {
      */
     protected EventInvocationFactory invocationFactory;
 
+    /**
+     * The compiled interceptors which are invoked around each listener
+     * notification.
+     *
+     * @since 4.0.0
+     */
+    protected volatile InvocationChain invocationChain;
+
     /**
      * Whether the listener loop will break if the notifying thread is
      * interrupted.
      *
      * @since 4.0.0
      */
-    protected boolean interruptAware;
+    protected volatile boolean interruptAware;
 
     /**
      * Creates a new {@link AbstractEventProvider}.
@@ -64,7 +88,8 @@ public abstract class AbstractEventProvider implements EventProvider {
 
         this.source = source;
         this.exceptionHandler = ExceptionCallbacks.ignore();
-        this.invocationFactory = EventInvocation::of;
+        this.invocationFactory = DEFAULT_INVOCATION_FACTORY;
+        this.invocationChain = InvocationChain.empty();
     }
 
     @Override
@@ -95,6 +120,90 @@ public abstract class AbstractEventProvider implements EventProvider {
         event.defaultDispatch(this, this.exceptionHandler);
     }
 
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc) {
+        return dispatchAsync(event, bc, this.exceptionHandler);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The default implementation notifies the listeners within the current
+     * thread by calling {@link #notifyListeners(Event, BiConsumer,
+     * ExceptionCallback) notifyListeners} and returns an already completed
+     * future. Providers which notify their listeners asynchronously must
+     * override this method.
+     * </p>
+     */
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
+        checkDispatchArgs(event, bc, ec);
+        final DispatchResultCollector<L, E> collector =
+                new DispatchResultCollector<>(event, bc, ec);
+
+        final CompletableFuture<DispatchResult> result = new CompletableFuture<>();
+        try {
+            if (canDispatch()) {
+                notifyListeners(event, collector, collector.getExceptionCallback());
+            }
+            result.complete(collector.toResult());
+        } catch (final AbortionException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc) {
+        dispatchAll(events, bc, this.exceptionHandler, BatchOrder.EVENT_MAJOR);
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc,
+            ExceptionCallback ec, BatchOrder order) {
+        checkDispatchAllArgs(events, bc, ec, order);
+        if (!events.isEmpty() && canDispatch()) {
+            notifyBatch(new ArrayList<E>(events), bc, ec, order);
+        }
+    }
+
+    /**
+     * Helper method which serves for throwing {@link IllegalArgumentException}
+     * if any of the passed arguments of a batch dispatch is null.
+     *
+     * @param events The events.
+     * @param bc The method to call on the listener
+     * @param ec The ExceptionCallback
+     * @param order The order of delivery.
+     * @throws IllegalArgumentException If any argument is <code>null</code> or
+     *             if the collection contains <code>null</code>.
+     * @since 4.0.0
+     */
+    protected void checkDispatchAllArgs(Collection<? extends Event<?, ?>> events,
+            Object bc, ExceptionCallback ec, BatchOrder order) {
+        if (events == null) {
+            throw new IllegalArgumentException("events is null");
+        } else if (bc == null) {
+            throw new IllegalArgumentException("bc is null");
+        } else if (ec == null) {
+            throw new IllegalArgumentException("ec is null");
+        } else if (order == null) {
+            throw new IllegalArgumentException("order is null");
+        }
+        for (final Event<?, ?> event : events) {
+            if (event == null) {
+                throw new IllegalArgumentException("events contains null");
+            }
+        }
+    }
+
     /**
      * Helper method which serves for throwing {@link IllegalArgumentException}
      * if any of the passed arguments is null.
@@ -132,18 +241,31 @@ public abstract class AbstractEventProvider implements EventProvider {
     public synchronized void setInvocationFactory(EventInvocationFactory factory) {
         final EventInvocationFactory f;
         if (factory == null) {
-            f = EventInvocation::of;
+            f = DEFAULT_INVOCATION_FACTORY;
         } else {
             f = factory;
         }
         this.invocationFactory = f;
     }
 
+    @Override
+    public void setInvocationInterceptors(
+            List<? extends InvocationInterceptor> interceptors) {
+        this.invocationChain = interceptors == null
+                ? InvocationChain.empty()
+                : InvocationChain.of(interceptors);
+    }
+
     @Override
     public void setInterruptAware(boolean interruptAware) {
         this.interruptAware = interruptAware;
     }
 
+    @Override
+    public boolean isInterruptAware() {
+        return this.interruptAware;
+    }
+
     /**
      * Notifies all listeners registered for the provided class with the
      * provided event. This method is failure tolerant and will continue
@@ -193,15 +315,127 @@ public abstract class AbstractEventProvider implements EventProvider {
     protected <L extends Listener, E extends Event<?, L>> void notifyListeners(
             ListenerSource source, E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
 
+        if (event.isHandled()) {
+            return;
+        }
         final Stream<L> listeners = source.get(event.getListenerClass());
 
         final Iterator<L> it = listeners.iterator();
-        while (it.hasNext() && checkInterrupt()) {
+        while (it.hasNext() && checkInterrupt() && !event.isHandled()) {
             final L listener = it.next();
             notifySingle(listener, event, bc, ec);
         }
     }
 
+    /**
+     * Notifies the listeners about each event of the given batch. Listeners
+     * are retrieved only once per distinct listener class. Like
+     * {@link #notifyListeners(Event, BiConsumer, ExceptionCallback)
+     * notifyListeners}, this method is failure tolerant and does not check
+     * whether this provider is ready for dispatching.
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the events which will be passed to a listener.
+     * @param events The events to pass to each listener.
+     * @param bc The method of the listener to call.
+     * @param ec The callback which gets notified about exceptions.
+     * @param order The order in which events are delivered.
+     * @throws AbortionException If the ExceptionCallback threw an
+     *             AbortionException
+     * @since 4.0.0
+     */
+    protected <L extends Listener, E extends Event<?, L>> void notifyBatch(
+            List<E> events, BiConsumer<L, E> bc, ExceptionCallback ec,
+            BatchOrder order) {
+
+        if (order == BatchOrder.EVENT_MAJOR) {
+            final Map<Class<L>, List<L>> listeners = new HashMap<>();
+            for (final E event : events) {
+                final List<L> targets = listeners.computeIfAbsent(
+                        event.getListenerClass(), this::resolveListeners);
+                for (final L listener : targets) {
+                    if (!checkInterrupt()) {
+                        return;
+                    } else if (event.isHandled()) {
+                        break;
+                    }
+                    notifyEventOfBatch(listener, event, bc, ec);
+                }
+            }
+        } else {
+            for (final Map.Entry<Class<L>, List<E>> group : groupByListenerClass(
+                    events).entrySet()) {
+                for (final L listener : resolveListeners(group.getKey())) {
+                    for (final E event : group.getValue()) {
+                        if (!checkInterrupt()) {
+                            return;
+                        } else if (event.isHandled()) {
+                            continue;
+                        }
+                        notifyEventOfBatch(listener, event, bc, ec);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Notifies a single listener about a single event of a batch which is
+     * delivered by {@link #notifyBatch(List, BiConsumer, ExceptionCallback,
+     * BatchOrder) notifyBatch}. The default implementation simply calls
+     * {@link #notifySingle(Listener, Event, BiConsumer, ExceptionCallback)
+     * notifySingle}. Subclasses may override this method to maintain state
+     * around each notification.
+     *
+     * @param <L> Type of the listener.
+     * @param <E> Type of the event.
+     * @param listener The listener to notify.
+     * @param event The event to pass to the listener.
+     * @param bc The method of the listener to call.
+     * @param ec The callback which gets notified about exceptions.
+     * @throws AbortionException If the ExceptionCallback threw an
+     *             AbortionException
+     * @since 4.0.0
+     */
+    protected <L extends Listener, E extends Event<?, L>> void notifyEventOfBatch(
+            L listener, E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+        notifySingle(listener, event, bc, ec);
+    }
+
+    /**
+     * Retrieves all listeners of the given class from this provider's
+     * {@link ListenerSource} and collects them into a list.
+     *
+     * @param <L> Type of the listeners.
+     * @param listenerClass The listener class.
+     * @return The listeners.
+     * @since 4.0.0
+     */
+    protected <L extends Listener> List<L> resolveListeners(Class<L> listenerClass) {
+        return getListenerSource().get(listenerClass).collect(Collectors.toList());
+    }
+
+    /**
+     * Groups the given events by their listener class, preserving the order of
+     * the events within each group and the order of first occurrence of each
+     * listener class.
+     *
+     * @param <L> Type of the listeners.
+     * @param <E> Type of the events.
+     * @param events The events to group.
+     * @return A map from listener class to events.
+     * @since 4.0.0
+     */
+    protected static <L extends Listener, E extends Event<?, L>> Map<Class<L>, List<E>>
+            groupByListenerClass(List<E> events) {
+        final Map<Class<L>, List<E>> groups = new LinkedHashMap<>();
+        for (final E event : events) {
+            groups.computeIfAbsent(event.getListenerClass(),
+                    key -> new ArrayList<>()).add(event);
+        }
+        return groups;
+    }
+
     /**
      * Checks whether the next listener should be notified, taking the
      * {@link EventProvider#setInterruptAware(boolean) interrupt aware flag} and
@@ -212,13 +446,22 @@ public abstract class AbstractEventProvider implements EventProvider {
      * @see EventProvider#setInterruptAware(boolean)
      */
     protected boolean checkInterrupt() {
-        return !(this.interruptAware && !Thread.currentThread().isInterrupted());
+        return !(this.interruptAware && Thread.currentThread().isInterrupted());
     }
 
     /**
      * Notifies a single listener and internally handles exceptions using the
      * {@link ExceptionCallback}.
      *
+     * <p>
+     * If no custom {@link EventInvocationFactory} and no
+     * {@link InvocationInterceptor interceptors} have been set, the listener
+     * is notified without creating an {@link EventInvocation} object. In this
+     * case, {@link #createInvocation(Listener, Event, BiConsumer,
+     * ExceptionCallback) createInvocation} is not called. Otherwise, the
+     * created invocation is passed through the {@link InvocationChain}.
+     * </p>
+     *
      * @param <L> Type of the listeners which will be notified.
      * @param <E> Type of the event which will be passed to a listener.
      * @param listener The single listener to notify.
@@ -232,7 +475,14 @@ public abstract class AbstractEventProvider implements EventProvider {
     protected <L extends Listener, E extends Event<?, L>> void notifySingle(
             L listener, E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
 
-        createInvocation(listener, event, bc, ec).notifyListener();
+        final InvocationChain chain = this.invocationChain;
+        if (!chain.isEmpty()) {
+            chain.proceed(createInvocation(listener, event, bc, ec));
+        } else if (this.invocationFactory == DEFAULT_INVOCATION_FACTORY) {
+            EventInvocation.notifyDirectly(listener, event, bc, ec);
+        } else {
+            createInvocation(listener, event, bc, ec).notifyListener();
+        }
     }
 
     /**
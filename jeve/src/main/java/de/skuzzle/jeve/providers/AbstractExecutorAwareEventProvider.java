@@ -0,0 +1,351 @@
+package de.skuzzle.jeve.providers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.ExpirationCallback;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerSource;
+import de.skuzzle.jeve.Priority;
+
+/**
+ * Base class for EventProviders which notify listeners using an
+ * {@link ExecutorService}. It keeps track of the tasks which have been handed
+ * to the executor, lets important tasks overtake less important ones, drops
+ * expired events and schedules delayed dispatch actions. Subclasses only
+ * decide how the notification of the listeners is split into tasks.
+ *
+ * <p>
+ * Tasks should be handed to the executor using one of the {@code submit} or
+ * {@code execute} methods of this class, so that they are taken into account
+ * by {@link #drain(long, TimeUnit)} and {@link #awaitIdle(long, TimeUnit)}.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public abstract class AbstractExecutorAwareEventProvider extends AbstractEventProvider
+        implements ExecutorAware, Drainable, DelayedDispatcher,
+        PriorityAware, DeadlineAware {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventProvider.class);
+
+    private static final long TERMINATION_TIMEOUT = 2000;
+
+    /** The executor which notifies the listeners. */
+    protected ExecutorService executor;
+
+    /** Tracks the tasks which have been submitted to the executor. */
+    private final TaskTracker tasks = new TaskTracker();
+
+    private volatile long drainTimeout = -1;
+
+    private static final String TIMER_NAME = "jeve-delayed-dispatch";
+
+    /**
+     * Timing wheel for delayed dispatch actions, started on first use and
+     * replaced when a new executor is set after it has been stopped.
+     */
+    private volatile TimingWheel timer = new TimingWheel(TIMER_NAME);
+
+    /** Lanes which let important events overtake less important ones. */
+    private final PriorityLanes lanes = new PriorityLanes();
+
+    /** Counts events which expired before they could be delivered. */
+    private final ExpiredEvents expired = new ExpiredEvents();
+
+    /**
+     * Creates a new AbstractExecutorAwareEventProvider.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param executor The executor to use.
+     */
+    protected AbstractExecutorAwareEventProvider(ListenerSource source,
+            ExecutorService executor) {
+        super(source);
+        if (executor == null) {
+            throw new IllegalArgumentException("executor is null");
+        }
+        this.executor = executor;
+    }
+
+    @Override
+    public void setExecutorService(ExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor is null");
+        }
+
+        this.executor = executor;
+        if (this.timer.isStopped()) {
+            // the provider is able to dispatch again
+            this.timer = new TimingWheel(TIMER_NAME);
+        }
+    }
+
+    protected ExecutorService getExecutor() {
+        return this.executor;
+    }
+
+    @Override
+    public boolean canDispatch() {
+        return !this.executor.isShutdown() && !this.executor.isTerminated();
+    }
+
+    /**
+     * Submits the given task to this provider's executor. Tasks submitted using
+     * this method are taken into account by {@link #drain(long, TimeUnit)} and
+     * {@link #awaitIdle(long, TimeUnit)}.
+     *
+     * @param task The task to submit.
+     * @return The future representing the pending completion of the task.
+     */
+    protected Future<?> submit(Runnable task) {
+        return this.tasks.submit(this.executor, task);
+    }
+
+    /**
+     * Executes the given task using this provider's executor. Tasks executed
+     * using this method are taken into account by
+     * {@link #drain(long, TimeUnit)} and {@link #awaitIdle(long, TimeUnit)}.
+     *
+     * @param task The task to execute.
+     */
+    protected void execute(Runnable task) {
+        this.tasks.execute(this.executor, task);
+    }
+
+    /**
+     * Submits the given task to this provider's executor, letting it overtake
+     * pending tasks with a lower priority. Tasks submitted using this method
+     * are taken into account by {@link #drain(long, TimeUnit)} and
+     * {@link #awaitIdle(long, TimeUnit)}.
+     *
+     * @param priority The priority of the task.
+     * @param task The task to submit.
+     * @return The future representing the pending completion of the task.
+     */
+    protected Future<?> submit(Priority priority, Runnable task) {
+        return this.lanes.submit(priority, task, this::submit);
+    }
+
+    /**
+     * Executes the given task using this provider's executor, letting it
+     * overtake pending tasks with a lower priority. Tasks executed using this
+     * method are taken into account by {@link #drain(long, TimeUnit)} and
+     * {@link #awaitIdle(long, TimeUnit)}.
+     *
+     * @param priority The priority of the task.
+     * @param task The task to execute.
+     */
+    protected void execute(Priority priority, Runnable task) {
+        this.lanes.execute(priority, task, this::execute);
+    }
+
+    /**
+     * Executes the given task using this provider's executor and returns a
+     * future which completes when the task has been run. If the task is
+     * dropped because this provider is closed or drained, the future is
+     * completed exceptionally with a
+     * {@link java.util.concurrent.CancellationException CancellationException}.
+     *
+     * @param task The task to execute.
+     * @return The future representing the pending completion of the task.
+     */
+    protected CompletableFuture<Void> executeAsync(Runnable task) {
+        final CompletableTask completable = new CompletableTask(task);
+        execute(completable);
+        return completable.getResult();
+    }
+
+    /**
+     * Executes the given task like {@link #executeAsync(Runnable)}, letting it
+     * overtake pending tasks with a lower priority.
+     *
+     * @param priority The priority of the task.
+     * @param task The task to execute.
+     * @return The future representing the pending completion of the task.
+     */
+    protected CompletableFuture<Void> executeAsync(Priority priority, Runnable task) {
+        final CompletableTask completable = new CompletableTask(task);
+        execute(priority, completable);
+        return completable.getResult();
+    }
+
+    /**
+     * Checks whether the given event is expired right before its listeners
+     * would be notified. Expired events are counted and reported to the
+     * {@link #setExpirationCallback(ExpirationCallback) ExpirationCallback}.
+     *
+     * @param event The event to check.
+     * @return Whether the event must be dropped.
+     */
+    protected boolean dropIfExpired(Event<?, ?> event) {
+        return this.expired.drop(event);
+    }
+
+    /**
+     * Removes all expired events from the given batch right before its
+     * listeners would be notified. Each expired event is counted once, like
+     * with {@link #dropIfExpired(Event)}.
+     *
+     * @param <E> Type of the events.
+     * @param events The batch.
+     * @return A list containing only the events which did not expire.
+     */
+    protected <E extends Event<?, ?>> List<E> dropExpired(List<E> events) {
+        final List<E> result = new ArrayList<>(events.size());
+        for (final E event : events) {
+            if (!dropIfExpired(event)) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void setExpirationCallback(ExpirationCallback callback) {
+        this.expired.setCallback(callback);
+    }
+
+    @Override
+    public long getExpiredCount() {
+        return this.expired.getCount();
+    }
+
+    @Override
+    public void setStrictPriority(boolean strict) {
+        this.lanes.setStrict(strict);
+    }
+
+    @Override
+    public boolean isStrictPriority() {
+        return this.lanes.isStrict();
+    }
+
+    @Override
+    public int getQueuedCount(Priority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("priority is null");
+        }
+        return this.lanes.getQueuedCount(priority);
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> ScheduledDispatch dispatchAfter(
+            Duration delay, E event, BiConsumer<L, E> bc) {
+        return dispatchAfter(delay, event, bc, this.exceptionHandler);
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> ScheduledDispatch dispatchAfter(
+            Duration delay, E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+        if (delay == null) {
+            throw new IllegalArgumentException("delay is null");
+        }
+        checkDispatchArgs(event, bc, ec);
+        return this.timer.schedule(delay, () -> dispatch(event, bc, ec));
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> ScheduledDispatch dispatchAt(
+            Instant time, E event, BiConsumer<L, E> bc) {
+        return dispatchAt(time, event, bc, this.exceptionHandler);
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> ScheduledDispatch dispatchAt(
+            Instant time, E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+        if (time == null) {
+            throw new IllegalArgumentException("time is null");
+        }
+        return dispatchAfter(Duration.between(Instant.now(), time), event, bc, ec);
+    }
+
+    @Override
+    public int getScheduledCount() {
+        return this.timer.getScheduledCount();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * Dispatch actions which have been scheduled using this provider's
+     * {@link DelayedDispatcher} methods but which are not yet due are dropped
+     * immediately and included in the returned count.
+     * </p>
+     */
+    @Override
+    public int drain(long timeout, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        final int droppedTimers = this.timer.stop();
+        final int droppedTasks = this.tasks.drain(this.executor, timeout, unit);
+        // the tokens of prioritized tasks have been dropped with the executor
+        this.lanes.clear();
+        return droppedTimers + droppedTasks;
+    }
+
+    @Override
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        return this.tasks.awaitIdle(timeout, unit);
+    }
+
+    @Override
+    public int getPendingCount() {
+        return this.tasks.getPendingCount();
+    }
+
+    @Override
+    public void setDrainOnClose(long timeout, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        } else if (timeout < 0) {
+            throw new IllegalArgumentException("timeout < 0");
+        }
+        this.drainTimeout = unit.toMillis(timeout);
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        final long timeout = this.drainTimeout;
+        final int dropped;
+        if (timeout >= 0) {
+            dropped = drain(timeout, TimeUnit.MILLISECONDS);
+        } else {
+            dropped = this.timer.stop() + this.tasks.discard(this.executor);
+            this.lanes.clear();
+            try {
+                this.executor.awaitTermination(TERMINATION_TIMEOUT,
+                        TimeUnit.MILLISECONDS);
+            } catch (final InterruptedException e) {
+                LOGGER.error("{}: Error while waiting for termination of executor",
+                        getClass().getSimpleName(), e);
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (dropped > 0) {
+            LOGGER.warn("{}: Dropped {} pending dispatch actions on close",
+                    getClass().getSimpleName(), dropped);
+        }
+    }
+}
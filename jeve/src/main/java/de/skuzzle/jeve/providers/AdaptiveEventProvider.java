@@ -0,0 +1,252 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerSource;
+
+/**
+ * EventProvider which decides for each listener class whether events are
+ * dispatched sequentially within the dispatching thread or whether each
+ * listener is notified within a dedicated task like with the
+ * {@link ParallelEventProvider}. For event types with only one or few cheap
+ * listeners, submitting tasks costs more than notifying the listeners
+ * directly, whereas for event types with many slow listeners, sequential
+ * dispatch leaves cores idle.
+ *
+ * <p>
+ * This provider measures the number of listeners per dispatch action (the
+ * fan-out) and the average execution time of a single listener for each
+ * listener class. Every {@value #WINDOW} dispatch actions of a listener class,
+ * the expected work of a dispatch action, that is the fan-out times the
+ * average execution time, is compared against the configured threshold.
+ * Dispatching for a listener class is switched to {@link DispatchMode#PARALLEL
+ * parallel} if the work exceeds the threshold and at least
+ * {@value #MIN_PARALLEL_FAN_OUT} listeners are notified. It is switched back
+ * to {@link DispatchMode#SEQUENTIAL sequential} when the work drops below half
+ * of the threshold or the fan-out drops below {@value #MIN_PARALLEL_FAN_OUT}.
+ * This hysteresis prevents the mode from flapping for event types whose cost
+ * is close to the threshold. All listener classes start in sequential mode.
+ * </p>
+ *
+ * <p>
+ * Only {@link #dispatch(Event, BiConsumer, ExceptionCallback) dispatch} is
+ * adaptive. {@link #dispatchAsync(Event, BiConsumer, ExceptionCallback)
+ * dispatchAsync} and {@link #dispatchAll(java.util.Collection, BiConsumer,
+ * ExceptionCallback, de.skuzzle.jeve.BatchOrder) dispatchAll} always behave
+ * like with the ParallelEventProvider. As the mode of a listener class may
+ * change at any time, this provider is not {@link #isSequential() sequential}.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public class AdaptiveEventProvider extends ParallelEventProvider {
+
+    /** The way in which the listeners of a certain listener class are notified. */
+    public enum DispatchMode {
+        /** Listeners are notified one after another by the dispatching thread. */
+        SEQUENTIAL,
+        /** Each listener is notified within a dedicated task. */
+        PARALLEL
+    }
+
+    /** Number of dispatch actions after which the mode is reconsidered. */
+    private static final int WINDOW = 32;
+
+    /** Minimum number of listeners for parallel dispatch. */
+    private static final int MIN_PARALLEL_FAN_OUT = 2;
+
+    private static final long DEFAULT_THRESHOLD_MICROS = 50;
+
+    private final class Statistics {
+        private final AtomicLong dispatches = new AtomicLong();
+        private final AtomicLong listeners = new AtomicLong();
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong nanos = new AtomicLong();
+        private volatile DispatchMode mode = DispatchMode.SEQUENTIAL;
+
+        private void recordListener(long duration) {
+            this.samples.incrementAndGet();
+            this.nanos.addAndGet(duration);
+        }
+
+        private void recordDispatch(int fanOut) {
+            this.listeners.addAndGet(fanOut);
+            if (this.dispatches.incrementAndGet() % WINDOW == 0) {
+                reconsider();
+            }
+        }
+
+        private synchronized void reconsider() {
+            final long windowListeners = this.listeners.getAndSet(0);
+            final long windowSamples = this.samples.getAndSet(0);
+            final long windowNanos = this.nanos.getAndSet(0);
+            if (windowSamples == 0) {
+                return;
+            }
+
+            final double fanOut = (double) windowListeners / WINDOW;
+            final double work = fanOut * windowNanos / windowSamples;
+            final long threshold = AdaptiveEventProvider.this.thresholdNanos;
+            if (this.mode == DispatchMode.SEQUENTIAL
+                    && fanOut >= MIN_PARALLEL_FAN_OUT && work >= threshold) {
+                this.mode = DispatchMode.PARALLEL;
+                AdaptiveEventProvider.this.switches.incrementAndGet();
+            } else if (this.mode == DispatchMode.PARALLEL
+                    && (fanOut < MIN_PARALLEL_FAN_OUT || work < threshold / 2)) {
+                this.mode = DispatchMode.SEQUENTIAL;
+                AdaptiveEventProvider.this.switches.incrementAndGet();
+            }
+        }
+    }
+
+    private final long thresholdNanos;
+    private final Map<Class<?>, Statistics> statistics;
+    private final AtomicLong switches;
+
+    /**
+     * Creates a new AdaptiveEventProvider which uses a cached thread pool for
+     * parallel dispatch and a threshold of {@value #DEFAULT_THRESHOLD_MICROS}
+     * microseconds.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     */
+    public AdaptiveEventProvider(ListenerSource source) {
+        this(source, Executors.newCachedThreadPool());
+    }
+
+    /**
+     * Creates a new AdaptiveEventProvider which uses the given executor for
+     * parallel dispatch and a threshold of {@value #DEFAULT_THRESHOLD_MICROS}
+     * microseconds.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param executor The executor to use.
+     */
+    public AdaptiveEventProvider(ListenerSource source, ExecutorService executor) {
+        this(source, executor, DEFAULT_THRESHOLD_MICROS, TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * Creates a new AdaptiveEventProvider.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param executor The executor to use.
+     * @param threshold The expected work of a single dispatch action above
+     *            which the listeners are notified in parallel.
+     * @param unit The unit of the threshold.
+     */
+    public AdaptiveEventProvider(ListenerSource source, ExecutorService executor,
+            long threshold, TimeUnit unit) {
+        super(source, executor);
+        if (threshold < 0) {
+            throw new IllegalArgumentException("threshold < 0");
+        } else if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        this.thresholdNanos = unit.toNanos(threshold);
+        this.statistics = new ConcurrentHashMap<>();
+        this.switches = new AtomicLong();
+    }
+
+    /**
+     * Gets the mode in which listeners of the given class are currently
+     * notified.
+     *
+     * @param listenerClass The listener class.
+     * @return The current mode.
+     */
+    public DispatchMode getDispatchMode(Class<? extends Listener> listenerClass) {
+        if (listenerClass == null) {
+            throw new IllegalArgumentException("listenerClass is null");
+        }
+        final Statistics stats = this.statistics.get(listenerClass);
+        return stats == null
+                ? DispatchMode.SEQUENTIAL
+                : stats.mode;
+    }
+
+    /**
+     * Gets a snapshot of the current mode of every listener class for which
+     * events have been dispatched so far.
+     *
+     * @return Unmodifiable map from listener class to its current mode.
+     */
+    public Map<Class<?>, DispatchMode> getDispatchModes() {
+        final Map<Class<?>, DispatchMode> result = new HashMap<>();
+        this.statistics.forEach((listenerClass, stats) -> result.put(listenerClass,
+                stats.mode));
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * Gets how often the mode of any listener class has been switched.
+     *
+     * @return The number of mode switches.
+     */
+    public long getSwitchCount() {
+        return this.switches.get();
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatch(
+            E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        checkDispatchArgs(event, bc, ec);
+        if (!canDispatch()) {
+            return;
+        }
+
+        final Statistics stats = this.statistics.computeIfAbsent(
+                event.getListenerClass(), key -> new Statistics());
+        final Iterator<L> it = getListenerSource().get(event.getListenerClass())
+                .iterator();
+
+        int fanOut = 0;
+        try {
+            if (stats.mode == DispatchMode.SEQUENTIAL) {
+                while (it.hasNext() && checkInterrupt() && !event.isHandled()) {
+                    final L listener = it.next();
+                    ++fanOut;
+                    final long start = System.nanoTime();
+                    try {
+                        notifySingle(listener, event, bc, ec);
+                    } finally {
+                        stats.recordListener(System.nanoTime() - start);
+                    }
+                }
+            } else {
+                while (it.hasNext() && checkInterrupt() && !event.isHandled()) {
+                    final L listener = it.next();
+                    submit(event.getPriority(), () -> {
+                        if (checkInterrupt() && !event.isHandled()
+                                && !dropIfExpired(event)) {
+                            final long start = System.nanoTime();
+                            notifySingle(listener, event, bc, ec);
+                            stats.recordListener(System.nanoTime() - start);
+                        }
+                    });
+                    ++fanOut;
+                }
+            }
+        } finally {
+            // aborted dispatch actions still count towards the window
+            stats.recordDispatch(fanOut);
+        }
+    }
+}
@@ -1,38 +1,54 @@
 package de.skuzzle.jeve.providers;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.skuzzle.jeve.BatchOrder;
+import de.skuzzle.jeve.DispatchResult;
 import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.EventProvider;
 import de.skuzzle.jeve.ExceptionCallback;
 import de.skuzzle.jeve.Listener;
 import de.skuzzle.jeve.ListenerSource;
+import de.skuzzle.jeve.Priority;
 
 /**
  * This EventProvider fires events asynchronously using an
  * {@link ExecutorService} for managing the creation of threads.
  *
+ * <p>
+ * Dispatched events are kept in one lane per {@link Priority} before they are
+ * handed to the executor, so that events with a higher
+ * {@link Event#getPriority() priority} overtake pending events with a lower
+ * priority. See {@link PriorityAware} for further information.
+ * </p>
+ *
+ * <p>
+ * Events which {@link Event#isExpired() expired} while waiting in the queue
+ * are dropped without notifying any listener. This also applies to the
+ * single events of a {@link #dispatchAll(Collection, BiConsumer,
+ * ExceptionCallback, BatchOrder) batch}. See {@link DeadlineAware} for
+ * further information.
+ * </p>
+ *
  * @author Simon Taddiken
  * @since 1.0.0
  */
-public class AsynchronousEventProvider extends AbstractEventProvider
-        implements ExecutorAware {
+public class AsynchronousEventProvider extends AbstractExecutorAwareEventProvider {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EventProvider.class);
 
-    private static final long TERMINATION_TIMEOUT = 2000;
-
-    /** Service which serves for creating and reusing threads. */
-    protected ExecutorService executor;
-
     private boolean blocking;
 
     /**
@@ -55,37 +71,58 @@ public class AsynchronousEventProvider extends AbstractEventProvider
      * @param executor ExecutorService to use.
      */
     public AsynchronousEventProvider(ListenerSource source, ExecutorService executor) {
-        super(source);
-        if (executor == null) {
-            throw new IllegalArgumentException("executor is null");
-        }
-        this.executor = executor;
+        super(source, executor);
     }
 
     @Override
-    public void setExecutorService(ExecutorService executor) {
-        if (executor == null) {
-            throw new IllegalArgumentException("executor is null");
-        }
+    public <L extends Listener, E extends Event<?, L>> void dispatch(
+            E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
 
-        this.executor = executor;
-    }
+        checkDispatchArgs(event, bc, ec);
+        if (canDispatch()) {
+            final Future<?> future = submit(event.getPriority(), () -> {
+                if (!dropIfExpired(event)) {
+                    notifyListeners(event, bc, ec);
+                }
+            });
 
-    protected ExecutorService getExecutor() {
-        return this.executor;
+            waitIfNecessary(future);
+        }
     }
 
     @Override
-    public <L extends Listener, E extends Event<?, L>> void dispatch(
-            E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
 
         checkDispatchArgs(event, bc, ec);
-        if (canDispatch()) {
-            final Future<?> future = this.executor.submit(
-                    () -> notifyListeners(event, bc, ec));
+        final DispatchResultCollector<L, E> collector =
+                new DispatchResultCollector<>(event, bc, ec);
+        if (!canDispatch()) {
+            return CompletableFuture.completedFuture(collector.toResult());
+        }
 
-            waitIfNecessary(future);
+        return executeAsync(event.getPriority(), () -> {
+            if (!dropIfExpired(event)) {
+                notifyListeners(event, collector, collector.getExceptionCallback());
+            }
+        }).thenApply(nothing -> collector.toResult());
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc,
+            ExceptionCallback ec, BatchOrder order) {
+
+        checkDispatchAllArgs(events, bc, ec, order);
+        if (events.isEmpty() || !canDispatch()) {
+            return;
         }
+
+        final List<E> batch = new ArrayList<>(events);
+        final Future<?> future = submit(() -> notifyBatch(dropExpired(batch), bc, ec,
+                order));
+        waitIfNecessary(future);
     }
 
     private void waitIfNecessary(Future<?> future) {
@@ -97,28 +134,13 @@ public class AsynchronousEventProvider extends AbstractEventProvider
                 Thread.currentThread().interrupt();
             } catch (final ExecutionException e) {
                 LOGGER.error("Error while waiting for all listeners to be notified.", e);
+            } catch (final CancellationException e) {
+                // the provider has been closed or drained concurrently
+                LOGGER.error("Error while waiting for all listeners to be notified.", e);
             }
         }
     }
 
-    @Override
-    public boolean canDispatch() {
-        return !this.executor.isShutdown() && !this.executor.isTerminated();
-    }
-
-    @Override
-    public void close() {
-        super.close();
-        this.executor.shutdownNow();
-        try {
-            this.executor.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS);
-        } catch (final InterruptedException e) {
-            LOGGER.error("AsynchronousEventProvider: Error while waiting for "
-                    + "termination of executor", e);
-            Thread.currentThread().interrupt();
-        }
-    }
-
     @Override
     protected boolean isImplementationSequential() {
         return true;
@@ -0,0 +1,424 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerSource;
+import de.skuzzle.jeve.annotation.ListenerKind;
+
+/**
+ * Asynchronous EventProvider which additionally supports
+ * {@link ListenerKind#BATCH batch listeners}. Events which are dispatched
+ * using {@link #dispatchBatched(Event, BiConsumer)} are accumulated and
+ * delivered to the listeners as a single list as soon as either the maximum
+ * batch size is reached or the linger time elapsed since the first event of
+ * the batch has been dispatched. This allows listeners to amortize expensive
+ * operations like I/O over many events.
+ *
+ * <pre>
+ * &#64;ListenerInterface(ListenerKind.BATCH)
+ * public interface UserListener extends Listener {
+ *     public void usersAdded(List&lt;UserEvent&gt; events);
+ * }
+ *
+ * provider.dispatchBatched(new UserEvent(this, user), UserListener::usersAdded);
+ * </pre>
+ *
+ * <p>
+ * Events are accumulated per listener class, listening method and
+ * ExceptionCallback. Listening methods are compared by identity, so a method
+ * reference which is evaluated at different places in the code might result in
+ * separate batches.
+ * </p>
+ *
+ * <p>
+ * While a batch is delivered, it is represented by a {@link BatchEvent}. This
+ * event is passed to the ExceptionCallback if a listener throws an exception
+ * and marking it as {@link Event#setHandled(boolean) handled} prevents the
+ * batch from being delivered to the remaining listeners. Events which have
+ * been marked as handled or which {@link Event#isExpired() expired} before
+ * their batch is delivered are removed from the batch. Marking single events
+ * as handled while the batch is being delivered has no effect on the
+ * delivery.
+ * </p>
+ *
+ * <p>
+ * Normal events which are dispatched using the common {@code dispatch} methods
+ * are delivered immediately like with the {@link AsynchronousEventProvider}.
+ * Pending batches are delivered when this provider is
+ * {@link #drain(long, TimeUnit) drained}. When it is closed, they are
+ * delivered as well if {@link #setDrainOnClose(long, TimeUnit) draining on
+ * close} has been configured and discarded otherwise. Events which are
+ * dispatched using {@code dispatchBatched} while this provider is shutting
+ * down are no longer accumulated.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public class BatchingEventProvider extends AsynchronousEventProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventProvider.class);
+
+    /**
+     * Event which represents a whole batch while it is delivered to the
+     * listeners.
+     *
+     * @author Simon Taddiken
+     * @param <L> Type of the listeners which are notified.
+     * @param <E> Type of the events within the batch.
+     * @since 4.0.0
+     */
+    public static final class BatchEvent<L extends Listener, E extends Event<?, L>>
+            extends Event<BatchingEventProvider, L> {
+
+        private final List<E> events;
+
+        private BatchEvent(BatchingEventProvider source, Class<L> listenerClass,
+                List<E> events) {
+            super(source, listenerClass);
+            this.events = events;
+        }
+
+        /**
+         * Gets the events of the batch.
+         *
+         * @return Unmodifiable list of events.
+         */
+        public List<E> getEvents() {
+            return this.events;
+        }
+    }
+
+    private static final class BatchKey {
+        private final Class<?> listenerClass;
+        private final Object bc;
+        private final ExceptionCallback ec;
+
+        private BatchKey(Class<?> listenerClass, Object bc, ExceptionCallback ec) {
+            this.listenerClass = listenerClass;
+            this.bc = bc;
+            this.ec = ec;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * this.listenerClass.hashCode()
+                    + System.identityHashCode(this.bc)) + this.ec.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (!(obj instanceof BatchKey)) {
+                return false;
+            }
+            final BatchKey other = (BatchKey) obj;
+            return this.listenerClass.equals(other.listenerClass)
+                    && this.bc == other.bc
+                    && this.ec.equals(other.ec);
+        }
+    }
+
+    private final class PendingBatch<L extends Listener, E extends Event<?, L>> {
+        private final BatchKey key;
+        private final Class<L> listenerClass;
+        private final BiConsumer<L, List<E>> bc;
+        private final ExceptionCallback ec;
+        private final List<E> events;
+        private ScheduledFuture<?> lingerTimer;
+        private boolean flushed;
+
+        private PendingBatch(BatchKey key, Class<L> listenerClass,
+                BiConsumer<L, List<E>> bc, ExceptionCallback ec) {
+            this.key = key;
+            this.listenerClass = listenerClass;
+            this.bc = bc;
+            this.ec = ec;
+            this.events = new ArrayList<>();
+        }
+
+        private synchronized boolean add(E event) {
+            if (this.flushed) {
+                // already removed from the map, a new batch must be started
+                return false;
+            }
+            this.events.add(event);
+            if (this.events.size() >= BatchingEventProvider.this.maxBatchSize) {
+                flush();
+            } else if (this.events.size() == 1) {
+                try {
+                    this.lingerTimer = BatchingEventProvider.this.timer.schedule(
+                            this::flush, BatchingEventProvider.this.lingerNanos,
+                            TimeUnit.NANOSECONDS);
+                } catch (final RejectedExecutionException e) {
+                    // the provider is shutting down, the caller flushes the
+                    // batch
+                }
+            }
+            return true;
+        }
+
+        private synchronized void flush() {
+            if (this.lingerTimer != null) {
+                this.lingerTimer.cancel(false);
+                this.lingerTimer = null;
+            }
+            if (this.flushed) {
+                return;
+            }
+            this.flushed = true;
+            BatchingEventProvider.this.batches.remove(this.key, this);
+            if (this.events.isEmpty() || !canDispatch()) {
+                return;
+            }
+            final List<E> batch = Collections.unmodifiableList(this.events);
+            try {
+                execute(() -> deliver(this, batch));
+            } catch (final RejectedExecutionException e) {
+                // the provider has been closed concurrently
+                LOGGER.warn("Discarded batch of {} events because the provider "
+                        + "has been closed", batch.size());
+            }
+        }
+    }
+
+    private final int maxBatchSize;
+    private final long lingerNanos;
+    private volatile ScheduledExecutorService timer;
+    private volatile boolean closing;
+    private final Map<BatchKey, PendingBatch<?, ?>> batches;
+    private final LongAdder deliveredBatches;
+
+    /**
+     * Creates a new BatchingEventProvider which uses a single threaded
+     * {@link ExecutorService} for delivering events.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param maxBatchSize The maximum number of events delivered within a
+     *            single batch.
+     * @param linger The maximum time to wait for further events after the
+     *            first event of a batch has been dispatched.
+     * @param unit The unit of the linger time.
+     */
+    public BatchingEventProvider(ListenerSource source, int maxBatchSize,
+            long linger, TimeUnit unit) {
+        this(source, maxBatchSize, linger, unit, Executors.newFixedThreadPool(1));
+    }
+
+    /**
+     * Creates a new BatchingEventProvider which uses the provided
+     * {@link ExecutorService} for delivering events.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param maxBatchSize The maximum number of events delivered within a
+     *            single batch.
+     * @param linger The maximum time to wait for further events after the
+     *            first event of a batch has been dispatched.
+     * @param unit The unit of the linger time.
+     * @param executor ExecutorService to use.
+     */
+    public BatchingEventProvider(ListenerSource source, int maxBatchSize,
+            long linger, TimeUnit unit, ExecutorService executor) {
+        super(source, executor);
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize <= 0");
+        } else if (linger < 0) {
+            throw new IllegalArgumentException("linger < 0");
+        } else if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.lingerNanos = unit.toNanos(linger);
+        this.timer = newLingerTimer();
+        this.batches = new ConcurrentHashMap<>();
+        this.deliveredBatches = new LongAdder();
+    }
+
+    private static ScheduledExecutorService newLingerTimer() {
+        return Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "jeve-batch-linger");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the maximum number of events delivered within a single batch.
+     *
+     * @return The maximum batch size.
+     */
+    public int getMaxBatchSize() {
+        return this.maxBatchSize;
+    }
+
+    /**
+     * Gets the maximum time to wait for further events after the first event
+     * of a batch has been dispatched.
+     *
+     * @param unit The unit in which the linger time is returned.
+     * @return The linger time.
+     */
+    public long getLinger(TimeUnit unit) {
+        return unit.convert(this.lingerNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of batches which have been delivered so far.
+     *
+     * @return The number of delivered batches.
+     */
+    public long getDeliveredBatchCount() {
+        return this.deliveredBatches.sum();
+    }
+
+    /**
+     * Gets the number of batches which are currently accumulating events.
+     *
+     * @return The number of pending batches.
+     */
+    public int getPendingBatchCount() {
+        return this.batches.size();
+    }
+
+    /**
+     * Adds the given event to the pending batch for the given listening method.
+     * The batch is delivered to all listeners as soon as it is full or the
+     * linger time elapsed. Exceptions thrown by listeners are passed to the
+     * default {@link ExceptionCallback}.
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the event which will be passed to a listener.
+     * @param event The event to add to the batch.
+     * @param bc Function to delegate the batch to the specific callback method
+     *            of the listener.
+     * @throws IllegalArgumentException If any of the passed arguments is
+     *             <code>null</code>.
+     */
+    public <L extends Listener, E extends Event<?, L>> void dispatchBatched(E event,
+            BiConsumer<L, List<E>> bc) {
+        dispatchBatched(event, bc, this.exceptionHandler);
+    }
+
+    /**
+     * Adds the given event to the pending batch for the given listening method
+     * with explicit error handling. See
+     * {@link #dispatchBatched(Event, BiConsumer)} for further information.
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the event which will be passed to a listener.
+     * @param event The event to add to the batch.
+     * @param bc Function to delegate the batch to the specific callback method
+     *            of the listener.
+     * @param ec Callback to be notified when any of the listeners throws an
+     *            exception.
+     * @throws IllegalArgumentException If any of the passed arguments is
+     *             <code>null</code>.
+     */
+    public <L extends Listener, E extends Event<?, L>> void dispatchBatched(E event,
+            BiConsumer<L, List<E>> bc, ExceptionCallback ec) {
+        checkDispatchArgs(event, bc, ec);
+        if (this.closing || !canDispatch()) {
+            return;
+        }
+
+        final Class<L> listenerClass = event.getListenerClass();
+        final BatchKey key = new BatchKey(listenerClass, bc, ec);
+        PendingBatch<L, E> batch;
+        do {
+            @SuppressWarnings("unchecked")
+            final PendingBatch<L, E> pending = (PendingBatch<L, E>) this.batches
+                    .computeIfAbsent(key, k -> new PendingBatch<>(key, listenerClass,
+                            bc, ec));
+            batch = pending;
+        } while (!batch.add(event));
+
+        if (this.closing) {
+            // this provider started to shut down concurrently, so the batch
+            // might never be flushed otherwise
+            batch.flush();
+        }
+    }
+
+    /**
+     * Immediately schedules all pending batches for delivery, regardless of
+     * their size and linger time.
+     */
+    public void flush() {
+        this.batches.values().forEach(PendingBatch::flush);
+    }
+
+    private <L extends Listener, E extends Event<?, L>> void deliver(
+            PendingBatch<L, E> batch, List<E> events) {
+        final List<E> unhandled = new ArrayList<>(events.size());
+        for (final E event : events) {
+            if (!event.isHandled() && !dropIfExpired(event)) {
+                unhandled.add(event);
+            }
+        }
+        if (unhandled.isEmpty()) {
+            return;
+        }
+
+        final BatchEvent<L, E> batchEvent = new BatchEvent<>(this,
+                batch.listenerClass, Collections.unmodifiableList(unhandled));
+        final BiConsumer<L, BatchEvent<L, E>> delegate = (listener, event) ->
+                batch.bc.accept(listener, event.getEvents());
+
+        final Iterator<L> it = getListenerSource().get(batch.listenerClass).iterator();
+        while (it.hasNext() && checkInterrupt() && !batchEvent.isHandled()) {
+            final L listener = it.next();
+            notifySingle(listener, batchEvent, delegate, batch.ec);
+        }
+        this.deliveredBatches.increment();
+    }
+
+    @Override
+    public void setExecutorService(ExecutorService executor) {
+        super.setExecutorService(executor);
+        if (this.closing) {
+            this.timer = newLingerTimer();
+            this.closing = false;
+        }
+    }
+
+    @Override
+    public int drain(long timeout, TimeUnit unit) {
+        // no new batches are started from here on, so flushing catches all
+        this.closing = true;
+        this.timer.shutdownNow();
+        flush();
+        return super.drain(timeout, unit);
+    }
+
+    @Override
+    public void close() {
+        this.closing = true;
+        this.timer.shutdownNow();
+        super.close();
+        // discards the batches which have not been delivered by draining
+        flush();
+    }
+}
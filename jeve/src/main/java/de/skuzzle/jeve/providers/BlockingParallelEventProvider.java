@@ -5,11 +5,13 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import java.util.stream.Collectors;
 
+import de.skuzzle.jeve.BatchOrder;
 import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.ExceptionCallback;
 import de.skuzzle.jeve.Listener;
@@ -54,7 +56,7 @@ public class BlockingParallelEventProvider extends ParallelEventProvider {
             BiConsumer<L, E> bc, ExceptionCallback ec) {
 
         checkDispatchArgs(event, bc, ec);
-        if (!canDispatch()) {
+        if (!canDispatch() || event.isHandled()) {
             return;
         }
 
@@ -68,11 +70,13 @@ public class BlockingParallelEventProvider extends ParallelEventProvider {
         final CountDownLatch latch = new CountDownLatch(c.size());
         final Iterator<L> listeners = c.iterator();
 
-        while (listeners.hasNext() && checkInterrupt()) {
+        while (listeners.hasNext() && checkInterrupt() && !event.isHandled()) {
             final L listener = listeners.next();
-            final Future<?> future = this.executor.submit(() -> {
+            final Future<?> future = submit(event.getPriority(), () -> {
                 try {
-                    notifySingle(listener, event, bc, ec);
+                    if (!event.isHandled() && !dropIfExpired(event)) {
+                        notifySingle(listener, event, bc, ec);
+                    }
                 } finally {
                     // notifySingle might throw an AbortionException but
                     // countDown must happen anyway
@@ -82,6 +86,12 @@ public class BlockingParallelEventProvider extends ParallelEventProvider {
             futures.add(future);
         }
 
+        // release the latch for listeners which have been skipped
+        while (listeners.hasNext()) {
+            listeners.next();
+            latch.countDown();
+        }
+
         try {
             latch.await();
         } catch (final InterruptedException e) {
@@ -92,4 +102,30 @@ public class BlockingParallelEventProvider extends ParallelEventProvider {
             Thread.currentThread().interrupt();
         }
     }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc,
+            ExceptionCallback ec, BatchOrder order) {
+
+        checkDispatchAllArgs(events, bc, ec, order);
+        if (events.isEmpty() || !canDispatch()) {
+            return;
+        }
+
+        final List<Future<?>> futures = submitBatch(new ArrayList<>(events), bc, ec);
+        try {
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } catch (final InterruptedException e) {
+            LOGGER.error("Interrupted while waiting for listeners to be notified", e);
+            for (final Future<?> future : futures) {
+                future.cancel(true);
+            }
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            LOGGER.error("Error while waiting for listeners to be notified", e);
+        }
+    }
 }
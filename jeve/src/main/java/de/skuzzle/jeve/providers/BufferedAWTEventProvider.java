@@ -0,0 +1,296 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import javax.swing.SwingUtilities;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.skuzzle.jeve.BatchOrder;
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerSource;
+
+/**
+ * {@link AWTEventProvider} which buffers dispatched events instead of posting
+ * a runnable to the AWT event queue for each of them. Dispatched events are
+ * appended to a lock-free queue and a single drain task is scheduled using
+ * {@link SwingUtilities#invokeLater(Runnable)}. That task notifies the
+ * listeners of all buffered events at once. While the drain task is pending,
+ * further dispatch actions only append to the buffer. Thus, a burst of events
+ * from background threads occupies only a single slot within the AWT event
+ * queue and does not delay repainting.
+ *
+ * <p>
+ * The time which a single drain task spends within the AWT event thread can
+ * be limited using {@link #setDrainBudget(long, TimeUnit)}. If the budget is
+ * exceeded, the remaining events are delivered by a new drain task which is
+ * appended to the AWT event queue so that pending paint events are processed
+ * in between. The {@link #setSliceBudget(long, TimeUnit) slice budget} of the
+ * AWTEventProvider does not apply to this provider.
+ * </p>
+ *
+ * <p>
+ * Optionally, buffered events can be coalesced using a key function like
+ * with the {@link ConflatingEventProvider}: if an event is dispatched while
+ * another event with the same key and listener class is still buffered, the
+ * buffered event is replaced by the new one. Batches dispatched using
+ * {@link #dispatchAll(Collection, BiConsumer, ExceptionCallback, BatchOrder)
+ * dispatchAll} are never coalesced.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public class BufferedAWTEventProvider extends AWTEventProvider {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventProvider.class);
+
+    private static final class PendingEvent {
+        private final Runnable action;
+        private final Runnable onCoalesced;
+
+        private PendingEvent(Runnable action, Runnable onCoalesced) {
+            this.action = action;
+            this.onCoalesced = onCoalesced;
+        }
+    }
+
+    private final Function<? super Event<?, ?>, ?> keyFunction;
+    private final Queue<Runnable> buffer;
+    private final AtomicInteger bufferSize;
+    private final AtomicBoolean drainScheduled;
+    private final Map<ConflationKey, PendingEvent> coalescing;
+    private final LongAdder coalesced;
+    private final LongAdder scheduledDrains;
+    private volatile long drainBudgetNanos;
+
+    /**
+     * Creates a new BufferedAWTEventProvider which does not coalesce events.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     */
+    public BufferedAWTEventProvider(ListenerSource source) {
+        this(source, event -> null);
+    }
+
+    /**
+     * Creates a new BufferedAWTEventProvider which coalesces buffered events.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param keyFunction Function which determines the coalescing key of an
+     *            event. Events for which it returns <code>null</code> are never
+     *            coalesced.
+     */
+    public BufferedAWTEventProvider(ListenerSource source,
+            Function<? super Event<?, ?>, ?> keyFunction) {
+        super(source, false);
+        if (keyFunction == null) {
+            throw new IllegalArgumentException("keyFunction is null");
+        }
+        this.keyFunction = keyFunction;
+        this.buffer = new ConcurrentLinkedQueue<>();
+        this.bufferSize = new AtomicInteger();
+        this.drainScheduled = new AtomicBoolean();
+        this.coalescing = new ConcurrentHashMap<>();
+        this.coalesced = new LongAdder();
+        this.scheduledDrains = new LongAdder();
+        this.drainBudgetNanos = Long.MAX_VALUE;
+    }
+
+    /**
+     * Sets the maximum time which a single drain task may spend within the
+     * AWT event thread. The budget is checked after each event, so a single
+     * event with slow listeners can still exceed it.
+     *
+     * @param budget The budget. Pass a value &lt;= 0 to drain all buffered
+     *            events at once.
+     * @param unit The unit of the budget value.
+     */
+    public void setDrainBudget(long budget, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        this.drainBudgetNanos = budget <= 0
+                ? Long.MAX_VALUE
+                : unit.toNanos(budget);
+    }
+
+    /**
+     * Gets the number of events which are currently buffered and waiting to
+     * be delivered by the AWT event thread.
+     *
+     * @return The number of buffered events.
+     */
+    public int getBufferedCount() {
+        return this.bufferSize.get();
+    }
+
+    /**
+     * Gets the number of drain tasks which have been posted to the AWT event
+     * queue so far. Compared to the number of dispatched events this shows how
+     * many slots within the AWT event queue have been saved by buffering.
+     *
+     * @return The number of scheduled drain tasks.
+     */
+    public long getScheduledDrainCount() {
+        return this.scheduledDrains.sum();
+    }
+
+    /**
+     * Gets the number of buffered events which have been replaced by a more
+     * recent event with the same key before being delivered.
+     *
+     * @return The number of coalesced events.
+     */
+    public long getCoalescedCount() {
+        return this.coalesced.sum();
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatch(
+            E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        checkDispatchArgs(event, bc, ec);
+        enqueue(ConflationKey.of(event, this.keyFunction), new PendingEvent(
+                () -> notifyListeners(event, bc, ec), () -> {}));
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc,
+            ExceptionCallback ec, BatchOrder order) {
+
+        checkDispatchAllArgs(events, bc, ec, order);
+        if (events.isEmpty()) {
+            return;
+        }
+        final List<E> batch = new ArrayList<>(events);
+        append(() -> notifyBatch(batch, bc, ec, order));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * If this method is called from within the AWT event thread, all listeners
+     * are notified immediately and the returned future will already be
+     * completed. Otherwise, the event is buffered like with
+     * {@link #dispatch(Event, BiConsumer, ExceptionCallback) dispatch}. If the
+     * event is coalesced, the returned future is completed with a result which
+     * reports zero notified listeners.
+     * </p>
+     */
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        if (SwingUtilities.isEventDispatchThread()) {
+            return super.dispatchAsync(event, bc, ec);
+        }
+
+        checkDispatchArgs(event, bc, ec);
+        final DispatchResultCollector<L, E> collector =
+                new DispatchResultCollector<>(event, bc, ec);
+        final CompletableFuture<DispatchResult> result = new CompletableFuture<>();
+        final Runnable action = () -> {
+            try {
+                notifyListeners(event, collector, collector.getExceptionCallback());
+                result.complete(collector.toResult());
+            } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+                throw e;
+            }
+        };
+        enqueue(ConflationKey.of(event, this.keyFunction), new PendingEvent(action,
+                () -> result.complete(collector.toResult())));
+        return result;
+    }
+
+    private void enqueue(ConflationKey key, PendingEvent event) {
+        if (key == null) {
+            append(event.action);
+            return;
+        }
+
+        final PendingEvent previous = this.coalescing.put(key, event);
+        if (previous != null) {
+            // the buffer already holds a task for this key which will deliver
+            // the new event instead
+            this.coalesced.increment();
+            previous.onCoalesced.run();
+            return;
+        }
+        append(() -> {
+            final PendingEvent latest = this.coalescing.remove(key);
+            if (latest != null) {
+                latest.action.run();
+            }
+        });
+    }
+
+    private void append(Runnable action) {
+        this.buffer.add(action);
+        this.bufferSize.incrementAndGet();
+        if (this.drainScheduled.compareAndSet(false, true)) {
+            scheduleDrain();
+        }
+    }
+
+    private void scheduleDrain() {
+        this.scheduledDrains.increment();
+        SwingUtilities.invokeLater(this::drain);
+    }
+
+    private void drain() {
+        final long start = System.nanoTime();
+        final long budget = this.drainBudgetNanos;
+        while (true) {
+            final Runnable next = this.buffer.poll();
+            if (next == null) {
+                this.drainScheduled.set(false);
+                // an event might have been appended after the last poll but
+                // before the flag was reset
+                if (this.buffer.isEmpty()
+                        || !this.drainScheduled.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+
+            this.bufferSize.decrementAndGet();
+            try {
+                next.run();
+            } catch (final RuntimeException e) {
+                // the remaining events must not get lost
+                LOGGER.error("Unexpected exception while draining buffered events", e);
+            }
+
+            if (System.nanoTime() - start >= budget && !this.buffer.isEmpty()) {
+                // give pending paint events a chance; the flag remains set
+                scheduleDrain();
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A dedicated bounded executor for the listeners of a certain class. Used by
+ * the {@link BulkheadEventProvider} to prevent slow listeners from saturating
+ * the executor which is shared by all other listeners. A bulkhead runs at most
+ * {@link #getMaxConcurrency()} notifications at the same time and queues at
+ * most {@link #getQueueCapacity()} further notifications. Notifications which
+ * exceed this limit are rejected and counted.
+ *
+ * <p>
+ * Instances of this class are created by the BulkheadEventProvider and expose
+ * saturation metrics of the bulkhead.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public final class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrency;
+    private final int queueCapacity;
+    private final ThreadPoolExecutor executor;
+    private final TaskTracker tasks;
+    private final LongAdder rejected;
+
+    Bulkhead(String name, int maxConcurrency, int queueCapacity) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency <= 0");
+        } else if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity < 0");
+        }
+        this.name = name;
+        this.maxConcurrency = maxConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.tasks = new TaskTracker();
+        this.rejected = new LongAdder();
+
+        final BlockingQueue<Runnable> queue = queueCapacity == 0
+                ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(queueCapacity);
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(maxConcurrency, maxConcurrency,
+                60, TimeUnit.SECONDS, queue, runnable -> {
+                    final Thread thread = new Thread(runnable, "jeve-bulkhead-"
+                            + name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Submits the given task to this bulkhead. If the task is dropped because
+     * the bulkhead is shut down, its future is cancelled.
+     *
+     * @param task The task. If it already is a {@link RunnableFuture}, it is
+     *            returned itself.
+     * @return The future of the task or <code>null</code> if the task has been
+     *         rejected because the bulkhead is saturated.
+     */
+    Future<?> submit(Runnable task) {
+        final RunnableFuture<?> future = task instanceof RunnableFuture<?>
+                ? (RunnableFuture<?>) task
+                : new FutureTask<>(task, null);
+        try {
+            this.tasks.execute(this.executor, future);
+            return future;
+        } catch (final RejectedExecutionException e) {
+            this.rejected.increment();
+            return null;
+        }
+    }
+
+    int getPendingCount() {
+        return this.tasks.getPendingCount();
+    }
+
+    boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        return this.tasks.awaitIdle(timeout, unit);
+    }
+
+    int drain(long timeout, TimeUnit unit) {
+        return this.tasks.drain(this.executor, timeout, unit);
+    }
+
+    int shutdownNow() {
+        return this.tasks.discard(this.executor);
+    }
+
+    /**
+     * Gets the name of this bulkhead. The name is derived from the listener
+     * class for which this bulkhead has been created.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the maximum number of listeners which are notified concurrently.
+     *
+     * @return The maximum concurrency.
+     */
+    public int getMaxConcurrency() {
+        return this.maxConcurrency;
+    }
+
+    /**
+     * Gets the maximum number of notifications which are queued while all
+     * threads of this bulkhead are busy.
+     *
+     * @return The queue capacity.
+     */
+    public int getQueueCapacity() {
+        return this.queueCapacity;
+    }
+
+    /**
+     * Gets the approximate number of notifications which are currently
+     * running.
+     *
+     * @return The number of active notifications.
+     */
+    public int getActiveCount() {
+        return this.executor.getActiveCount();
+    }
+
+    /**
+     * Gets the number of notifications which are waiting for a free thread.
+     *
+     * @return The number of queued notifications.
+     */
+    public int getQueuedCount() {
+        return this.executor.getQueue().size();
+    }
+
+    /**
+     * Gets the approximate number of notifications which have been completed.
+     *
+     * @return The number of completed notifications.
+     */
+    public long getCompletedCount() {
+        return this.executor.getCompletedTaskCount();
+    }
+
+    /**
+     * Gets the number of notifications which have been rejected because this
+     * bulkhead was saturated.
+     *
+     * @return The number of rejected notifications.
+     */
+    public long getRejectedCount() {
+        return this.rejected.sum();
+    }
+
+    /**
+     * Gets the current saturation of this bulkhead, that is the number of
+     * running and queued notifications divided by the maximum number of
+     * notifications this bulkhead accepts. A value of <code>1.0</code> means
+     * that further notifications will be rejected.
+     *
+     * @return The saturation between <code>0.0</code> and <code>1.0</code>.
+     */
+    public double getSaturation() {
+        final double used = getActiveCount() + getQueuedCount();
+        return Math.min(1.0, used / (this.maxConcurrency + this.queueCapacity));
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Bulkhead[name=%s, active=%d/%d, queued=%d/%d, "
+                + "rejected=%d]", this.name, getActiveCount(), this.maxConcurrency,
+                getQueuedCount(), this.queueCapacity, getRejectedCount());
+    }
+}
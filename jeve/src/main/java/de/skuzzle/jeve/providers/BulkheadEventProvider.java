@@ -0,0 +1,297 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerSource;
+import de.skuzzle.jeve.Priority;
+
+/**
+ * Parallel EventProvider which isolates the notification of certain listener
+ * classes in dedicated {@link Bulkhead bulkheads}. Each bulkhead is a bounded
+ * executor which runs only notifications of its listener class, so a slow
+ * listener can only saturate its own bulkhead instead of starving all other
+ * event types which share the default executor.
+ *
+ * <pre>
+ * final BulkheadEventProvider provider = new BulkheadEventProvider(store);
+ * provider.addBulkhead(ReportListener.class, 2, 100);
+ * </pre>
+ *
+ * <p>
+ * A notification is routed to the bulkhead of the listener's concrete class
+ * if one exists, otherwise to the bulkhead of the event's
+ * {@link Event#getListenerClass() listener interface}. Notifications for which
+ * no bulkhead exists are executed by the default executor like with the
+ * {@link ParallelEventProvider}. If a bulkhead is saturated, further
+ * notifications are rejected and counted in the bulkhead's
+ * {@link Bulkhead#getRejectedCount() metrics}. Notifications which are
+ * executed by a bulkhead do not take part in {@link Priority priority}
+ * scheduling.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public class BulkheadEventProvider extends ParallelEventProvider {
+
+    private final Map<Class<?>, Bulkhead> bulkheads;
+
+    /**
+     * Creates a new BulkheadEventProvider which uses a cached thread pool as
+     * default executor.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     */
+    public BulkheadEventProvider(ListenerSource source) {
+        this(source, Executors.newCachedThreadPool());
+    }
+
+    /**
+     * Creates a new BulkheadEventProvider.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param executor The default executor for all notifications which are not
+     *            routed to a bulkhead.
+     */
+    public BulkheadEventProvider(ListenerSource source, ExecutorService executor) {
+        super(source, executor);
+        this.bulkheads = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Creates a bulkhead for the given listener class. The class may either be
+     * a listener interface or a concrete listener implementation.
+     *
+     * @param listenerClass The listener class.
+     * @param maxConcurrency The maximum number of listeners of that class
+     *            which are notified concurrently.
+     * @param queueCapacity The maximum number of notifications which are
+     *            queued while all threads of the bulkhead are busy.
+     * @return The created bulkhead.
+     * @throws IllegalArgumentException If a bulkhead for the given class
+     *             already exists or the limits are invalid.
+     */
+    public Bulkhead addBulkhead(Class<? extends Listener> listenerClass,
+            int maxConcurrency, int queueCapacity) {
+        if (listenerClass == null) {
+            throw new IllegalArgumentException("listenerClass is null");
+        }
+        final Bulkhead bulkhead = new Bulkhead(listenerClass.getSimpleName(),
+                maxConcurrency, queueCapacity);
+        if (this.bulkheads.putIfAbsent(listenerClass, bulkhead) != null) {
+            bulkhead.shutdownNow();
+            throw new IllegalArgumentException(String.format(
+                    "There already is a bulkhead for %s", listenerClass.getName()));
+        }
+        return bulkhead;
+    }
+
+    /**
+     * Gets the bulkhead for the given listener class.
+     *
+     * @param listenerClass The listener class.
+     * @return The bulkhead or an empty Optional if none exists for that class.
+     */
+    public Optional<Bulkhead> getBulkhead(Class<? extends Listener> listenerClass) {
+        return Optional.ofNullable(this.bulkheads.get(listenerClass));
+    }
+
+    /**
+     * Gets all bulkheads of this provider.
+     *
+     * @return Unmodifiable view of all bulkheads.
+     */
+    public Collection<Bulkhead> getBulkheads() {
+        return Collections.unmodifiableCollection(this.bulkheads.values());
+    }
+
+    private Bulkhead bulkheadFor(Listener listener, Class<?> listenerClass) {
+        if (this.bulkheads.isEmpty()) {
+            return null;
+        }
+        final Bulkhead bulkhead = this.bulkheads.get(listener.getClass());
+        return bulkhead == null
+                ? this.bulkheads.get(listenerClass)
+                : bulkhead;
+    }
+
+    private Future<?> route(Bulkhead bulkhead, Priority priority, Runnable task) {
+        if (bulkhead == null) {
+            return submit(priority, task);
+        }
+        final Future<?> future = bulkhead.submit(task);
+        if (future == null) {
+            LOGGER.warn("Notification rejected by saturated {}", bulkhead);
+        }
+        return future;
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatch(
+            E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        checkDispatchArgs(event, bc, ec);
+        if (!canDispatch()) {
+            return;
+        }
+
+        final Iterator<L> it = getListenerSource().get(event.getListenerClass())
+                .iterator();
+        while (it.hasNext() && checkInterrupt() && !event.isHandled()) {
+            final L listener = it.next();
+            route(bulkheadFor(listener, event.getListenerClass()), event.getPriority(),
+                    () -> {
+                        if (checkInterrupt() && !event.isHandled()
+                                && !dropIfExpired(event)) {
+                            notifySingle(listener, event, bc, ec);
+                        }
+                    });
+        }
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        checkDispatchArgs(event, bc, ec);
+        final DispatchResultCollector<L, E> collector =
+                new DispatchResultCollector<>(event, bc, ec);
+        if (!canDispatch()) {
+            return CompletableFuture.completedFuture(collector.toResult());
+        }
+
+        final ExceptionCallback collectingEc = collector.getExceptionCallback();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        final Iterator<L> it = getListenerSource().get(event.getListenerClass())
+                .iterator();
+        while (it.hasNext() && checkInterrupt() && !event.isHandled()) {
+            final L listener = it.next();
+            // the task completes its future even if it is dropped on close
+            final CompletableTask task = new CompletableTask(() -> {
+                if (checkInterrupt() && !event.isHandled() && !dropIfExpired(event)) {
+                    notifySingle(listener, event, collector, collectingEc);
+                }
+            });
+            final Future<?> submitted = route(
+                    bulkheadFor(listener, event.getListenerClass()),
+                    event.getPriority(), task);
+            if (submitted == null) {
+                task.skip();
+            }
+            futures.add(task.getResult());
+        }
+
+        return CompletableFuture
+                .allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+                .thenApply(nothing -> collector.toResult());
+    }
+
+    @Override
+    protected <L extends Listener, E extends Event<?, L>> List<Future<?>> submitBatch(
+            List<E> events, BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        final List<Future<?>> futures = new ArrayList<>();
+        for (final Map.Entry<Class<L>, List<E>> group : groupByListenerClass(
+                events).entrySet()) {
+            // expired events are dropped once for all listeners
+            final List<E> groupEvents = dropExpired(group.getValue());
+            if (groupEvents.isEmpty()) {
+                continue;
+            }
+            final Iterator<L> it = resolveListeners(group.getKey()).iterator();
+            while (it.hasNext() && checkInterrupt()) {
+                final L listener = it.next();
+                final Future<?> future = route(bulkheadFor(listener, group.getKey()),
+                        Priority.NORMAL, () -> {
+                            for (final E event : groupEvents) {
+                                if (!checkInterrupt()) {
+                                    return;
+                                } else if (event.isHandled()) {
+                                    continue;
+                                }
+                                notifySingle(listener, event, bc, ec);
+                            }
+                        });
+                if (future != null) {
+                    futures.add(future);
+                }
+            }
+        }
+        return futures;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * All bulkheads are drained as well. The timeout applies to the whole
+     * operation.
+     * </p>
+     */
+    @Override
+    public int drain(long timeout, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int dropped = super.drain(timeout, unit);
+        for (final Bulkhead bulkhead : this.bulkheads.values()) {
+            final long remaining = Math.max(0, deadline - System.nanoTime());
+            dropped += bulkhead.drain(remaining, TimeUnit.NANOSECONDS);
+        }
+        return dropped;
+    }
+
+    @Override
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!super.awaitIdle(timeout, unit)) {
+            return false;
+        }
+        for (final Bulkhead bulkhead : this.bulkheads.values()) {
+            final long remaining = Math.max(0, deadline - System.nanoTime());
+            if (!bulkhead.awaitIdle(remaining, TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getPendingCount() {
+        int pending = super.getPendingCount();
+        for (final Bulkhead bulkhead : this.bulkheads.values()) {
+            pending += bulkhead.getPendingCount();
+        }
+        return pending;
+    }
+
+    @Override
+    public void close() {
+        super.close();
+        this.bulkheads.values().forEach(Bulkhead::shutdownNow);
+    }
+}
@@ -0,0 +1,59 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Task which completes a {@link CompletableFuture} when it has been run. As
+ * the task is a {@link java.util.concurrent.Future Future} itself, the
+ * {@link PriorityLanes} and the {@link TaskTracker} cancel it when they drop
+ * it without running it. The CompletableFuture is then completed exceptionally
+ * with a {@link CancellationException}, so that nobody waits for it forever.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+final class CompletableTask extends FutureTask<Void> {
+
+    private final CompletableFuture<Void> result;
+
+    CompletableTask(Runnable task) {
+        super(task, null);
+        this.result = new CompletableFuture<>();
+    }
+
+    /**
+     * Gets the future which is completed when this task has been run, has
+     * failed or has been cancelled.
+     *
+     * @return The future.
+     */
+    CompletableFuture<Void> getResult() {
+        return this.result;
+    }
+
+    /**
+     * Completes this task normally without running it.
+     */
+    void skip() {
+        set(null);
+    }
+
+    @Override
+    protected void done() {
+        try {
+            get();
+            this.result.complete(null);
+        } catch (final CancellationException e) {
+            this.result.completeExceptionally(e);
+        } catch (final ExecutionException e) {
+            this.result.completeExceptionally(e.getCause());
+        } catch (final InterruptedException e) {
+            // can not happen as the task is done
+            Thread.currentThread().interrupt();
+            this.result.completeExceptionally(e);
+        }
+    }
+}
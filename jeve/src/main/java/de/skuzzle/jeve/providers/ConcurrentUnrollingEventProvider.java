@@ -0,0 +1,138 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import de.skuzzle.jeve.BatchOrder;
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerSource;
+
+/**
+ * Thread safe variant of the {@link UnrollingEventProvider}. Nested dispatch
+ * calls are queued and handled after the previous dispatch action finished,
+ * but the queue and the information whether a dispatch action is in progress
+ * are kept per thread. Thus, multiple threads can dispatch events concurrently
+ * and each of them unrolls its own nested events without any shared locks.
+ *
+ * <p>
+ * The queue of each thread is reused for all of its dispatch actions. A
+ * dispatch action which is not nested is passed to the listeners directly
+ * without being wrapped, so only nested dispatch actions cause allocations.
+ * </p>
+ *
+ * <p>
+ * The future returned by a nested call to
+ * {@link #dispatchAsync(Event, BiConsumer, ExceptionCallback) dispatchAsync} is
+ * completed once the queued dispatch action has been run by the thread which
+ * started it. If the outer dispatch action stops prematurely, because of an
+ * {@link de.skuzzle.jeve.AbortionException AbortionException} or because the
+ * thread has been interrupted, the queued dispatch actions of that thread are
+ * discarded and their futures are cancelled.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public class ConcurrentUnrollingEventProvider extends AbstractEventProvider {
+
+    private static final class UnrollState {
+        private final ArrayDeque<Runnable> queue = new ArrayDeque<>();
+        private boolean dispatchInProgress;
+    }
+
+    private final ThreadLocal<UnrollState> state;
+
+    /**
+     * Creates a new ConcurrentUnrollingEventProvider using the given source.
+     *
+     * @param source the source which supplies listeners to this provider.
+     */
+    public ConcurrentUnrollingEventProvider(ListenerSource source) {
+        super(source);
+        this.state = ThreadLocal.withInitial(UnrollState::new);
+    }
+
+    @Override
+    protected <L extends Listener, E extends Event<?, L>> void notifyListeners(
+            E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        final UnrollState current = this.state.get();
+        if (current.dispatchInProgress) {
+            current.queue.add(() -> super.notifyListeners(event, bc, ec));
+            return;
+        }
+
+        try {
+            current.dispatchInProgress = true;
+            super.notifyListeners(event, bc, ec);
+            runQueued(current);
+        } finally {
+            current.dispatchInProgress = false;
+            // nested events of an aborted dispatch must not leak into the next
+            // dispatch action of this thread
+            DeferredDispatch.abandon(current.queue);
+        }
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
+        final UnrollState current = this.state.get();
+        if (!current.dispatchInProgress) {
+            return super.dispatchAsync(event, bc, ec);
+        }
+
+        checkDispatchArgs(event, bc, ec);
+        final DeferredDispatch<L, E> deferred = new DeferredDispatch<>(event, bc, ec,
+                collector -> super.notifyListeners(event, collector,
+                        collector.getExceptionCallback()));
+        current.queue.add(deferred);
+        return deferred.getResult();
+    }
+
+    @Override
+    protected <L extends Listener, E extends Event<?, L>> void notifyBatch(
+            List<E> events, BiConsumer<L, E> bc, ExceptionCallback ec,
+            BatchOrder order) {
+
+        final UnrollState current = this.state.get();
+        if (current.dispatchInProgress) {
+            current.queue.add(() -> super.notifyBatch(events, bc, ec, order));
+            return;
+        }
+
+        try {
+            current.dispatchInProgress = true;
+            super.notifyBatch(events, bc, ec, order);
+            runQueued(current);
+        } finally {
+            current.dispatchInProgress = false;
+            // nested events of an aborted dispatch must not leak into the next
+            // dispatch action of this thread
+            DeferredDispatch.abandon(current.queue);
+        }
+    }
+
+    private void runQueued(UnrollState current) {
+        Runnable next;
+        while (checkInterrupt() && (next = current.queue.poll()) != null) {
+            next.run();
+        }
+    }
+
+    @Override
+    public boolean canDispatch() {
+        return true;
+    }
+
+    @Override
+    protected boolean isImplementationSequential() {
+        return true;
+    }
+}
@@ -0,0 +1,208 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerSource;
+
+/**
+ * Asynchronous EventProvider which conflates pending events. Each dispatched
+ * event is mapped to a coalescing key using a user supplied function. If an
+ * event is dispatched while another event with the same key and the same
+ * {@link Event#getListenerClass() listener class} is still waiting to be
+ * delivered, the pending event is replaced by the new one. Thus, listeners are
+ * notified about at most one event per key per drain cycle and always receive
+ * the latest one.
+ *
+ * <p>
+ * This is useful for high frequency state updates like progress or price
+ * changes where only the most recent value is of interest. Events for which
+ * the key function returns <code>null</code> are never conflated.
+ * </p>
+ *
+ * <p>
+ * If a pending event is replaced, the future returned by
+ * {@link #dispatchAsync(Event, BiConsumer, ExceptionCallback) dispatchAsync}
+ * for that event is completed with a result which reports zero notified
+ * listeners. Batches dispatched using
+ * {@link #dispatchAll(java.util.Collection, BiConsumer, ExceptionCallback,
+ * de.skuzzle.jeve.BatchOrder) dispatchAll} are never conflated.
+ * </p>
+ *
+ * <p>
+ * Conflated events do not take part in {@link Event#getPriority() priority}
+ * scheduling. Their priority is ignored.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public class ConflatingEventProvider extends AsynchronousEventProvider {
+
+    private static final class PendingEvent {
+        private final Runnable action;
+        private final Runnable onConflated;
+        private final Consumer<RuntimeException> onRejected;
+
+        private PendingEvent(Runnable action, Runnable onConflated,
+                Consumer<RuntimeException> onRejected) {
+            this.action = action;
+            this.onConflated = onConflated;
+            this.onRejected = onRejected;
+        }
+    }
+
+    private final Function<? super Event<?, ?>, ?> keyFunction;
+    private final Map<ConflationKey, PendingEvent> pending;
+    private final LongAdder conflated;
+
+    /**
+     * Creates a new ConflatingEventProvider which uses a single threaded
+     * {@link ExecutorService}.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param keyFunction Function which determines the coalescing key of an
+     *            event.
+     */
+    public ConflatingEventProvider(ListenerSource source,
+            Function<? super Event<?, ?>, ?> keyFunction) {
+        this(source, keyFunction, Executors.newFixedThreadPool(1));
+    }
+
+    /**
+     * Creates a new ConflatingEventProvider which uses the provided
+     * {@link ExecutorService} for event dispatching.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param keyFunction Function which determines the coalescing key of an
+     *            event.
+     * @param executor ExecutorService to use.
+     */
+    public ConflatingEventProvider(ListenerSource source,
+            Function<? super Event<?, ?>, ?> keyFunction, ExecutorService executor) {
+        super(source, executor);
+        if (keyFunction == null) {
+            throw new IllegalArgumentException("keyFunction is null");
+        }
+        this.keyFunction = keyFunction;
+        this.pending = new ConcurrentHashMap<>();
+        this.conflated = new LongAdder();
+    }
+
+    /**
+     * Gets the number of events which have been replaced by a more recent
+     * event with the same key before being delivered.
+     *
+     * @return The number of conflated events.
+     */
+    public long getConflatedCount() {
+        return this.conflated.sum();
+    }
+
+    /**
+     * Gets the number of distinct keys for which an event is currently waiting
+     * to be delivered.
+     *
+     * @return The number of pending keys.
+     */
+    public int getPendingKeyCount() {
+        return this.pending.size();
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatch(
+            E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        checkDispatchArgs(event, bc, ec);
+        final ConflationKey key = keyOf(event);
+        if (key == null) {
+            super.dispatch(event, bc, ec);
+        } else if (canDispatch()) {
+            enqueue(key, new PendingEvent(() -> {
+                if (!dropIfExpired(event)) {
+                    notifyListeners(event, bc, ec);
+                }
+            }, () -> {}, e -> {}));
+        }
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        checkDispatchArgs(event, bc, ec);
+        final ConflationKey key = keyOf(event);
+        if (key == null) {
+            return super.dispatchAsync(event, bc, ec);
+        }
+
+        final DispatchResultCollector<L, E> collector =
+                new DispatchResultCollector<>(event, bc, ec);
+        final CompletableFuture<DispatchResult> result = new CompletableFuture<>();
+        if (!canDispatch()) {
+            result.complete(collector.toResult());
+            return result;
+        }
+
+        final Runnable action = () -> {
+            try {
+                if (!dropIfExpired(event)) {
+                    notifyListeners(event, collector, collector.getExceptionCallback());
+                }
+                result.complete(collector.toResult());
+            } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+                throw e;
+            }
+        };
+        enqueue(key, new PendingEvent(action,
+                () -> result.complete(collector.toResult()),
+                result::completeExceptionally));
+        return result;
+    }
+
+    private ConflationKey keyOf(Event<?, ?> event) {
+        return ConflationKey.of(event, this.keyFunction);
+    }
+
+    private void enqueue(ConflationKey key, PendingEvent event) {
+        final PendingEvent previous = this.pending.put(key, event);
+        if (previous != null) {
+            // a task for this key is already scheduled and will deliver the
+            // new event instead
+            this.conflated.increment();
+            previous.onConflated.run();
+            return;
+        }
+        try {
+            execute(() -> {
+                final PendingEvent latest = this.pending.remove(key);
+                if (latest != null) {
+                    latest.action.run();
+                }
+            });
+        } catch (final RuntimeException e) {
+            // no task will deliver the pending event, which might already have
+            // replaced the given one
+            final PendingEvent latest = this.pending.remove(key);
+            if (latest != null) {
+                latest.onRejected.accept(e);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.function.Function;
+
+import de.skuzzle.jeve.Event;
+
+/**
+ * Identifies events which may replace each other while they are waiting to be
+ * delivered. Two events are conflated if they have the same
+ * {@link Event#getListenerClass() listener class} and the same coalescing key.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+final class ConflationKey {
+
+    private final Class<?> listenerClass;
+    private final Object key;
+
+    private ConflationKey(Class<?> listenerClass, Object key) {
+        this.listenerClass = listenerClass;
+        this.key = key;
+    }
+
+    /**
+     * Determines the conflation key of the given event.
+     *
+     * @param event The event.
+     * @param keyFunction Function which determines the coalescing key of an
+     *            event.
+     * @return The key or <code>null</code> if the event must not be
+     *         conflated.
+     */
+    static ConflationKey of(Event<?, ?> event,
+            Function<? super Event<?, ?>, ?> keyFunction) {
+        final Object key = keyFunction.apply(event);
+        return key == null
+                ? null
+                : new ConflationKey(event.getListenerClass(), key);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.listenerClass.hashCode() + this.key.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        } else if (!(obj instanceof ConflationKey)) {
+            return false;
+        }
+        final ConflationKey other = (ConflationKey) obj;
+        return this.listenerClass.equals(other.listenerClass)
+                && this.key.equals(other.key);
+    }
+}
@@ -0,0 +1,32 @@
+package de.skuzzle.jeve.providers;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.ExpirationCallback;
+
+/**
+ * Exposes methods for observing events which have been dropped by an
+ * {@link EventProvider} because their {@link Event#getDeadline() deadline}
+ * passed while they were waiting to be delivered. The deadline is checked when
+ * an event is taken from the queue, right before the listeners would be
+ * notified.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public interface DeadlineAware {
+
+    /**
+     * Sets the callback which is notified about every dropped event.
+     *
+     * @param callback The callback.
+     */
+    public void setExpirationCallback(ExpirationCallback callback);
+
+    /**
+     * Gets the number of events which have been dropped because they expired.
+     *
+     * @return The number of expired events.
+     */
+    public long getExpiredCount();
+}
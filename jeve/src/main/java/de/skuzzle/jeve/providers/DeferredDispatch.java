@@ -0,0 +1,75 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+
+/**
+ * An asynchronous dispatch action which has been queued by an unrolling
+ * provider because it was started from within a listener. The future is
+ * completed as soon as the queued action has been run.
+ *
+ * @author Simon Taddiken
+ * @param <L> Type of the listeners which will be notified.
+ * @param <E> Type of the event which will be passed to a listener.
+ * @since 4.0.0
+ */
+final class DeferredDispatch<L extends Listener, E extends Event<?, L>>
+        implements Runnable {
+
+    private final DispatchResultCollector<L, E> collector;
+    private final Consumer<DispatchResultCollector<L, E>> action;
+    private final CompletableFuture<DispatchResult> result;
+
+    /**
+     * Creates a new DeferredDispatch.
+     *
+     * @param event The event to dispatch.
+     * @param bc The listening method.
+     * @param ec The ExceptionCallback of the dispatch action.
+     * @param action Notifies the listeners using the given collector as
+     *            listening method and its ExceptionCallback.
+     */
+    DeferredDispatch(E event, BiConsumer<L, E> bc, ExceptionCallback ec,
+            Consumer<DispatchResultCollector<L, E>> action) {
+        this.collector = new DispatchResultCollector<>(event, bc, ec);
+        this.action = action;
+        this.result = new CompletableFuture<>();
+    }
+
+    /**
+     * Cancels all deferred dispatch actions within the given queue and clears
+     * it. Used when an unrolling provider abandons its queue.
+     *
+     * @param queue The queue.
+     */
+    static void abandon(Queue<Runnable> queue) {
+        for (final Runnable action : queue) {
+            if (action instanceof DeferredDispatch<?, ?>) {
+                ((DeferredDispatch<?, ?>) action).result.cancel(false);
+            }
+        }
+        queue.clear();
+    }
+
+    CompletableFuture<DispatchResult> getResult() {
+        return this.result;
+    }
+
+    @Override
+    public void run() {
+        try {
+            this.action.accept(this.collector);
+            this.result.complete(this.collector.toResult());
+        } catch (final RuntimeException e) {
+            this.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+}
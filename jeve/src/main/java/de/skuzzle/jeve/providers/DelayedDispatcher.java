@@ -0,0 +1,114 @@
+package de.skuzzle.jeve.providers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.function.BiConsumer;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+
+/**
+ * Exposes methods for dispatching events at a later point in time. When the
+ * scheduled time is reached, the event is dispatched as if
+ * {@link EventProvider#dispatch(Event, BiConsumer, ExceptionCallback)
+ * dispatch} was called at that time. Implementations manage pending dispatch
+ * actions in a timing wheel, so scheduling and cancelling is possible in
+ * constant time regardless of the number of pending actions. The timing
+ * resolution is about one millisecond.
+ *
+ * <p>
+ * Pending dispatch actions are discarded when the provider is closed or
+ * drained. Dispatch actions which are scheduled afterwards are never executed
+ * and the returned handle is already {@link ScheduledDispatch#isCancelled()
+ * cancelled}. Providers which are {@link ExecutorAware} accept delayed
+ * dispatch actions again as soon as a new executor has been set.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public interface DelayedDispatcher {
+
+    /**
+     * Dispatches the given event after the given delay has elapsed. Exceptions
+     * thrown by listeners are passed to the default {@link ExceptionCallback}.
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the event which will be passed to a listener.
+     * @param delay The delay after which the event is dispatched.
+     * @param event The event to dispatch.
+     * @param bc Function to delegate the event to the specific callback method
+     *            of the listener.
+     * @return Handle for cancelling the dispatch action.
+     * @throws IllegalArgumentException If any of the passed arguments is
+     *             <code>null</code>.
+     */
+    public <L extends Listener, E extends Event<?, L>> ScheduledDispatch dispatchAfter(
+            Duration delay, E event, BiConsumer<L, E> bc);
+
+    /**
+     * Dispatches the given event with explicit error handling after the given
+     * delay has elapsed.
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the event which will be passed to a listener.
+     * @param delay The delay after which the event is dispatched.
+     * @param event The event to dispatch.
+     * @param bc Function to delegate the event to the specific callback method
+     *            of the listener.
+     * @param ec Callback to be notified when any of the listeners throws an
+     *            exception.
+     * @return Handle for cancelling the dispatch action.
+     * @throws IllegalArgumentException If any of the passed arguments is
+     *             <code>null</code>.
+     */
+    public <L extends Listener, E extends Event<?, L>> ScheduledDispatch dispatchAfter(
+            Duration delay, E event, BiConsumer<L, E> bc, ExceptionCallback ec);
+
+    /**
+     * Dispatches the given event at the given point in time. If the time has
+     * already passed, the event is dispatched as soon as possible. Exceptions
+     * thrown by listeners are passed to the default {@link ExceptionCallback}.
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the event which will be passed to a listener.
+     * @param time The time at which the event is dispatched.
+     * @param event The event to dispatch.
+     * @param bc Function to delegate the event to the specific callback method
+     *            of the listener.
+     * @return Handle for cancelling the dispatch action.
+     * @throws IllegalArgumentException If any of the passed arguments is
+     *             <code>null</code>.
+     */
+    public <L extends Listener, E extends Event<?, L>> ScheduledDispatch dispatchAt(
+            Instant time, E event, BiConsumer<L, E> bc);
+
+    /**
+     * Dispatches the given event with explicit error handling at the given
+     * point in time.
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the event which will be passed to a listener.
+     * @param time The time at which the event is dispatched.
+     * @param event The event to dispatch.
+     * @param bc Function to delegate the event to the specific callback method
+     *            of the listener.
+     * @param ec Callback to be notified when any of the listeners throws an
+     *            exception.
+     * @return Handle for cancelling the dispatch action.
+     * @throws IllegalArgumentException If any of the passed arguments is
+     *             <code>null</code>.
+     */
+    public <L extends Listener, E extends Event<?, L>> ScheduledDispatch dispatchAt(
+            Instant time, E event, BiConsumer<L, E> bc, ExceptionCallback ec);
+
+    /**
+     * Gets the number of dispatch actions which are scheduled but have neither
+     * been dispatched nor cancelled yet.
+     *
+     * @return The number of scheduled dispatch actions.
+     */
+    public int getScheduledCount();
+}
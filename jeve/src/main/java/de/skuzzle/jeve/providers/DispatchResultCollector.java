@@ -0,0 +1,73 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.FailureCollector;
+import de.skuzzle.jeve.Listener;
+
+/**
+ * Wraps the listening method and ExceptionCallback of a single dispatch action
+ * in order to count notified listeners and to collect failed invocations. This
+ * class is thread safe, so it can be shared among all tasks of a parallel
+ * dispatch. Custom providers can use it to implement
+ * {@link de.skuzzle.jeve.EventProvider#dispatchAsync(Event, BiConsumer,
+ * ExceptionCallback) dispatchAsync}.
+ *
+ * @author Simon Taddiken
+ * @param <L> Type of the listeners which will be notified.
+ * @param <E> Type of the event which will be passed to a listener.
+ * @since 4.0.0
+ */
+public final class DispatchResultCollector<L extends Listener, E extends Event<?, L>>
+        implements BiConsumer<L, E> {
+
+    private final E event;
+    private final BiConsumer<L, E> delegate;
+    private final FailureCollector failures;
+    private final AtomicInteger listenerCount;
+
+    /**
+     * Creates a new DispatchResultCollector.
+     *
+     * @param event The event which is being dispatched.
+     * @param delegate The listening method to call on each listener.
+     * @param ec The callback which is notified about failed invocations.
+     */
+    public DispatchResultCollector(E event, BiConsumer<L, E> delegate,
+            ExceptionCallback ec) {
+        this.event = event;
+        this.delegate = delegate;
+        this.failures = FailureCollector.delegatingTo(ec);
+        this.listenerCount = new AtomicInteger();
+    }
+
+    @Override
+    public void accept(L listener, E e) {
+        this.listenerCount.incrementAndGet();
+        this.delegate.accept(listener, e);
+    }
+
+    /**
+     * Gets the ExceptionCallback which must be used for the dispatch action in
+     * order to collect the failed invocations.
+     *
+     * @return The collecting ExceptionCallback.
+     */
+    public ExceptionCallback getExceptionCallback() {
+        return this.failures;
+    }
+
+    /**
+     * Creates the result from the information that has been collected so far.
+     *
+     * @return The result.
+     */
+    public DispatchResult toResult() {
+        return new DispatchResult(this.event, this.listenerCount.get(),
+                this.failures.getFailedInvocations());
+    }
+}
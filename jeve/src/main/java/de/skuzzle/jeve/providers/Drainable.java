@@ -0,0 +1,61 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.concurrent.TimeUnit;
+
+import de.skuzzle.jeve.EventProvider;
+
+/**
+ * Exposes methods for gracefully shutting down an {@link EventProvider} which
+ * notifies listeners asynchronously. In contrast to {@link EventProvider#close()
+ * closing} a provider, which discards pending events, draining a provider
+ * finishes all pending events within a deadline.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public interface Drainable {
+
+    /**
+     * Stops accepting new dispatch actions and waits until all pending
+     * notifications have been finished or the timeout elapsed. Notifications
+     * which could not be started until then are dropped. After calling this
+     * method, the provider can not be used for dispatching anymore.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of the timeout.
+     * @return The number of pending notifications that have been dropped.
+     */
+    public int drain(long timeout, TimeUnit unit);
+
+    /**
+     * Blocks until there are no more pending notifications or the timeout
+     * elapsed. In contrast to {@link #drain(long, TimeUnit)}, the provider
+     * keeps accepting new dispatch actions.
+     *
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of the timeout.
+     * @return Whether the provider became idle before the timeout elapsed.
+     * @throws InterruptedException If the current thread is interrupted while
+     *             waiting.
+     */
+    public boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException;
+
+    /**
+     * Gets the number of notifications which have been scheduled but not yet
+     * finished.
+     *
+     * @return The number of pending notifications.
+     */
+    public int getPendingCount();
+
+    /**
+     * Configures {@link EventProvider#close()} to {@link #drain(long, TimeUnit)
+     * drain} the provider with the given timeout instead of discarding all
+     * pending events. In both cases, the number of dispatch actions which
+     * have been dropped on close is logged.
+     *
+     * @param timeout The maximum time to wait when closing the provider.
+     * @param unit The unit of the timeout.
+     */
+    public void setDrainOnClose(long timeout, TimeUnit unit);
+}
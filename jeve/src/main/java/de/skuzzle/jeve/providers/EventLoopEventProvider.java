@@ -0,0 +1,479 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.skuzzle.jeve.AbortionException;
+import de.skuzzle.jeve.BatchOrder;
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerSource;
+import de.skuzzle.jeve.invoke.EventInvocation;
+
+/**
+ * EventProvider which notifies all listeners within a single, dedicated event
+ * loop thread. Dispatched events are put into a lock-free queue which is
+ * drained by the loop thread. Each event is dispatched to all of its listeners
+ * before the next event is taken from the queue (<em>run-to-completion</em>).
+ * This also holds for events which are dispatched from within a listener: they
+ * are queued and dispatched after the current event has been completed.
+ *
+ * <p>
+ * Listeners should never block the loop thread. To detect listeners which
+ * take too long, a time budget can be set using
+ * {@link #setListenerBudget(long, TimeUnit)}. Each listener which exceeds the
+ * budget is reported to the {@link BudgetCallback} and counted in
+ * {@link #getBudgetExceededCount()}.
+ * </p>
+ *
+ * <p>
+ * The provider exposes the following measurements:
+ * </p>
+ * <ul>
+ * <li>{@link #getLoopLag(TimeUnit) loop lag}: How long the oldest pending
+ * event has already been waiting in the queue.</li>
+ * <li>{@link #getAverageQueueLatency(TimeUnit) queue latency}: The time between
+ * dispatching an event and the start of notifying its listeners.</li>
+ * </ul>
+ *
+ * <p>
+ * How the loop thread waits for new events while the queue is empty is
+ * determined by a {@link WaitStrategy}. Per default, the loop thread
+ * {@link WaitStrategies#blocking() blocks} until the next event arrives.
+ * </p>
+ *
+ * <p>
+ * When the provider is {@link #close() closed}, events which have already
+ * been queued are still dispatched by the loop thread before it terminates.
+ * Events which are dispatched after the provider has been closed, including
+ * those which are dispatched while the queue is drained, are discarded. The
+ * futures returned by {@link #dispatchAsync(Event, BiConsumer, ExceptionCallback)
+ * dispatchAsync} are completed with an empty result in that case.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public class EventLoopEventProvider extends AbstractEventProvider {
+
+    /**
+     * Callback which is notified when a listener exceeds the time budget of the
+     * event loop.
+     *
+     * @author Simon Taddiken
+     * @since 4.0.0
+     */
+    @FunctionalInterface
+    public interface BudgetCallback {
+
+        /**
+         * Called from within the event loop thread right after the given
+         * invocation took longer than the configured budget.
+         *
+         * @param invocation The invocation which exceeded the budget.
+         * @param durationNanos The time it took to notify the listener in
+         *            nanoseconds.
+         */
+        void budgetExceeded(EventInvocation invocation, long durationNanos);
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventProvider.class);
+
+    private static final long TERMINATION_TIMEOUT = 2000;
+
+    private static final Runnable NO_OP = () -> {};
+
+    private static final BudgetCallback LOG_BUDGET_EXCEEDED = (inv, nanos) ->
+            LOGGER.warn("Listener '{}' exceeded event loop budget ({} ms) for event {}",
+                    inv.getListener(), TimeUnit.NANOSECONDS.toMillis(nanos),
+                    inv.getEvent());
+
+    private static final class QueuedTask {
+        private final Runnable action;
+        private final Runnable discard;
+        private final long enqueued;
+
+        private QueuedTask(Runnable action, Runnable discard, long enqueued) {
+            this.action = action;
+            this.discard = discard;
+            this.enqueued = enqueued;
+        }
+    }
+
+    /** Multiple producers, single consumer queue of pending events. */
+    private final Queue<QueuedTask> queue;
+    private final Thread loopThread;
+    private final WaitStrategy waitStrategy;
+
+    private volatile boolean running;
+
+    private volatile long listenerBudgetNanos;
+    private volatile BudgetCallback budgetCallback;
+
+    private final LongAdder budgetExceeded;
+    private final LongAdder dispatchedEvents;
+    private final LongAdder totalQueueLatency;
+    private final AtomicLong maxQueueLatency;
+
+    /**
+     * Creates a new EventLoopEventProvider and starts its loop thread.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     */
+    public EventLoopEventProvider(ListenerSource source) {
+        this(source, WaitStrategies.blocking());
+    }
+
+    /**
+     * Creates a new EventLoopEventProvider which uses the given strategy for
+     * waiting on new events and starts its loop thread.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param waitStrategy Strategy for waiting on new events. The instance
+     *            must not be shared with other providers.
+     */
+    public EventLoopEventProvider(ListenerSource source, WaitStrategy waitStrategy) {
+        this(source, waitStrategy, runnable -> {
+            final Thread thread = new Thread(runnable, "jeve-event-loop");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Creates a new EventLoopEventProvider and starts its loop thread which is
+     * created by the given factory.
+     *
+     * @param source Responsible for storing and retrieving listeners of this
+     *            provider.
+     * @param waitStrategy Strategy for waiting on new events. The instance
+     *            must not be shared with other providers.
+     * @param threadFactory Factory for creating the loop thread.
+     */
+    public EventLoopEventProvider(ListenerSource source, WaitStrategy waitStrategy,
+            ThreadFactory threadFactory) {
+        super(source);
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("waitStrategy is null");
+        } else if (threadFactory == null) {
+            throw new IllegalArgumentException("threadFactory is null");
+        }
+
+        this.waitStrategy = waitStrategy;
+        this.queue = new ConcurrentLinkedQueue<>();
+        this.budgetExceeded = new LongAdder();
+        this.dispatchedEvents = new LongAdder();
+        this.totalQueueLatency = new LongAdder();
+        this.maxQueueLatency = new AtomicLong();
+        this.listenerBudgetNanos = Long.MAX_VALUE;
+        this.budgetCallback = LOG_BUDGET_EXCEEDED;
+        this.running = true;
+        this.loopThread = threadFactory.newThread(this::runLoop);
+        this.loopThread.start();
+    }
+
+    /**
+     * Sets the maximum time a single listener is expected to take. Listeners
+     * which take longer are reported to the {@link BudgetCallback}.
+     *
+     * @param budget The budget. Pass a value &lt;= 0 to disable budget checks.
+     * @param unit The unit of the budget value.
+     */
+    public void setListenerBudget(long budget, TimeUnit unit) {
+        if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        this.listenerBudgetNanos = budget <= 0
+                ? Long.MAX_VALUE
+                : unit.toNanos(budget);
+    }
+
+    /**
+     * Sets the callback which is notified about listeners which exceeded the
+     * {@link #setListenerBudget(long, TimeUnit) time budget}. The default
+     * callback logs a warning.
+     *
+     * @param callback The callback or <code>null</code> to use the default
+     *            callback.
+     */
+    public void setBudgetCallback(BudgetCallback callback) {
+        this.budgetCallback = callback == null
+                ? LOG_BUDGET_EXCEEDED
+                : callback;
+    }
+
+    /**
+     * Whether the current thread is this provider's event loop thread.
+     *
+     * @return Whether the current thread is the event loop.
+     */
+    public boolean inEventLoop() {
+        return Thread.currentThread() == this.loopThread;
+    }
+
+    /**
+     * Gets the number of events which are currently waiting to be dispatched.
+     * Note that this is no constant time operation.
+     *
+     * @return The number of pending events.
+     */
+    public int getQueueSize() {
+        return this.queue.size();
+    }
+
+    /**
+     * Gets the time for which the oldest pending event has been waiting in the
+     * queue. Returns 0 if the queue is empty.
+     *
+     * @param unit The unit of the result.
+     * @return The current loop lag.
+     */
+    public long getLoopLag(TimeUnit unit) {
+        final QueuedTask head = this.queue.peek();
+        if (head == null) {
+            return 0;
+        }
+        return unit.convert(System.nanoTime() - head.enqueued, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the average time between dispatching an event and the start of
+     * notifying its listeners.
+     *
+     * @param unit The unit of the result.
+     * @return The average queue latency.
+     */
+    public long getAverageQueueLatency(TimeUnit unit) {
+        final long count = this.dispatchedEvents.sum();
+        if (count == 0) {
+            return 0;
+        }
+        return unit.convert(this.totalQueueLatency.sum() / count,
+                TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the maximum time between dispatching an event and the start of
+     * notifying its listeners.
+     *
+     * @param unit The unit of the result.
+     * @return The maximum queue latency.
+     */
+    public long getMaxQueueLatency(TimeUnit unit) {
+        return unit.convert(this.maxQueueLatency.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the number of events that have been taken from the queue.
+     *
+     * @return The number of dispatched events.
+     */
+    public long getDispatchedCount() {
+        return this.dispatchedEvents.sum();
+    }
+
+    /**
+     * Gets the number of listener notifications which exceeded the
+     * {@link #setListenerBudget(long, TimeUnit) time budget}.
+     *
+     * @return The number of budget violations.
+     */
+    public long getBudgetExceededCount() {
+        return this.budgetExceeded.sum();
+    }
+
+    /**
+     * Resets all measurements of this provider.
+     */
+    public void resetStatistics() {
+        this.budgetExceeded.reset();
+        this.dispatchedEvents.reset();
+        this.totalQueueLatency.reset();
+        this.maxQueueLatency.set(0);
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatch(
+            E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        checkDispatchArgs(event, bc, ec);
+        if (canDispatch()) {
+            enqueue(() -> notifyListeners(event, bc, ec), NO_OP);
+        }
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        checkDispatchArgs(event, bc, ec);
+        final DispatchResultCollector<L, E> collector =
+                new DispatchResultCollector<>(event, bc, ec);
+        if (!canDispatch()) {
+            return CompletableFuture.completedFuture(collector.toResult());
+        }
+
+        final CompletableFuture<DispatchResult> result = new CompletableFuture<>();
+        enqueue(() -> {
+            try {
+                notifyListeners(event, collector, collector.getExceptionCallback());
+                result.complete(collector.toResult());
+            } catch (final RuntimeException e) {
+                result.completeExceptionally(e);
+                throw e;
+            }
+        }, () -> result.complete(collector.toResult()));
+        return result;
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc,
+            ExceptionCallback ec, BatchOrder order) {
+
+        checkDispatchAllArgs(events, bc, ec, order);
+        if (events.isEmpty() || !canDispatch()) {
+            return;
+        }
+
+        final List<E> batch = new ArrayList<>(events);
+        enqueue(() -> notifyBatch(batch, bc, ec, order), NO_OP);
+    }
+
+    private void enqueue(Runnable action, Runnable discard) {
+        final QueuedTask task = new QueuedTask(action, discard, System.nanoTime());
+        this.queue.offer(task);
+        if (!this.running && this.queue.remove(task)) {
+            // closed concurrently, the loop thread might already be gone
+            task.discard.run();
+            return;
+        }
+        this.waitStrategy.signal();
+    }
+
+    private void runLoop() {
+        while (this.running) {
+            final QueuedTask task = this.queue.poll();
+            if (task == null) {
+                // the thread might have been interrupted while idle
+                Thread.interrupted();
+                this.waitStrategy.await(this::workAvailable);
+                continue;
+            }
+            runTask(task);
+        }
+
+        // dispatch the events which have been queued before closing
+        QueuedTask task;
+        while ((task = this.queue.poll()) != null) {
+            runTask(task);
+        }
+    }
+
+    private boolean workAvailable() {
+        return !this.running || !this.queue.isEmpty();
+    }
+
+    private void runTask(QueuedTask task) {
+        final long latency = System.nanoTime() - task.enqueued;
+        this.dispatchedEvents.increment();
+        this.totalQueueLatency.add(latency);
+        this.maxQueueLatency.accumulateAndGet(latency, Math::max);
+
+        try {
+            task.action.run();
+        } catch (final AbortionException e) {
+            LOGGER.debug("Event delegation has been aborted within event loop", e);
+        } catch (final RuntimeException e) {
+            LOGGER.error("Unexpected exception within event loop", e);
+        } finally {
+            // an interrupt only concerns the current dispatch action. If left
+            // set, it would abort the next one and let the wait strategy
+            // return immediately
+            Thread.interrupted();
+        }
+    }
+
+    @Override
+    protected <L extends Listener, E extends Event<?, L>> void notifySingle(
+            L listener, E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        final long budget = this.listenerBudgetNanos;
+        if (budget == Long.MAX_VALUE) {
+            super.notifySingle(listener, event, bc, ec);
+            return;
+        }
+
+        final long start = System.nanoTime();
+        try {
+            super.notifySingle(listener, event, bc, ec);
+        } finally {
+            final long duration = System.nanoTime() - start;
+            if (duration > budget) {
+                // the invocation is only needed for reporting
+                this.budgetExceeded.increment();
+                reportBudgetExceeded(createInvocation(listener, event, bc, ec),
+                        duration);
+            }
+        }
+    }
+
+    private void reportBudgetExceeded(EventInvocation invocation, long duration) {
+        try {
+            this.budgetCallback.budgetExceeded(invocation, duration);
+        } catch (final RuntimeException e) {
+            LOGGER.error("BudgetCallback '{}' threw an exception", this.budgetCallback, e);
+        }
+    }
+
+    @Override
+    public boolean canDispatch() {
+        return this.running;
+    }
+
+    /**
+     * Stops accepting new events and waits until the loop thread has
+     * dispatched all events which have already been queued. If called from
+     * within the loop thread, this method returns immediately and the queue is
+     * drained after the current event has been dispatched.
+     */
+    @Override
+    public void close() {
+        super.close();
+        this.running = false;
+        this.waitStrategy.signal();
+        if (inEventLoop()) {
+            return;
+        }
+        try {
+            this.loopThread.join(TERMINATION_TIMEOUT);
+        } catch (final InterruptedException e) {
+            LOGGER.error("EventLoopEventProvider: Error while waiting for "
+                    + "termination of event loop", e);
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    protected boolean isImplementationSequential() {
+        return true;
+    }
+}
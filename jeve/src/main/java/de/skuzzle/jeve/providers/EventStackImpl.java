@@ -1,10 +1,11 @@
 package de.skuzzle.jeve.providers;
 
 import java.io.PrintStream;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.Consumer;
 
@@ -23,7 +24,12 @@ import de.skuzzle.jeve.SequentialEvent;
  * again. This allows queries such as which events are currently active.
  *
  * <p>
- * This class is thread safe.
+ * This class is thread safe. Each thread has its own stack, so all queries
+ * refer to the dispatch actions which are in progress within the calling
+ * thread. No locks are involved. Besides the events, each stack keeps a
+ * counter of active events per listener class and the oldest event which
+ * prevents each listener class, so that {@link #isActive(Class)} and
+ * {@link #preventDispatch(Class)} do not need to scan the stack.
  * </p>
  *
  * @author Simon Taddiken
@@ -33,23 +39,122 @@ class EventStackImpl implements EventStack {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EventStackImpl.class);
 
-    /**
-     * Contains the listener classes for which a dispatch action is currently
-     * active.
-     */
-    private final Deque<Event<?, ?>> stack;
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** Counts how many events which prevent a certain class are on the stack. */
+    private static final class Prevention {
+        private SequentialEvent<?, ?> oldest;
+        private int count;
+    }
+
+    /** The event stack of a single thread. */
+    private static final class Frame {
+        private Event<?, ?>[] events = new Event<?, ?>[INITIAL_CAPACITY];
+        private boolean[] unfrozenAt = new boolean[INITIAL_CAPACITY];
+        private int size;
+
+        // entries are kept when their count drops to 0 to avoid allocations
+        private final Map<Class<?>, int[]> active = new HashMap<>();
+        private final Map<Class<?>, Prevention> prevented = new HashMap<>();
+
+        /**
+         * Number of SequentialEvents on the stack whose prevented classes
+         * might still change because they were pushed without being attached
+         * to an event stack. These are not counted in the prevented map.
+         */
+        private int unfrozen;
+
+        private void push(Event<?, ?> event) {
+            if (this.size == this.events.length) {
+                this.events = Arrays.copyOf(this.events, this.size * 2);
+                this.unfrozenAt = Arrays.copyOf(this.unfrozenAt, this.size * 2);
+            }
+            this.active.computeIfAbsent(event.getListenerClass(),
+                    key -> new int[1])[0]++;
+
+            final boolean isUnfrozen = event instanceof SequentialEvent<?, ?>
+                    && !((SequentialEvent<?, ?>) event).getEventStack().isPresent();
+            this.unfrozenAt[this.size] = isUnfrozen;
+            this.events[this.size++] = event;
+
+            if (isUnfrozen) {
+                ++this.unfrozen;
+            } else if (event instanceof SequentialEvent<?, ?>) {
+                final SequentialEvent<?, ?> sequential = (SequentialEvent<?, ?>) event;
+                for (final Class<?> listenerClass : sequential.getPrevented()) {
+                    final Prevention prevention = this.prevented.computeIfAbsent(
+                            listenerClass, key -> new Prevention());
+                    if (prevention.count++ == 0) {
+                        prevention.oldest = sequential;
+                    }
+                }
+            }
+        }
+
+        private Event<?, ?> pop() {
+            if (this.size == 0) {
+                throw new NoSuchElementException();
+            }
+            final Event<?, ?> event = this.events[--this.size];
+            this.events[this.size] = null;
+            this.active.get(event.getListenerClass())[0]--;
+
+            if (this.unfrozenAt[this.size]) {
+                --this.unfrozen;
+            } else if (event instanceof SequentialEvent<?, ?>) {
+                final SequentialEvent<?, ?> sequential = (SequentialEvent<?, ?>) event;
+                for (final Class<?> listenerClass : sequential.getPrevented()) {
+                    final Prevention prevention = this.prevented.get(listenerClass);
+                    if (--prevention.count == 0) {
+                        prevention.oldest = null;
+                    }
+                }
+            }
+            return event;
+        }
+
+        private boolean isActive(Class<?> listenerClass) {
+            final int[] count = this.active.get(listenerClass);
+            return count != null && count[0] > 0;
+        }
+
+        private Optional<SequentialEvent<?, ?>> preventDispatch(Class<?> listenerClass) {
+            if (this.unfrozen > 0) {
+                return scanPrevented(listenerClass);
+            }
+            final Prevention prevention = this.prevented.get(listenerClass);
+            return prevention == null
+                    ? Optional.empty()
+                    : Optional.ofNullable(prevention.oldest);
+        }
+
+        private Optional<SequentialEvent<?, ?>> scanPrevented(Class<?> listenerClass) {
+            for (int i = 0; i < this.size; ++i) {
+                final Event<?, ?> event = this.events[i];
+                if (event instanceof SequentialEvent<?, ?>) {
+                    final SequentialEvent<?, ?> synchEvent = (SequentialEvent<?, ?>) event;
+                    if (synchEvent.getPrevented().contains(listenerClass)) {
+                        return Optional.of(synchEvent);
+                    }
+                }
+            }
+            return Optional.empty();
+        }
+    }
+
+    private final ThreadLocal<Frame> frames;
 
     /**
      * Creates a new EventStackImpl.
      */
     public EventStackImpl() {
-        this.stack = new LinkedList<>();
+        this.frames = ThreadLocal.withInitial(Frame::new);
     }
 
     @Override
     public void dumpStack() {
         LOGGER.debug("jeve event stack:");
-        if (this.stack.isEmpty()) {
+        if (this.frames.get().size == 0) {
             LOGGER.debug("\t<empty>");
             return;
         }
@@ -64,7 +169,7 @@ class EventStackImpl implements EventStack {
             throw new IllegalArgumentException("out is null");
         }
         out.println("jeve event stack:");
-        if (this.stack.isEmpty()) {
+        if (this.frames.get().size == 0) {
             out.println("\t<empty>");
             return;
         }
@@ -73,17 +178,18 @@ class EventStackImpl implements EventStack {
     }
 
     private void dumpInternal(Consumer<Event<?, ?>> c) {
-        synchronized (this.stack) {
-            final Iterator<Event<?, ?>> it = this.stack.iterator();
-            it.forEachRemaining(c);
+        final Frame frame = this.frames.get();
+        for (int i = frame.size - 1; i >= 0; --i) {
+            c.accept(frame.events[i]);
         }
     }
 
     @Override
     public Optional<Event<?, ?>> peek() {
-        return this.stack.isEmpty()
+        final Frame frame = this.frames.get();
+        return frame.size == 0
                 ? Optional.empty()
-                : Optional.of(this.stack.peek());
+                : Optional.of(frame.events[frame.size - 1]);
     }
 
     /**
@@ -97,9 +203,7 @@ class EventStackImpl implements EventStack {
      * @see #popEvent(Event)
      */
     public <L extends Listener> void pushEvent(Event<?, L> event) {
-        synchronized (this.stack) {
-            this.stack.push(event);
-        }
+        this.frames.get().push(event);
     }
 
     /**
@@ -112,13 +216,11 @@ class EventStackImpl implements EventStack {
      * @see #pushEvent(Event)
      */
     public <L extends Listener> void popEvent(Event<?, L> expected) {
-        synchronized (this.stack) {
-            final Event<?, ?> actual = this.stack.pop();
-            if (actual != expected) {
-                throw new IllegalStateException(String.format(
-                        "Unbalanced pop: expected '%s' but encountered '%s'",
-                        expected.getListenerClass(), actual));
-            }
+        final Event<?, ?> actual = this.frames.get().pop();
+        if (actual != expected) {
+            throw new IllegalStateException(String.format(
+                    "Unbalanced pop: expected '%s' but encountered '%s'",
+                    expected.getListenerClass(), actual));
         }
     }
 
@@ -129,18 +231,18 @@ class EventStackImpl implements EventStack {
 
     @Override
     public boolean isAnyActive(Collection<? extends Class<? extends Listener>> c) {
-        synchronized (this.stack) {
-            return this.stack.stream()
-                    .anyMatch(event -> c.contains(event.getListenerClass()));
+        final Frame frame = this.frames.get();
+        for (final Class<? extends Listener> listenerClass : c) {
+            if (frame.isActive(listenerClass)) {
+                return true;
+            }
         }
+        return false;
     }
 
     @Override
     public boolean isActive(Class<? extends Listener> listenerClass) {
-        synchronized (this.stack) {
-            return this.stack.stream()
-                    .anyMatch(event -> event.getListenerClass() == listenerClass);
-        }
+        return this.frames.get().isActive(listenerClass);
     }
 
     @Override
@@ -151,18 +253,6 @@ class EventStackImpl implements EventStack {
     @Override
     public Optional<SequentialEvent<?, ?>> preventDispatch(
             Class<? extends Listener> listenerClass) {
-        synchronized (this.stack) {
-            final Iterator<Event<?, ?>> it = this.stack.descendingIterator();
-            while (it.hasNext()) {
-                final Event<?, ?> event = it.next();
-                if (event instanceof SequentialEvent<?, ?>) {
-                    SequentialEvent<?, ?> synchEvent = (SequentialEvent<?, ?>) event;
-                    if (synchEvent.getPrevented().contains(listenerClass)) {
-                        return Optional.of(synchEvent);
-                    }
-                }
-            }
-            return Optional.empty();
-        }
+        return this.frames.get().preventDispatch(listenerClass);
     }
 }
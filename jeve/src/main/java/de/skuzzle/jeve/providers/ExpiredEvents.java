@@ -0,0 +1,55 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.ExpirationCallback;
+
+/**
+ * Counts and reports events which are dropped because they expired.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+final class ExpiredEvents {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventProvider.class);
+
+    private final LongAdder count = new LongAdder();
+    private volatile ExpirationCallback callback = event -> {};
+
+    void setCallback(ExpirationCallback callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("callback is null");
+        }
+        this.callback = callback;
+    }
+
+    long getCount() {
+        return this.count.sum();
+    }
+
+    /**
+     * Checks whether the given event is expired. If so, the event is counted
+     * and reported to the callback.
+     *
+     * @param event The event to check.
+     * @return Whether the event is expired and must not be delivered.
+     */
+    boolean drop(Event<?, ?> event) {
+        if (!event.isExpired()) {
+            return false;
+        }
+        this.count.increment();
+        try {
+            this.callback.expired(event);
+        } catch (final RuntimeException e) {
+            LOGGER.error("ExpirationCallback threw an exception", e);
+        }
+        return true;
+    }
+}
@@ -1,20 +1,28 @@
 package de.skuzzle.jeve.providers;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Future;
 import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import de.skuzzle.jeve.BatchOrder;
+import de.skuzzle.jeve.DispatchResult;
 import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.EventProvider;
 import de.skuzzle.jeve.ExceptionCallback;
 import de.skuzzle.jeve.Listener;
 import de.skuzzle.jeve.ListenerSource;
+import de.skuzzle.jeve.Priority;
 
 /**
  * EventProvider implementation which uses an {@link ExecutorService} to notify
@@ -22,6 +30,31 @@ import de.skuzzle.jeve.ListenerSource;
  * {@link #isSequential() not sequential}.
  *
  * <p>
+ * Tasks for notifying the listeners are kept in one lane per {@link Priority}
+ * before they are handed to the executor, so that events with a higher
+ * {@link Event#getPriority() priority} overtake pending events with a lower
+ * priority if the executor queues tasks. See {@link PriorityAware} for further
+ * information.
+ * </p>
+ *
+ * <p>
+ * The {@link Event#getDeadline() deadline} of an event is checked before each
+ * single listener is notified. Thus, the {@link DeadlineAware expiration
+ * count} of this provider refers to dropped notifications rather than to
+ * dropped events. The events of a {@link #dispatchAll(Collection, BiConsumer,
+ * ExceptionCallback, BatchOrder) batch} are checked only once before the
+ * batch is handed to the listeners, so each expired event of a batch is
+ * counted once.
+ * </p>
+ *
+ * <p>
+ * No further tasks are submitted once the event has been
+ * {@link Event#isHandled() handled}, and tasks which have already been
+ * submitted skip the notification. As listeners run concurrently, a listener
+ * may still be notified while another one marks the event as handled.
+ * </p>
+ *
+ * <p>
  * Instances of this class can be obtained using the static factory methods of
  * the {@link EventProvider} interface.
  * </p>
@@ -29,14 +62,9 @@ import de.skuzzle.jeve.ListenerSource;
  * @author Simon Taddiken
  * @since 1.1.0
  */
-public class ParallelEventProvider extends AbstractEventProvider
-        implements ExecutorAware {
+public class ParallelEventProvider extends AbstractExecutorAwareEventProvider {
 
     protected static final Logger LOGGER = LoggerFactory.getLogger(EventProvider.class);
-    private static final long TERMINATION_TIMEOUT = 2000;
-
-    /** The executor to use for parallel dispatch. */
-    protected ExecutorService executor;
 
     /**
      * Creates a new ParallelEventProvider using the provided store.
@@ -56,20 +84,12 @@ public class ParallelEventProvider extends AbstractEventProvider
      * @param executor The executor to use.
      */
     public ParallelEventProvider(ListenerSource source, ExecutorService executor) {
-        super(source);
-        if (executor == null) {
-            throw new IllegalArgumentException("executor is null");
-        }
-        this.executor = executor;
+        super(source, executor);
     }
 
     @Override
     public synchronized void setExecutorService(ExecutorService executor) {
-        if (executor == null) {
-            throw new IllegalArgumentException("executor is null");
-        }
-
-        this.executor = executor;
+        super.setExecutorService(executor);
     }
 
     @Override
@@ -88,10 +108,10 @@ public class ParallelEventProvider extends AbstractEventProvider
 
         final Stream<L> listeners = getListenerSource().get(event.getListenerClass());
         final Iterator<L> it = listeners.iterator();
-        while (it.hasNext() && checkInterrupt()) {
+        while (it.hasNext() && checkInterrupt() && !event.isHandled()) {
             final L listener = it.next();
-            this.executor.submit(() -> {
-                if (checkInterrupt()) {
+            submit(event.getPriority(), () -> {
+                if (checkInterrupt() && !event.isHandled() && !dropIfExpired(event)) {
                     notifySingle(listener, event, bc, ec);
                 }
             });
@@ -99,21 +119,96 @@ public class ParallelEventProvider extends AbstractEventProvider
     }
 
     @Override
-    public boolean canDispatch() {
-        return !this.executor.isShutdown() && !this.executor.isTerminated();
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        checkDispatchArgs(event, bc, ec);
+        final DispatchResultCollector<L, E> collector =
+                new DispatchResultCollector<>(event, bc, ec);
+        if (!canDispatch()) {
+            return CompletableFuture.completedFuture(collector.toResult());
+        }
+
+        final ExceptionCallback collectingEc = collector.getExceptionCallback();
+        final List<CompletableFuture<Void>> futures = new ArrayList<>();
+        final Stream<L> listeners = getListenerSource().get(event.getListenerClass());
+        final Iterator<L> it = listeners.iterator();
+        while (it.hasNext() && checkInterrupt() && !event.isHandled()) {
+            final L listener = it.next();
+            futures.add(executeAsync(event.getPriority(), () -> {
+                if (checkInterrupt() && !event.isHandled() && !dropIfExpired(event)) {
+                    notifySingle(listener, event, collector, collectingEc);
+                }
+            }));
+        }
+
+        return CompletableFuture
+                .allOf(futures.toArray(new CompletableFuture<?>[futures.size()]))
+                .thenApply(nothing -> collector.toResult());
     }
 
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * This provider submits one task per listener which delivers all events of
+     * the batch to that listener in the order of the collection. The
+     * {@link BatchOrder} parameter has thus no effect.
+     * </p>
+     */
     @Override
-    public void close() {
-        super.close();
-        this.executor.shutdownNow();
-        try {
-            this.executor.awaitTermination(TERMINATION_TIMEOUT, TimeUnit.MILLISECONDS);
-        } catch (final InterruptedException e) {
-            LOGGER.error("ParallelEventProvider: Error while waiting for termination "
-                + "of executor", e);
-            Thread.currentThread().interrupt();
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc,
+            ExceptionCallback ec, BatchOrder order) {
+
+        checkDispatchAllArgs(events, bc, ec, order);
+        if (events.isEmpty() || !canDispatch()) {
+            return;
+        }
+
+        submitBatch(new ArrayList<>(events), bc, ec);
+    }
+
+    /**
+     * Submits one task per listener which delivers all events of the given
+     * batch to that listener.
+     *
+     * @param <L> Type of the listeners which will be notified.
+     * @param <E> Type of the events which will be passed to a listener.
+     * @param events The events to deliver.
+     * @param bc The method of the listener to call.
+     * @param ec The callback which gets notified about exceptions.
+     * @return The futures of all submitted tasks.
+     * @since 4.0.0
+     */
+    protected <L extends Listener, E extends Event<?, L>> List<Future<?>> submitBatch(
+            List<E> events, BiConsumer<L, E> bc, ExceptionCallback ec) {
+
+        final List<Future<?>> futures = new ArrayList<>();
+        for (final Map.Entry<Class<L>, List<E>> group : groupByListenerClass(
+                events).entrySet()) {
+            // expired events are dropped once for all listeners
+            final List<E> groupEvents = dropExpired(group.getValue());
+            if (groupEvents.isEmpty()) {
+                continue;
+            }
+            final Iterator<L> it = resolveListeners(group.getKey()).iterator();
+            while (it.hasNext() && checkInterrupt()) {
+                final L listener = it.next();
+                futures.add(submit(() -> {
+                    for (final E event : groupEvents) {
+                        if (!checkInterrupt()) {
+                            return;
+                        } else if (event.isHandled()) {
+                            continue;
+                        }
+                        notifySingle(listener, event, bc, ec);
+                    }
+                }));
+            }
         }
+        return futures;
     }
 
     @Override
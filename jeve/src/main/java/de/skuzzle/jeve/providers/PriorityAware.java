@@ -0,0 +1,46 @@
+package de.skuzzle.jeve.providers;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.Priority;
+
+/**
+ * Exposes methods for configuring how an {@link EventProvider} which queues
+ * events before notifying listeners honors the {@link Event#getPriority()
+ * priority} of events. Such providers keep a small fixed number of lanes, one
+ * per {@link Priority}, so that important events overtake a backlog of less
+ * important events.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public interface PriorityAware {
+
+    /**
+     * Sets whether lanes are drained strictly by priority. In strict mode, a
+     * pending event is only delivered if no more important event is pending,
+     * which may starve less important events under constant load. Otherwise,
+     * lanes are drained weighted, so that less important events still make
+     * progress. Weighted draining is the default.
+     *
+     * @param strict Whether to drain strictly by priority.
+     */
+    public void setStrictPriority(boolean strict);
+
+    /**
+     * Whether lanes are drained strictly by priority.
+     *
+     * @return Whether lanes are drained strictly by priority.
+     * @see #setStrictPriority(boolean)
+     */
+    public boolean isStrictPriority();
+
+    /**
+     * Gets the number of dispatch actions with the given priority which are
+     * waiting to be started.
+     *
+     * @param priority The priority.
+     * @return The number of waiting dispatch actions.
+     */
+    public int getQueuedCount(Priority priority);
+}
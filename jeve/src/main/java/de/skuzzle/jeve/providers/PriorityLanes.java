@@ -0,0 +1,250 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RunnableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import de.skuzzle.jeve.Priority;
+
+/**
+ * Holds one queue per {@link Priority} in front of an executor. For each task
+ * which is put into a lane, a generic token is handed to the executor. When a
+ * token is run, it takes the next task from the lanes instead of running the
+ * task it has been created for. Thus, the executor still sees a plain FIFO
+ * sequence of tokens but important tasks overtake pending less important tasks.
+ *
+ * <p>
+ * In weighted mode, lanes are visited in a fixed cycle in which the
+ * {@link Priority#HIGH HIGH} lane is preferred {@value #HIGH_WEIGHT} times,
+ * the {@link Priority#NORMAL NORMAL} lane {@value #NORMAL_WEIGHT} times and
+ * the {@link Priority#LOW LOW} lane once. If the preferred lane is empty, the
+ * most important non empty lane is used. Thus, no lane is starved under
+ * constant load. In strict mode, the most important non empty lane is always
+ * used.
+ * </p>
+ *
+ * <p>
+ * Every task is claimed exactly once, either by the token which runs it or by
+ * its submitter if the executor rejected the token. If the task of a rejected
+ * token has already been claimed by another token, the task of that other
+ * token is run by the next token which finishes.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+final class PriorityLanes {
+
+    private static final int HIGH_WEIGHT = 4;
+    private static final int NORMAL_WEIGHT = 2;
+
+    /** Preferred lane for each slot of the weighted cycle. */
+    private static final int[] CYCLE;
+
+    static {
+        CYCLE = new int[HIGH_WEIGHT + NORMAL_WEIGHT + 1];
+        for (int i = 0; i < CYCLE.length; ++i) {
+            if (i < HIGH_WEIGHT) {
+                CYCLE[i] = Priority.HIGH.ordinal();
+            } else if (i < HIGH_WEIGHT + NORMAL_WEIGHT) {
+                CYCLE[i] = Priority.NORMAL.ordinal();
+            } else {
+                CYCLE[i] = Priority.LOW.ordinal();
+            }
+        }
+    }
+
+    /** A task within a lane. */
+    private static final class Entry {
+        private final Runnable task;
+        private final AtomicBoolean claimed;
+
+        private Entry(Runnable task) {
+            this.task = task;
+            this.claimed = new AtomicBoolean();
+        }
+
+        private boolean claim() {
+            return !this.claimed.get() && this.claimed.compareAndSet(false, true);
+        }
+    }
+
+    private final List<Queue<Entry>> lanes;
+    private final AtomicInteger slot;
+    /** Number of queued tasks for which no token will be run. */
+    private final AtomicInteger missingTokens;
+    private volatile boolean strict;
+    private volatile boolean cleared;
+
+    PriorityLanes() {
+        final int count = Priority.values().length;
+        this.lanes = new ArrayList<>(count);
+        for (int i = 0; i < count; ++i) {
+            this.lanes.add(new ConcurrentLinkedQueue<>());
+        }
+        this.slot = new AtomicInteger();
+        this.missingTokens = new AtomicInteger();
+    }
+
+    void setStrict(boolean strict) {
+        this.strict = strict;
+    }
+
+    boolean isStrict() {
+        return this.strict;
+    }
+
+    /**
+     * Gets the number of tasks which are waiting in the lane for the given
+     * priority.
+     *
+     * @param priority The priority.
+     * @return The number of waiting tasks.
+     */
+    int getQueuedCount(Priority priority) {
+        return this.lanes.get(laneOf(priority)).size();
+    }
+
+    /**
+     * Puts the given task into the lane for the given priority and hands a
+     * token to the given executor which will run the next task from the lanes.
+     * If the executor rejects the token, the exception is only rethrown if the
+     * task has not already been started by another token.
+     *
+     * @param priority The priority of the task. <code>null</code> is treated
+     *            as {@link Priority#NORMAL}.
+     * @param task The task.
+     * @param executor Receives the token.
+     */
+    void execute(Priority priority, Runnable task, Consumer<Runnable> executor) {
+        final Queue<Entry> lane = this.lanes.get(laneOf(priority));
+        final Entry entry = new Entry(task);
+        lane.add(entry);
+        try {
+            executor.accept(this::runNext);
+        } catch (final RuntimeException e) {
+            if (entry.claim()) {
+                // no token will be run for the task
+                lane.remove(entry);
+                throw e;
+            }
+            // another token took our task, so its own task lacks a token now
+            this.missingTokens.incrementAndGet();
+        }
+    }
+
+    /**
+     * Puts the given task into the lane for the given priority and hands a
+     * token to the given executor which will run the next task from the lanes.
+     *
+     * @param priority The priority of the task. <code>null</code> is treated
+     *            as {@link Priority#NORMAL}.
+     * @param task The task.
+     * @param executor Receives the token.
+     * @return Future which completes when the given task has been run. If the
+     *         task already is a {@link RunnableFuture}, it is returned itself.
+     */
+    Future<?> submit(Priority priority, Runnable task, Consumer<Runnable> executor) {
+        final RunnableFuture<?> future = task instanceof RunnableFuture<?>
+                ? (RunnableFuture<?>) task
+                : new FutureTask<>(task, null);
+        execute(priority, future, executor);
+        return future;
+    }
+
+    private static int laneOf(Priority priority) {
+        return priority == null
+                ? Priority.NORMAL.ordinal()
+                : priority.ordinal();
+    }
+
+    /**
+     * Removes all tasks from the lanes and cancels those which have been
+     * {@link #submit(Priority, Runnable, Consumer) submitted} or which are
+     * {@link Future futures} themselves. Tokens which
+     * are run afterwards do nothing. Used after the executor has been shut
+     * down.
+     *
+     * @return The number of removed tasks.
+     */
+    int clear() {
+        this.cleared = true;
+        int count = 0;
+        for (final Queue<Entry> lane : this.lanes) {
+            Entry entry;
+            while ((entry = lane.poll()) != null) {
+                if (!entry.claim()) {
+                    continue;
+                }
+                ++count;
+                if (entry.task instanceof Future<?>) {
+                    ((Future<?>) entry.task).cancel(false);
+                }
+            }
+        }
+        this.missingTokens.set(0);
+        return count;
+    }
+
+    private void runNext() {
+        runOne();
+
+        int missing;
+        while ((missing = this.missingTokens.get()) > 0) {
+            if (this.missingTokens.compareAndSet(missing, missing - 1)) {
+                runOne();
+            }
+        }
+    }
+
+    private void runOne() {
+        // Each token belongs to exactly one task which has been queued before
+        // the token was created, so there is always a task for us. It might
+        // only be invisible for a moment if another token concurrently took
+        // the task from a lane we already scanned.
+        Entry next;
+        while ((next = poll()) == null) {
+            if (this.cleared) {
+                return;
+            }
+            Thread.yield();
+        }
+        next.task.run();
+    }
+
+    private Entry poll() {
+        if (!this.strict) {
+            final int preferred = CYCLE[Math.floorMod(this.slot.getAndIncrement(),
+                    CYCLE.length)];
+            final Entry next = poll(this.lanes.get(preferred));
+            if (next != null) {
+                return next;
+            }
+        }
+        for (final Queue<Entry> lane : this.lanes) {
+            final Entry next = poll(lane);
+            if (next != null) {
+                return next;
+            }
+        }
+        return null;
+    }
+
+    private static Entry poll(Queue<Entry> lane) {
+        Entry next;
+        while ((next = lane.poll()) != null) {
+            // skip tasks which have been claimed by their rejected submitter
+            if (next.claim()) {
+                return next;
+            }
+        }
+        return null;
+    }
+}
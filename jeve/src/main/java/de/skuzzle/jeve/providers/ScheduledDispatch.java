@@ -0,0 +1,34 @@
+package de.skuzzle.jeve.providers;
+
+/**
+ * Handle to a dispatch action which has been scheduled for later execution
+ * using a {@link DelayedDispatcher}.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public interface ScheduledDispatch {
+
+    /**
+     * Cancels the scheduled dispatch action. Has no effect if the action has
+     * already been dispatched or cancelled.
+     *
+     * @return Whether the action has been cancelled by this call.
+     */
+    public boolean cancel();
+
+    /**
+     * Whether the scheduled dispatch action has been cancelled.
+     *
+     * @return Whether it has been cancelled.
+     */
+    public boolean isCancelled();
+
+    /**
+     * Whether the scheduled time has been reached and the event has been
+     * handed to the provider for dispatching.
+     *
+     * @return Whether the event has been dispatched.
+     */
+    public boolean isDispatched();
+}
@@ -1,9 +1,12 @@
 package de.skuzzle.jeve.providers;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.stream.Stream;
 
+import de.skuzzle.jeve.BatchOrder;
 import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.EventProvider;
 import de.skuzzle.jeve.EventStack;
@@ -79,7 +82,8 @@ public class SequentialEventProvider extends AbstractEventProvider {
     @Override
     protected <L extends Listener, E extends Event<?, L>> void notifyListeners(
             E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
-        if (EventStackHelper.checkPrevent(this.eventStack, event, bc, ec)) {
+        if (event.isHandled()
+                || EventStackHelper.checkPrevent(this.eventStack, event, bc, ec)) {
             return;
         }
 
@@ -92,7 +96,7 @@ public class SequentialEventProvider extends AbstractEventProvider {
             }
             this.eventStack.pushEvent(event);
             final Iterator<L> it = listeners.iterator();
-            while (it.hasNext() && checkInterrupt()) {
+            while (it.hasNext() && checkInterrupt() && !event.isHandled()) {
                 final L listener = it.next();
                 notifySingle(listener, event, bc, ec);
             }
@@ -102,9 +106,40 @@ public class SequentialEventProvider extends AbstractEventProvider {
         return;
     }
 
+    @Override
+    protected <L extends Listener, E extends Event<?, L>> void notifyBatch(
+            List<E> events, BiConsumer<L, E> bc, ExceptionCallback ec,
+            BatchOrder order) {
+
+        final List<E> accepted = new ArrayList<>(events.size());
+        for (final E event : events) {
+            if (EventStackHelper.checkPrevent(this.eventStack, event, bc, ec)) {
+                continue;
+            }
+            if (event instanceof SequentialEvent<?, ?>) {
+                ((SequentialEvent<?, ?>) event).setEventStack(this.eventStack);
+            }
+            accepted.add(event);
+        }
+
+        super.notifyBatch(accepted, bc, ec, order);
+    }
+
+    @Override
+    protected <L extends Listener, E extends Event<?, L>> void notifyEventOfBatch(
+            L listener, E event, BiConsumer<L, E> bc, ExceptionCallback ec) {
+        try {
+            this.eventStack.pushEvent(event);
+            notifySingle(listener, event, bc, ec);
+        } finally {
+            this.eventStack.popEvent(event);
+        }
+    }
+
     /**
      * Gets the current event stack. It holds information about nested
-     * dispatches in progress.
+     * dispatches in progress. Each thread sees only the dispatch actions which
+     * it performs itself.
      *
      * @return The event stack.
      */
@@ -1,17 +1,23 @@
 package de.skuzzle.jeve.providers;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 
+import de.skuzzle.jeve.BatchOrder;
 import de.skuzzle.jeve.DefaultDispatchable;
+import de.skuzzle.jeve.DispatchResult;
 import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.EventProvider;
 import de.skuzzle.jeve.ExceptionCallback;
 import de.skuzzle.jeve.Listener;
 import de.skuzzle.jeve.ListenerSource;
 import de.skuzzle.jeve.invoke.EventInvocationFactory;
+import de.skuzzle.jeve.invoke.InvocationInterceptor;
 
 /**
  * EventProvider which delegates all method calls to a wrapped instance and
@@ -90,6 +96,11 @@ public class StatisticsEventProvider<P extends EventProvider>
         this.wrapped.setInterruptAware(interruptAware);
     }
 
+    @Override
+    public boolean isInterruptAware() {
+        return this.wrapped.isInterruptAware();
+    }
+
     @Override
     public <L extends Listener, E extends Event<?, L>> void dispatch(E event,
             BiConsumer<L, E> bc, ExceptionCallback ec) {
@@ -101,6 +112,57 @@ public class StatisticsEventProvider<P extends EventProvider>
         this.wrapped.dispatch(event, bc, ec);
     }
 
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc) {
+        if (event == null) {
+            throw new IllegalArgumentException("event is null");
+        }
+
+        increment(this.notifications, event.getListenerClass());
+        return this.wrapped.dispatchAsync(event, bc);
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
+        if (event == null) {
+            throw new IllegalArgumentException("event is null");
+        }
+
+        increment(this.notifications, event.getListenerClass());
+        return this.wrapped.dispatchAsync(event, bc, ec);
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc) {
+        countBatch(events);
+        this.wrapped.dispatchAll(events, bc);
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>> void dispatchAll(
+            Collection<? extends E> events, BiConsumer<L, E> bc,
+            ExceptionCallback ec, BatchOrder order) {
+        countBatch(events);
+        this.wrapped.dispatchAll(events, bc, ec, order);
+    }
+
+    private void countBatch(Collection<? extends Event<?, ?>> events) {
+        if (events == null) {
+            throw new IllegalArgumentException("events is null");
+        }
+        events.forEach(event -> {
+            if (event == null) {
+                throw new IllegalArgumentException("events contains null");
+            }
+            increment(this.notifications, event.getListenerClass());
+        });
+    }
+
     @Override
     public void dispatch(DefaultDispatchable event) {
         this.wrapped.dispatch(event);
@@ -127,6 +189,12 @@ public class StatisticsEventProvider<P extends EventProvider>
         this.wrapped.setInvocationFactory(factory);
     }
 
+    @Override
+    public void setInvocationInterceptors(
+            List<? extends InvocationInterceptor> interceptors) {
+        this.wrapped.setInvocationInterceptors(interceptors);
+    }
+
     @Override
     public boolean isSequential() {
         return this.wrapped.isSequential();
@@ -0,0 +1,166 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.skuzzle.jeve.EventProvider;
+
+/**
+ * Keeps track of the tasks which have been submitted to an executor but have
+ * not yet been finished. Used to implement {@link Drainable}.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+final class TaskTracker {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventProvider.class);
+
+    private final AtomicInteger pending;
+    private final Object idleMonitor;
+
+    TaskTracker() {
+        this.pending = new AtomicInteger();
+        this.idleMonitor = new Object();
+    }
+
+    /**
+     * Submits the given task to the given executor and tracks its completion.
+     *
+     * @param executor The executor.
+     * @param task The task to execute.
+     * @return The future returned by the executor.
+     */
+    Future<?> submit(ExecutorService executor, Runnable task) {
+        this.pending.incrementAndGet();
+        try {
+            return executor.submit(track(task));
+        } catch (final RejectedExecutionException e) {
+            finished(1);
+            throw e;
+        }
+    }
+
+    /**
+     * Executes the given task on the given executor and tracks its completion.
+     *
+     * @param executor The executor.
+     * @param task The task to execute.
+     */
+    void execute(Executor executor, Runnable task) {
+        this.pending.incrementAndGet();
+        try {
+            executor.execute(track(task));
+        } catch (final RejectedExecutionException e) {
+            finished(1);
+            throw e;
+        }
+    }
+
+    private Runnable track(Runnable task) {
+        return new TrackedTask(task);
+    }
+
+    /** Wrapper which reports the completion of a task. */
+    private final class TrackedTask implements Runnable {
+        private final Runnable task;
+
+        private TrackedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            try {
+                this.task.run();
+            } finally {
+                finished(1);
+            }
+        }
+    }
+
+    private void finished(int count) {
+        if (this.pending.addAndGet(-count) <= 0) {
+            synchronized (this.idleMonitor) {
+                this.idleMonitor.notifyAll();
+            }
+        }
+    }
+
+    int getPendingCount() {
+        return this.pending.get();
+    }
+
+    boolean awaitIdle(long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this.idleMonitor) {
+            while (this.pending.get() > 0) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this.idleMonitor, remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Shuts down the given executor immediately. All tasks which have not been
+     * started are dropped and no longer counted as pending. Dropped tasks
+     * which are {@link Future futures} are cancelled.
+     *
+     * @param executor The executor to shut down.
+     * @return The number of dropped tasks.
+     */
+    int discard(ExecutorService executor) {
+        final List<Runnable> dropped = executor.shutdownNow();
+        for (final Runnable runnable : dropped) {
+            final Runnable task = runnable instanceof TrackedTask
+                    ? ((TrackedTask) runnable).task
+                    : runnable;
+            if (task instanceof Future<?>) {
+                ((Future<?>) task).cancel(false);
+            }
+        }
+        finished(dropped.size());
+        return dropped.size();
+    }
+
+    /**
+     * Shuts down the given executor and waits for all pending tasks to finish.
+     * If the timeout elapses, all tasks which have not been started are
+     * dropped.
+     *
+     * @param executor The executor to shut down.
+     * @param timeout The maximum time to wait.
+     * @param unit The unit of the timeout.
+     * @return The number of dropped tasks.
+     */
+    int drain(ExecutorService executor, long timeout, TimeUnit unit) {
+        executor.shutdown();
+        try {
+            if (executor.awaitTermination(timeout, unit)) {
+                return 0;
+            }
+        } catch (final InterruptedException e) {
+            LOGGER.error("Interrupted while draining executor", e);
+            Thread.currentThread().interrupt();
+        }
+
+        final int dropped = discard(executor);
+        if (dropped > 0) {
+            LOGGER.warn("Dropped {} pending notifications after draining timeout "
+                    + "elapsed", dropped);
+        }
+        return dropped;
+    }
+}
@@ -0,0 +1,457 @@
+package de.skuzzle.jeve.providers;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import de.skuzzle.jeve.EventProvider;
+
+/**
+ * Hashed hierarchical timing wheel which executes tasks after a delay.
+ * Scheduling and cancelling a task takes constant time. Tasks are executed by a
+ * single worker thread which is started with the first scheduled task, so
+ * tasks must be short and should only hand off the actual work, e.g. to an
+ * executor.
+ *
+ * <p>
+ * The wheel consists of {@value #LEVELS} levels with {@value #WHEEL_SIZE}
+ * buckets each. A bucket of the lowest level covers a single tick. Each bucket
+ * of a higher level covers a whole revolution of the level below. Tasks with a
+ * far deadline are put into a higher level and cascade down into the lower
+ * levels while their deadline approaches. Inserts and cancellations are
+ * handed to the worker thread via lock free queues, so the buckets are only
+ * ever touched by the worker.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+final class TimingWheel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventProvider.class);
+
+    private static final int WHEEL_BITS = 9;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_TICKS = (1L << (WHEEL_BITS * LEVELS)) - 1;
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    final class Timeout implements ScheduledDispatch {
+        private final Runnable task;
+        private final long deadline;
+        private long deadlineTick;
+
+        volatile int state;
+
+        // only accessed by the worker thread
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(Runnable task, long deadline) {
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            TimingWheel.this.scheduled.decrementAndGet();
+            TimingWheel.this.cancellations.add(this);
+            return true;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.state == CANCELLED;
+        }
+
+        @Override
+        public boolean isDispatched() {
+            return this.state == EXPIRED;
+        }
+
+        private boolean discard() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            TimingWheel.this.scheduled.decrementAndGet();
+            return true;
+        }
+
+        private void expire() {
+            if (!STATE.compareAndSet(this, PENDING, EXPIRED)) {
+                return;
+            }
+            TimingWheel.this.scheduled.decrementAndGet();
+            try {
+                this.task.run();
+            } catch (final RuntimeException e) {
+                LOGGER.error("Error while executing scheduled task", e);
+            }
+        }
+    }
+
+    private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+            AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+    /** Doubly linked list of timeouts which allows removal in constant time. */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.prev = this.tail;
+            timeout.next = null;
+            if (this.tail == null) {
+                this.head = timeout;
+            } else {
+                this.tail.next = timeout;
+            }
+            this.tail = timeout;
+        }
+
+        private void remove(Timeout timeout) {
+            if (timeout.prev == null) {
+                this.head = timeout.next;
+            } else {
+                timeout.prev.next = timeout.next;
+            }
+            if (timeout.next == null) {
+                this.tail = timeout.prev;
+            } else {
+                timeout.next.prev = timeout.prev;
+            }
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        private Timeout clear() {
+            final Timeout first = this.head;
+            this.head = null;
+            this.tail = null;
+            return first;
+        }
+    }
+
+    private final String name;
+    private final long tickNanos;
+    private final Bucket[][] wheel;
+    private final Queue<Timeout> inserts;
+    private final Queue<Timeout> cancellations;
+    private final AtomicInteger scheduled;
+
+    private final Object lifecycle;
+    private Thread worker;
+    private volatile boolean running;
+    private volatile boolean stopped;
+    private volatile boolean idle;
+    private volatile int discarded;
+
+    // only accessed by the worker thread
+    private long startTime;
+    private long currentTick;
+    private int size;
+
+    /**
+     * Creates a new TimingWheel with a resolution of one millisecond.
+     *
+     * @param name Name of the worker thread.
+     */
+    TimingWheel(String name) {
+        this(name, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    /**
+     * Creates a new TimingWheel.
+     *
+     * @param name Name of the worker thread.
+     * @param tickNanos Duration of a single tick in nano seconds.
+     */
+    TimingWheel(String name, long tickNanos) {
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tickNanos <= 0");
+        }
+        this.name = name;
+        this.tickNanos = tickNanos;
+        this.wheel = new Bucket[LEVELS][WHEEL_SIZE];
+        for (final Bucket[] level : this.wheel) {
+            for (int i = 0; i < level.length; ++i) {
+                level[i] = new Bucket();
+            }
+        }
+        this.inserts = new ConcurrentLinkedQueue<>();
+        this.cancellations = new ConcurrentLinkedQueue<>();
+        this.scheduled = new AtomicInteger();
+        this.lifecycle = new Object();
+    }
+
+    /**
+     * Schedules the given task to be executed after the given delay. If this
+     * wheel has already been stopped, the returned handle is already
+     * cancelled.
+     *
+     * @param delay The delay.
+     * @param unit The unit of the delay.
+     * @param task The task to execute.
+     * @return Handle for cancelling the task.
+     */
+    ScheduledDispatch schedule(long delay, TimeUnit unit, Runnable task) {
+        final long delayNanos = Math.min(Math.max(0, unit.toNanos(delay)),
+                Long.MAX_VALUE / 4);
+        final Timeout timeout = new Timeout(task, System.nanoTime() + delayNanos);
+        if (!start()) {
+            timeout.state = CANCELLED;
+            return timeout;
+        }
+        this.scheduled.incrementAndGet();
+        this.inserts.add(timeout);
+        if (this.stopped) {
+            // the worker might have already discarded the pending timeouts
+            timeout.discard();
+            return timeout;
+        } else if (this.idle) {
+            LockSupport.unpark(this.worker);
+        }
+        return timeout;
+    }
+
+    /**
+     * Schedules the given task to be executed after the given delay.
+     *
+     * @param delay The delay.
+     * @param task The task to execute.
+     * @return Handle for cancelling the task.
+     * @see #schedule(long, TimeUnit, Runnable)
+     */
+    ScheduledDispatch schedule(Duration delay, Runnable task) {
+        long nanos;
+        try {
+            nanos = delay.toNanos();
+        } catch (final ArithmeticException e) {
+            nanos = delay.isNegative()
+                    ? 0
+                    : Long.MAX_VALUE;
+        }
+        return schedule(nanos, TimeUnit.NANOSECONDS, task);
+    }
+
+    /**
+     * Gets the number of tasks which are scheduled but have neither been
+     * executed nor cancelled yet.
+     *
+     * @return The number of pending tasks.
+     */
+    int getScheduledCount() {
+        return this.scheduled.get();
+    }
+
+    /**
+     * Whether this timing wheel has been {@link #stop() stopped}. A stopped
+     * timing wheel can not be started again.
+     *
+     * @return Whether this timing wheel has been stopped.
+     */
+    boolean isStopped() {
+        return this.stopped;
+    }
+
+    private boolean start() {
+        if (this.running) {
+            return true;
+        }
+        synchronized (this.lifecycle) {
+            if (this.stopped) {
+                return false;
+            } else if (!this.running) {
+                this.startTime = System.nanoTime();
+                this.worker = new Thread(this::run, this.name);
+                this.worker.setDaemon(true);
+                this.running = true;
+                this.worker.start();
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Stops the worker thread. Pending tasks will never be executed and their
+     * handles are cancelled, so that cancelling them afterwards has no effect.
+     *
+     * @return The number of pending tasks which have been discarded.
+     */
+    int stop() {
+        final Thread thread;
+        synchronized (this.lifecycle) {
+            if (this.stopped) {
+                return 0;
+            }
+            this.stopped = true;
+            this.running = false;
+            thread = this.worker;
+        }
+        if (thread == null) {
+            return 0;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.NANOSECONDS.toMillis(this.tickNanos) + 1000);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return this.discarded;
+    }
+
+    private void run() {
+        while (this.running) {
+            transferInserts();
+            processCancellations();
+
+            if (this.size == 0 && this.inserts.isEmpty()) {
+                this.idle = true;
+                if (this.inserts.isEmpty() && this.running) {
+                    LockSupport.park(this);
+                }
+                this.idle = false;
+                // no timeouts to expire in between, so skip the elapsed ticks
+                this.currentTick = Math.max(this.currentTick, elapsedTicks());
+                continue;
+            }
+
+            final long now = elapsedTicks();
+            while (this.currentTick <= now && this.running) {
+                tick(this.currentTick);
+                ++this.currentTick;
+            }
+
+            final long sleep = this.startTime + this.currentTick * this.tickNanos
+                    - System.nanoTime();
+            if (sleep > 0) {
+                LockSupport.parkNanos(this, sleep);
+            }
+        }
+        discardRemaining();
+    }
+
+    private void discardRemaining() {
+        int count = 0;
+        for (final Bucket[] level : this.wheel) {
+            for (final Bucket bucket : level) {
+                Timeout timeout = bucket.clear();
+                while (timeout != null) {
+                    final Timeout next = timeout.next;
+                    timeout.bucket = null;
+                    timeout.prev = null;
+                    timeout.next = null;
+                    if (timeout.discard()) {
+                        ++count;
+                    }
+                    timeout = next;
+                }
+            }
+        }
+        Timeout timeout;
+        while ((timeout = this.inserts.poll()) != null) {
+            if (timeout.discard()) {
+                ++count;
+            }
+        }
+        this.cancellations.clear();
+        this.size = 0;
+        this.discarded = count;
+    }
+
+    private long elapsedTicks() {
+        return (System.nanoTime() - this.startTime) / this.tickNanos;
+    }
+
+    private void transferInserts() {
+        Timeout timeout;
+        while ((timeout = this.inserts.poll()) != null) {
+            if (timeout.state != PENDING) {
+                continue;
+            }
+            final long deadline = timeout.deadline - this.startTime;
+            // round up so that a task never runs too early
+            timeout.deadlineTick = (deadline + this.tickNanos - 1) / this.tickNanos;
+            place(timeout, this.currentTick);
+            ++this.size;
+        }
+    }
+
+    private void processCancellations() {
+        Timeout timeout;
+        while ((timeout = this.cancellations.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+                --this.size;
+            }
+        }
+    }
+
+    private void place(Timeout timeout, long tick) {
+        final long target = Math.max(timeout.deadlineTick, tick);
+        final long relative = Math.min(target - tick, MAX_TICKS);
+        final long effective = tick + relative;
+
+        int level = 0;
+        while (level < LEVELS - 1 && relative >= 1L << (WHEEL_BITS * (level + 1))) {
+            ++level;
+        }
+        final int index = (int) ((effective >>> (WHEEL_BITS * level)) & MASK);
+        this.wheel[level][index].add(timeout);
+    }
+
+    private void tick(long tick) {
+        if ((tick & MASK) == 0) {
+            cascade(1, tick);
+        }
+
+        Timeout timeout = this.wheel[0][(int) (tick & MASK)].clear();
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+            if (timeout.deadlineTick <= tick) {
+                --this.size;
+                timeout.expire();
+            } else {
+                place(timeout, tick);
+            }
+            timeout = next;
+        }
+    }
+
+    private void cascade(int level, long tick) {
+        if (level >= LEVELS) {
+            return;
+        }
+        final int index = (int) ((tick >>> (WHEEL_BITS * level)) & MASK);
+        if (index == 0) {
+            cascade(level + 1, tick);
+        }
+
+        Timeout timeout = this.wheel[level][index].clear();
+        while (timeout != null) {
+            final Timeout next = timeout.next;
+            place(timeout, tick);
+            timeout = next;
+        }
+    }
+}
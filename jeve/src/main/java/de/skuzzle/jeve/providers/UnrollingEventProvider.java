@@ -1,9 +1,13 @@
 package de.skuzzle.jeve.providers;
 
 import java.util.ArrayDeque;
+import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.BiConsumer;
 
+import de.skuzzle.jeve.BatchOrder;
+import de.skuzzle.jeve.DispatchResult;
 import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.ExceptionCallback;
 import de.skuzzle.jeve.Listener;
@@ -13,12 +17,22 @@ import de.skuzzle.jeve.ListenerSource;
  * Provider which queues events while dispatching. Thus nested dispatch calls are handled
  * deferred after the previous dispatch action finished.
  *
+ * <p>
+ * The future returned by a nested call to
+ * {@link #dispatchAsync(Event, BiConsumer, ExceptionCallback) dispatchAsync} is
+ * completed once the queued dispatch action has been run. If the outer dispatch
+ * action stops prematurely, because of an {@link de.skuzzle.jeve.AbortionException
+ * AbortionException} or because the thread has been interrupted, all queued dispatch
+ * actions are discarded and their futures are cancelled.
+ * </p>
+ *
  * @author Simon Taddiken
  * @since 3.0.0
  */
 public class UnrollingEventProvider extends AbstractEventProvider {
 
-    private class QueuedEvent<L extends Listener, E extends Event<?, L>> {
+    private class QueuedEvent<L extends Listener, E extends Event<?, L>>
+            implements Runnable {
 
         private final E event;
         private final ExceptionCallback ec;
@@ -30,13 +44,14 @@ public class UnrollingEventProvider extends AbstractEventProvider {
             this.consumer = consumer;
         }
 
-        private void dispatch() {
+        @Override
+        public void run() {
             UnrollingEventProvider.super.notifyListeners(this.event,
                     this.consumer, this.ec);
         }
     }
 
-    private final Queue<QueuedEvent<?, ?>> dispatchQueue;
+    private final Queue<Runnable> dispatchQueue;
 
     private boolean dispatchInProgress;
 
@@ -63,16 +78,63 @@ public class UnrollingEventProvider extends AbstractEventProvider {
             this.dispatchInProgress = true;
 
             super.notifyListeners(event, bc, ec);
+            runQueued();
+        } finally {
+            finishDispatch();
+        }
+    }
+
+    @Override
+    public <L extends Listener, E extends Event<?, L>>
+            CompletableFuture<DispatchResult> dispatchAsync(E event,
+                    BiConsumer<L, E> bc, ExceptionCallback ec) {
+        if (!this.dispatchInProgress) {
+            return super.dispatchAsync(event, bc, ec);
+        }
+
+        checkDispatchArgs(event, bc, ec);
+        final DeferredDispatch<L, E> deferred = new DeferredDispatch<>(event, bc, ec,
+                collector -> super.notifyListeners(event, collector,
+                        collector.getExceptionCallback()));
+        this.dispatchQueue.add(deferred);
+        return deferred.getResult();
+    }
+
+    @Override
+    protected <L extends Listener, E extends Event<?, L>> void notifyBatch(
+            List<E> events, BiConsumer<L, E> bc, ExceptionCallback ec,
+            BatchOrder order) {
+        unroll(() -> super.notifyBatch(events, bc, ec, order));
+    }
 
-            while (!this.dispatchQueue.isEmpty() && checkInterrupt()) {
-                final QueuedEvent<?, ?> next = this.dispatchQueue.poll();
-                next.dispatch();
-            }
+    private void unroll(Runnable action) {
+        if (this.dispatchInProgress) {
+            this.dispatchQueue.add(action);
+            return;
+        }
+
+        try {
+            this.dispatchInProgress = true;
+
+            action.run();
+            runQueued();
         } finally {
-            this.dispatchInProgress = false;
+            finishDispatch();
+        }
+    }
+
+    private void runQueued() {
+        while (!this.dispatchQueue.isEmpty() && checkInterrupt()) {
+            final Runnable next = this.dispatchQueue.poll();
+            next.run();
         }
     }
 
+    private void finishDispatch() {
+        this.dispatchInProgress = false;
+        DeferredDispatch.abandon(this.dispatchQueue);
+    }
+
     @Override
     public boolean canDispatch() {
         return true;
@@ -0,0 +1,124 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Contains the default implementations of {@link WaitStrategy}. Each method
+ * returns a new instance.
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ */
+public final class WaitStrategies {
+
+    private WaitStrategies() {
+        // hidden
+    }
+
+    /**
+     * The consumer keeps polling for new work without ever giving up its CPU.
+     * This yields the lowest possible latency but permanently occupies a whole
+     * core.
+     *
+     * @return The strategy.
+     */
+    public static WaitStrategy busySpin() {
+        return new WaitStrategy() {
+
+            @Override
+            public void await(BooleanSupplier workAvailable) {
+                // return immediately and poll again
+            }
+
+            @Override
+            public void signal() {}
+        };
+    }
+
+    /**
+     * The consumer calls {@link Thread#yield()} while no work is available.
+     * Latency is close to busy spinning but other threads can make progress on
+     * the consumer's core.
+     *
+     * @return The strategy.
+     */
+    public static WaitStrategy yielding() {
+        return new WaitStrategy() {
+
+            @Override
+            public void await(BooleanSupplier workAvailable) {
+                Thread.yield();
+            }
+
+            @Override
+            public void signal() {}
+        };
+    }
+
+    /**
+     * The consumer sleeps for a fixed amount of time while no work is
+     * available. Producers never need to wake up the consumer, but the latency
+     * is bounded by the park period.
+     *
+     * @param period The time to sleep.
+     * @param unit The unit of the period.
+     * @return The strategy.
+     */
+    public static WaitStrategy parking(long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("period <= 0");
+        } else if (unit == null) {
+            throw new IllegalArgumentException("unit is null");
+        }
+        final long nanos = unit.toNanos(period);
+        return new WaitStrategy() {
+
+            @Override
+            public void await(BooleanSupplier workAvailable) {
+                LockSupport.parkNanos(this, nanos);
+            }
+
+            @Override
+            public void signal() {}
+        };
+    }
+
+    /**
+     * The consumer blocks until a producer signals new work. Uses no CPU while
+     * idle but each dispatch which finds the consumer waiting has to wake it
+     * up. This is the default strategy.
+     *
+     * @return The strategy.
+     */
+    public static WaitStrategy blocking() {
+        return new BlockingWaitStrategy();
+    }
+
+    private static final class BlockingWaitStrategy implements WaitStrategy {
+
+        private volatile Thread waiter;
+
+        @Override
+        public void await(BooleanSupplier workAvailable) {
+            this.waiter = Thread.currentThread();
+            try {
+                // re-check after publishing the waiter to not miss a wake up
+                if (!workAvailable.getAsBoolean()) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                this.waiter = null;
+            }
+        }
+
+        @Override
+        public void signal() {
+            final Thread current = this.waiter;
+            if (current != null) {
+                LockSupport.unpark(current);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Defines how the consumer thread of a queue based EventProvider waits for new
+ * events to arrive. Strategies trade CPU usage for latency: busy spinning
+ * consumers react the fastest but occupy a whole core, while blocking
+ * consumers use no CPU at all while idle but need to be woken up by the
+ * dispatching thread.
+ *
+ * <p>
+ * A WaitStrategy instance belongs to exactly one consumer thread and must not
+ * be shared among multiple providers. See {@link WaitStrategies} for the
+ * default implementations.
+ * </p>
+ *
+ * @author Simon Taddiken
+ * @since 4.0.0
+ * @see WaitStrategies
+ * @see EventLoopEventProvider
+ */
+public interface WaitStrategy {
+
+    /**
+     * Called by the consumer thread if there is currently no work available.
+     * This method may return spuriously, the consumer will check for work
+     * again and call this method again if there still is none. The parking
+     * and blocking strategies return immediately while the consumer thread
+     * is interrupted, so the consumer clears its interrupted state before
+     * calling this method.
+     *
+     * @param workAvailable Condition which can be queried to check whether
+     *            work has become available or the consumer should stop.
+     */
+    void await(BooleanSupplier workAvailable);
+
+    /**
+     * Called by a producer thread after new work has been published or by the
+     * provider when it is being closed.
+     */
+    void signal();
+}
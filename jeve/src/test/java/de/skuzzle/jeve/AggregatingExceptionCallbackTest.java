@@ -0,0 +1,145 @@
+package de.skuzzle.jeve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+
+import de.skuzzle.jeve.invoke.FailedEventInvocation;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AggregatingExceptionCallbackTest {
+
+    private static interface SampleListener extends Listener {
+        public void onEvent(Event<?, SampleListener> e);
+    }
+
+    @Mock
+    private Logger logger;
+    @Mock
+    private SampleListener listener;
+
+    private AggregatingExceptionCallback subject;
+
+    @Before
+    public void setUp() throws Exception {
+        this.subject = new AggregatingExceptionCallback(this.logger, 1,
+                TimeUnit.SECONDS, false, false);
+    }
+
+    private FailedEventInvocation failed(Event<?, ?> event, Exception e) {
+        final FailedEventInvocation failed = mock(FailedEventInvocation.class);
+        Mockito.<Listener> when(failed.getListener()).thenReturn(this.listener);
+        Mockito.<Event<?, ?>> when(failed.getEvent()).thenReturn(event);
+        when(failed.getException()).thenReturn(e);
+        return failed;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWindowZero() throws Exception {
+        ExceptionCallbacks.ignoreAggregated(0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testNothingLoggedWithinWindow() throws Exception {
+        final Event<?, ?> event = new Event<>(this, SampleListener.class);
+        this.subject.exception(failed(event, new IllegalStateException()));
+        Mockito.verifyZeroInteractions(this.logger);
+        assertFalse(event.isHandled());
+    }
+
+    @Test
+    public void testAggregatePerExceptionType() throws Exception {
+        final Event<?, ?> event = new Event<>(this, SampleListener.class);
+        final IllegalStateException sample = new IllegalStateException();
+        this.subject.exception(failed(event, sample));
+        this.subject.exception(failed(event, new IllegalStateException()));
+        this.subject.exception(failed(event, new IllegalStateException()));
+        this.subject.exception(failed(event, new IllegalArgumentException()));
+        this.subject.flush();
+
+        Mockito.verify(this.logger).error(Mockito.anyString(),
+                Mockito.eq(this.listener.getClass().getName()), Mockito.eq(3L),
+                Mockito.eq(IllegalStateException.class.getName()), Mockito.eq(1000L),
+                Mockito.same(event), Mockito.same(sample));
+        Mockito.verify(this.logger).error(Mockito.anyString(),
+                Mockito.eq(this.listener.getClass().getName()), Mockito.eq(1L),
+                Mockito.eq(IllegalArgumentException.class.getName()),
+                Mockito.eq(1000L), Mockito.same(event), Mockito.any());
+    }
+
+    @Test
+    public void testResetAfterFlush() throws Exception {
+        final Event<?, ?> event = new Event<>(this, SampleListener.class);
+        this.subject.exception(failed(event, new IllegalStateException()));
+        this.subject.flush();
+        Mockito.reset(this.logger);
+
+        this.subject.flush();
+        Mockito.verifyZeroInteractions(this.logger);
+    }
+
+    @Test
+    public void testStopOnError() throws Exception {
+        this.subject = new AggregatingExceptionCallback(this.logger, 1,
+                TimeUnit.SECONDS, true, false);
+        final Event<?, ?> event = new Event<>(this, SampleListener.class);
+        this.subject.exception(failed(event, new IllegalStateException()));
+        assertTrue(event.isHandled());
+    }
+
+    @Test
+    public void testConcurrentFailuresAreNotLost() throws Exception {
+        final AtomicLong logged = new AtomicLong();
+        Mockito.doAnswer(invocation -> {
+            logged.addAndGet((Long) invocation.getArguments()[2]);
+            return null;
+        }).when(this.logger).error(Mockito.anyString(), Mockito.<Object> anyVararg());
+
+        final Event<?, ?> event = new Event<>(this, SampleListener.class);
+        final FailedEventInvocation failed = failed(event, new IllegalStateException());
+        final int threads = 4;
+        final int failuresPerThread = 10000;
+        final List<Thread> reporters = new ArrayList<>();
+        for (int i = 0; i < threads; ++i) {
+            final Thread reporter = new Thread(() -> {
+                for (int j = 0; j < failuresPerThread; ++j) {
+                    this.subject.exception(failed);
+                }
+            });
+            reporters.add(reporter);
+            reporter.start();
+        }
+
+        final AtomicBoolean done = new AtomicBoolean();
+        final Thread flusher = new Thread(() -> {
+            while (!done.get()) {
+                this.subject.flush();
+            }
+        });
+        flusher.start();
+        for (final Thread reporter : reporters) {
+            reporter.join();
+        }
+        done.set(true);
+        flusher.join();
+        this.subject.flush();
+
+        assertEquals(threads * failuresPerThread, logged.get());
+    }
+}
@@ -0,0 +1,187 @@
+package de.skuzzle.jeve;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BiConsumer;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import de.skuzzle.jeve.DeadLetterStore.DeadLetter;
+import de.skuzzle.jeve.invoke.FailedEventInvocation;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DeadLetterStoreTest {
+
+    private static interface SampleListener extends Listener {
+        public void onEvent(Event<?, SampleListener> e);
+    }
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Mock
+    private ExceptionCallback delegate;
+    @Mock
+    private EventProvider provider;
+
+    private DeadLetterStore subject;
+
+    private FailedEventInvocation failed(Listener listener, Event<?, ?> event) {
+        final FailedEventInvocation failed = mock(FailedEventInvocation.class);
+        Mockito.<Listener> when(failed.getListener()).thenReturn(listener);
+        Mockito.<Event<?, ?>> when(failed.getEvent()).thenReturn(event);
+        when(failed.getException()).thenReturn(new IllegalStateException("failed"));
+        return failed;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateCapacityZero() throws Exception {
+        DeadLetterStore.create(0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateNullDelegate() throws Exception {
+        DeadLetterStore.delegatingTo(null, 1);
+    }
+
+    @Test
+    public void testInitiallyEmpty() throws Exception {
+        this.subject = DeadLetterStore.create(4);
+        assertEquals(0, this.subject.size());
+        assertTrue(this.subject.getDeadLetters().isEmpty());
+    }
+
+    @Test
+    public void testCollectWithDelegate() throws Exception {
+        this.subject = DeadLetterStore.delegatingTo(this.delegate, 4);
+        final FailedEventInvocation failed = failed(mock(SampleListener.class),
+                new Event<>(this, SampleListener.class));
+        this.subject.exception(failed);
+
+        assertEquals(1, this.subject.size());
+        final DeadLetter letter = this.subject.getDeadLetters().get(0);
+        assertSame(failed, letter.getInvocation());
+        assertSame(failed.getException(), letter.getException());
+        verify(this.delegate).exception(failed);
+    }
+
+    @Test
+    public void testEvictOldest() throws Exception {
+        this.subject = DeadLetterStore.create(2);
+        final Event<?, ?> event = new Event<>(this, SampleListener.class);
+        final FailedEventInvocation failed1 = failed(mock(SampleListener.class), event);
+        final FailedEventInvocation failed2 = failed(mock(SampleListener.class), event);
+        final FailedEventInvocation failed3 = failed(mock(SampleListener.class), event);
+        this.subject.exception(failed1);
+        this.subject.exception(failed2);
+        this.subject.exception(failed3);
+
+        final List<DeadLetter> letters = this.subject.getDeadLetters();
+        assertEquals(2, letters.size());
+        assertSame(failed2, letters.get(0).getInvocation());
+        assertSame(failed3, letters.get(1).getInvocation());
+        assertEquals(1, this.subject.getEvictedCount());
+        assertEquals(0, this.subject.getSpilledCount());
+    }
+
+    @Test
+    public void testSpillEvicted() throws Exception {
+        final Path file = this.folder.getRoot().toPath().resolve("dead-letters.log");
+        this.subject = DeadLetterStore.create(1).spillTo(file);
+        final Event<?, ?> event = new Event<>(this, SampleListener.class);
+        this.subject.exception(failed(mock(SampleListener.class), event));
+        this.subject.exception(failed(mock(SampleListener.class), event));
+        this.subject.close();
+
+        assertEquals(1, this.subject.getSpilledCount());
+        final String content = new String(Files.readAllBytes(file),
+                StandardCharsets.UTF_8);
+        assertTrue(content.contains(event.toString()));
+        assertTrue(content.contains("IllegalStateException: failed"));
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void testRedispatch() throws Exception {
+        this.subject = DeadLetterStore.create(4);
+        final SampleListener listener = mock(SampleListener.class);
+        final SampleListener other = mock(SampleListener.class);
+        final Event<Object, SampleListener> event = new Event<>(this,
+                SampleListener.class);
+        final FailedEventInvocation failed = failed(listener, event);
+        this.subject.exception(failed);
+
+        final CompletableFuture<DispatchResult> dispatched = new CompletableFuture<>();
+        when(this.provider.dispatchAsync(Mockito.any(Event.class),
+                Mockito.any(BiConsumer.class))).thenReturn(dispatched);
+
+        final CompletableFuture<Integer> result = this.subject.redispatch(this.provider);
+        assertEquals(0, this.subject.size());
+        assertFalse(result.isDone());
+
+        final ArgumentCaptor<BiConsumer> captor = ArgumentCaptor.forClass(
+                BiConsumer.class);
+        verify(this.provider).dispatchAsync(Mockito.same(event), captor.capture());
+        captor.getValue().accept(other, event);
+        Mockito.verify(failed, Mockito.never()).notifyListener();
+        captor.getValue().accept(listener, event);
+        Mockito.verify(failed).notifyListener();
+
+        dispatched.complete(null);
+        assertEquals(1, result.get().intValue());
+        assertEquals(0, this.subject.size());
+    }
+
+    @Test
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public void testRedispatchKeepsUndeliverable() throws Exception {
+        this.subject = DeadLetterStore.create(4);
+        final Event<Object, SampleListener> event = new Event<>(this,
+                SampleListener.class);
+        final FailedEventInvocation failed = failed(mock(SampleListener.class), event);
+        this.subject.exception(failed);
+
+        // the listener is no longer registered, so the provider never calls it
+        when(this.provider.dispatchAsync(Mockito.any(Event.class),
+                Mockito.any(BiConsumer.class))).thenReturn(
+                        CompletableFuture.completedFuture(null));
+
+        assertEquals(0, this.subject.redispatch(this.provider).get().intValue());
+        assertEquals(1, this.subject.size());
+        assertSame(failed, this.subject.getDeadLetters().get(0).getInvocation());
+    }
+
+    @Test
+    public void testSpillDroppedWhenWriterIsSaturated() throws Exception {
+        final Path file = this.folder.getRoot().toPath().resolve("dead-letters.log");
+        this.subject = DeadLetterStore.create(1).spillTo(file);
+        final Event<?, ?> event = new Event<>(this, SampleListener.class);
+        final int count = 10000;
+        for (int i = 0; i <= count; ++i) {
+            this.subject.exception(failed(mock(SampleListener.class), event));
+        }
+        this.subject.close();
+
+        assertEquals(count, this.subject.getEvictedCount());
+        assertEquals(count, this.subject.getSpilledCount()
+                + this.subject.getSpillDroppedCount());
+    }
+}
@@ -2,6 +2,10 @@ package de.skuzzle.jeve;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.time.Instant;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -45,4 +49,38 @@ public class EventTest {
     public void testListenerClassNull() throws Exception {
         new Event<>(new Object(), null);
     }
+
+    @Test
+    public void testDefaultPriority() throws Exception {
+        assertEquals(Priority.NORMAL, this.subject.getPriority());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetPriorityNull() throws Exception {
+        this.subject.setPriority(null);
+    }
+
+    @Test
+    public void testNoDeadline() throws Exception {
+        assertFalse(this.subject.getDeadline().isPresent());
+        assertFalse(this.subject.isExpired());
+    }
+
+    @Test
+    public void testDeadlinePassed() throws Exception {
+        this.subject.setDeadline(Instant.now().minusSeconds(1));
+        assertTrue(this.subject.isExpired());
+    }
+
+    @Test
+    public void testTimeToLive() throws Exception {
+        this.subject.setTimeToLive(Duration.ofHours(1));
+        assertTrue(this.subject.getDeadline().isPresent());
+        assertFalse(this.subject.isExpired());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTimeToLiveNull() throws Exception {
+        this.subject.setTimeToLive(null);
+    }
 }
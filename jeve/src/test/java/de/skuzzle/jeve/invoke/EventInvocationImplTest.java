@@ -92,4 +92,37 @@ public class EventInvocationImplTest {
             Mockito.verifyZeroInteractions(this.ec);
         }
     }
+
+    @Test
+    public void testNotifyDirectly() throws Exception {
+        EventInvocation.notifyDirectly(this.listener, this.event,
+                SampleListener::onEvent, this.ec);
+
+        verify(this.listener).onEvent(this.event);
+        Mockito.verifyZeroInteractions(this.ec);
+    }
+
+    @Test
+    public void testNotifyDirectlyHandledEvent() throws Exception {
+        Mockito.when(this.event.isHandled()).thenReturn(true);
+        EventInvocation.notifyDirectly(this.listener, this.event,
+                SampleListener::onEvent, this.ec);
+
+        Mockito.verifyZeroInteractions(this.listener);
+    }
+
+    @Test
+    public void testNotifyDirectlyHandleException() throws Exception {
+        final RuntimeException ex = new RuntimeException();
+        doThrow(ex).when(this.listener).onEvent(this.event);
+        doThrow(new RuntimeException()).when(this.ec).exception(Mockito.any());
+
+        EventInvocation.notifyDirectly(this.listener, this.event,
+                SampleListener::onEvent, this.ec);
+
+        final FailedEventInvocation expected = EventInvocation
+                .of(this.listener, this.event, SampleListener::onEvent, this.ec)
+                .fail(ex);
+        verify(this.ec).exception(expected);
+    }
 }
@@ -0,0 +1,86 @@
+package de.skuzzle.jeve.invoke;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InvocationChainTest {
+
+    @Mock
+    private EventInvocation invocation;
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfNull() throws Exception {
+        InvocationChain.of(null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testOfContainsNull() throws Exception {
+        InvocationChain.of(Arrays.<InvocationInterceptor> asList((inv, chain) -> chain.proceed(inv), null));
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        Assert.assertTrue(InvocationChain.empty().isEmpty());
+        Assert.assertTrue(InvocationChain.of(Collections.emptyList()).isEmpty());
+
+        InvocationChain.empty().proceed(this.invocation);
+        Mockito.verify(this.invocation).notifyListener();
+    }
+
+    @Test
+    public void testOrder() throws Exception {
+        final List<String> calls = new ArrayList<>();
+        final InvocationChain chain = InvocationChain.of(Arrays.<InvocationInterceptor> asList(
+                (inv, next) -> {
+                    calls.add("before1");
+                    next.proceed(inv);
+                    calls.add("after1");
+                },
+                (inv, next) -> {
+                    calls.add("before2");
+                    next.proceed(inv);
+                    calls.add("after2");
+                }));
+        Mockito.doAnswer(invocation -> calls.add("notify"))
+                .when(this.invocation).notifyListener();
+
+        Assert.assertFalse(chain.isEmpty());
+        chain.proceed(this.invocation);
+        Assert.assertEquals(
+                Arrays.asList("before1", "before2", "notify", "after2", "after1"),
+                calls);
+    }
+
+    @Test
+    public void testSkipNotification() throws Exception {
+        final InvocationInterceptor second = Mockito.mock(InvocationInterceptor.class);
+        final InvocationChain chain = InvocationChain.of(Arrays.<InvocationInterceptor> asList(
+                (inv, next) -> {}, second));
+
+        chain.proceed(this.invocation);
+        Mockito.verifyZeroInteractions(second);
+        Mockito.verify(this.invocation, Mockito.never()).notifyListener();
+    }
+
+    @Test
+    public void testReuseChain() throws Exception {
+        final InvocationChain chain = InvocationChain.of(Arrays.<InvocationInterceptor> asList(
+                (inv, next) -> next.proceed(inv)));
+        final EventInvocation other = Mockito.mock(EventInvocation.class);
+
+        chain.proceed(this.invocation);
+        chain.proceed(other);
+        Mockito.verify(this.invocation).notifyListener();
+        Mockito.verify(other).notifyListener();
+    }
+}
@@ -0,0 +1,110 @@
+package de.skuzzle.jeve.invoke;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import de.skuzzle.jeve.invoke.InvocationRetrier.ExhaustedCallback;
+
+@RunWith(MockitoJUnitRunner.class)
+public class InvocationRetrierTest {
+
+    @Mock
+    private ScheduledExecutorService scheduler;
+    @Mock
+    private ExhaustedCallback exhaustedCallback;
+    @Mock
+    private FailedEventInvocation invocation;
+
+    private InvocationRetrier subject;
+    private int failures;
+
+    @Before
+    public void setUp() throws Exception {
+        this.subject = new InvocationRetrier(3, 10, 100, TimeUnit.MILLISECONDS, 1,
+                this.exhaustedCallback, this.scheduler);
+        Mockito.doAnswer(inv -> {
+            if (this.failures > 0) {
+                --this.failures;
+                this.subject.exception(this.invocation);
+            }
+            return null;
+        }).when(this.invocation).notifyListener();
+    }
+
+    private Runnable nextScheduled(int times) {
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        Mockito.verify(this.scheduler, Mockito.times(times)).schedule(captor.capture(),
+                Mockito.anyLong(), Mockito.eq(TimeUnit.NANOSECONDS));
+        return captor.getValue();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxRetriesZero() throws Exception {
+        new InvocationRetrier(0, 1, 1, TimeUnit.SECONDS, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxDelaySmallerInitialDelay() throws Exception {
+        new InvocationRetrier(1, 2, 1, TimeUnit.SECONDS, 1);
+    }
+
+    @Test
+    public void testRetrySucceeds() throws Exception {
+        this.failures = 1;
+        this.subject.exception(this.invocation);
+        Assert.assertEquals(1, this.subject.getInFlightCount());
+        Mockito.verify(this.invocation, Mockito.never()).notifyListener();
+
+        nextScheduled(1).run();
+        nextScheduled(2).run();
+
+        Mockito.verify(this.invocation, Mockito.times(2)).notifyListener();
+        Assert.assertEquals(1, this.subject.getSucceededCount());
+        Assert.assertEquals(0, this.subject.getInFlightCount());
+        Mockito.verifyZeroInteractions(this.exhaustedCallback);
+    }
+
+    @Test
+    public void testRetriesExhausted() throws Exception {
+        this.failures = Integer.MAX_VALUE;
+        this.subject.exception(this.invocation);
+        for (int i = 1; i <= 3; ++i) {
+            nextScheduled(i).run();
+        }
+
+        Mockito.verify(this.exhaustedCallback).exhausted(this.invocation, 4);
+        Assert.assertEquals(1, this.subject.getExhaustedCount());
+        Assert.assertEquals(0, this.subject.getInFlightCount());
+    }
+
+    @Test
+    public void testMaxInFlight() throws Exception {
+        final FailedEventInvocation other = Mockito.mock(FailedEventInvocation.class);
+        this.subject.exception(this.invocation);
+        this.subject.exception(other);
+
+        Mockito.verify(this.exhaustedCallback).exhausted(other, 1);
+        nextScheduled(1);
+    }
+
+    @Test
+    public void testNextDelay() throws Exception {
+        final long initial = TimeUnit.MILLISECONDS.toNanos(10);
+        final long max = TimeUnit.MILLISECONDS.toNanos(100);
+        for (int attempts = 1; attempts < 100; ++attempts) {
+            final long expected = Math.min(max, initial << Math.min(attempts - 1, 10));
+            final long delay = this.subject.nextDelay(attempts);
+            Assert.assertTrue(delay >= expected - expected / 2);
+            Assert.assertTrue(delay <= expected);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package de.skuzzle.jeve.invoke;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.invoke.ListenerCircuitBreaker.State;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ListenerCircuitBreakerTest {
+
+    private static final long OPEN_MILLIS = 50;
+
+    @Mock
+    private Listener listener;
+    @Mock
+    private EventInvocation invocation;
+    @Mock
+    private ExceptionCallback ec;
+    @Mock
+    private FailedEventInvocation failed;
+    @Mock
+    private Event<?, ?> event;
+
+    private ListenerCircuitBreaker subject;
+    private InvocationChain chain;
+    private boolean failing;
+
+    @Before
+    public void setUp() throws Exception {
+        this.subject = new ListenerCircuitBreaker(3, 1, TimeUnit.MINUTES,
+                OPEN_MILLIS, TimeUnit.MILLISECONDS);
+        this.chain = InvocationChain.of(Arrays.asList(this.subject));
+        this.failing = true;
+        Mockito.when(this.invocation.getListener()).thenReturn(this.listener);
+        Mockito.<Event<?, ?>> when(this.invocation.getEvent()).thenReturn(this.event);
+        Mockito.when(this.failed.getListener()).thenReturn(this.listener);
+        Mockito.doAnswer(inv -> {
+            if (this.failing) {
+                this.subject.recordFailure(this.listener);
+            }
+            return null;
+        }).when(this.invocation).notifyListener();
+    }
+
+    private void notify(int times) {
+        for (int i = 0; i < times; ++i) {
+            this.chain.proceed(this.invocation);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThresholdZero() throws Exception {
+        new ListenerCircuitBreaker(0, 1, TimeUnit.SECONDS, 1, TimeUnit.SECONDS);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecordFailuresNull() throws Exception {
+        this.subject.recordFailures(null);
+    }
+
+    @Test
+    public void testUnknownListenerClosed() throws Exception {
+        Assert.assertEquals(State.CLOSED, this.subject.getState(this.listener));
+        Assert.assertTrue(this.subject.getStates().isEmpty());
+    }
+
+    @Test
+    public void testRecordFailuresDelegates() throws Exception {
+        this.subject.recordFailures(this.ec).exception(this.failed);
+        Mockito.verify(this.ec).exception(this.failed);
+        Assert.assertEquals(State.CLOSED, this.subject.getState(this.listener));
+        Assert.assertEquals(State.CLOSED, this.subject.getStates().get(this.listener));
+    }
+
+    @Test
+    public void testOpenAfterThreshold() throws Exception {
+        notify(2);
+        Assert.assertEquals(State.CLOSED, this.subject.getState(this.listener));
+        notify(1);
+        Assert.assertEquals(State.OPEN, this.subject.getState(this.listener));
+        Assert.assertEquals(1, this.subject.getOpenedCount());
+
+        notify(5);
+        Mockito.verify(this.invocation, Mockito.times(3)).notifyListener();
+        Assert.assertEquals(5, this.subject.getSkippedCount());
+    }
+
+    @Test
+    public void testFailedProbeReopens() throws Exception {
+        notify(3);
+        Thread.sleep(OPEN_MILLIS * 2);
+        notify(2);
+
+        Mockito.verify(this.invocation, Mockito.times(4)).notifyListener();
+        Assert.assertEquals(State.OPEN, this.subject.getState(this.listener));
+        Assert.assertEquals(2, this.subject.getOpenedCount());
+    }
+
+    @Test
+    public void testSuccessfulProbeCloses() throws Exception {
+        notify(3);
+        Thread.sleep(OPEN_MILLIS * 2);
+        this.failing = false;
+        notify(2);
+
+        Mockito.verify(this.invocation, Mockito.times(5)).notifyListener();
+        Assert.assertEquals(State.CLOSED, this.subject.getState(this.listener));
+    }
+
+    @Test
+    public void testReset() throws Exception {
+        notify(3);
+        this.subject.reset();
+        Assert.assertEquals(State.CLOSED, this.subject.getState(this.listener));
+    }
+
+    @Test
+    public void testHandledEventIsNoProbe() throws Exception {
+        notify(3);
+        Thread.sleep(OPEN_MILLIS * 2);
+        this.failing = false;
+        Mockito.when(this.event.isHandled()).thenReturn(true);
+        notify(1);
+
+        Mockito.verify(this.invocation, Mockito.times(3)).notifyListener();
+        Assert.assertEquals(State.OPEN, this.subject.getState(this.listener));
+        Assert.assertEquals(0, this.subject.getSkippedCount());
+
+        Mockito.when(this.event.isHandled()).thenReturn(false);
+        notify(1);
+        Mockito.verify(this.invocation, Mockito.times(4)).notifyListener();
+        Assert.assertEquals(State.CLOSED, this.subject.getState(this.listener));
+    }
+
+    @Test
+    public void testForgetListenersAfterWindow() throws Exception {
+        this.subject = new ListenerCircuitBreaker(3, 10, TimeUnit.MILLISECONDS,
+                OPEN_MILLIS, TimeUnit.MILLISECONDS);
+        final Listener other = Mockito.mock(Listener.class);
+        this.subject.recordFailure(this.listener);
+        Thread.sleep(30);
+        this.subject.recordFailure(other);
+
+        Assert.assertFalse(this.subject.getStates().containsKey(this.listener));
+        Assert.assertTrue(this.subject.getStates().containsKey(other));
+    }
+}
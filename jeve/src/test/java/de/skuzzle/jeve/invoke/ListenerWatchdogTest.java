@@ -0,0 +1,172 @@
+package de.skuzzle.jeve.invoke;
+
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import de.skuzzle.jeve.EventProvider;
+import de.skuzzle.jeve.invoke.ListenerWatchdog.WatchdogCallback;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ListenerWatchdogTest {
+
+    @Mock
+    private EventProvider provider;
+    @Mock
+    private EventInvocation invocation;
+    @Mock
+    private WatchdogCallback callback;
+
+    private ListenerWatchdog subject;
+    private CountDownLatch entered;
+    private CountDownLatch release;
+
+    @Before
+    public void setUp() throws Exception {
+        this.subject = new ListenerWatchdog(1, TimeUnit.NANOSECONDS, this.callback,
+                false);
+        this.entered = new CountDownLatch(1);
+        this.release = new CountDownLatch(1);
+        Mockito.doAnswer(inv -> {
+            this.entered.countDown();
+            try {
+                this.release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }).when(this.invocation).notifyListener();
+    }
+
+    private Thread startBlockedInvocation() throws InterruptedException {
+        final InvocationChain chain = InvocationChain.of(Arrays.asList(
+                this.subject.watch(this.provider)));
+        final Thread thread = new Thread(() -> chain.proceed(this.invocation));
+        thread.start();
+        this.entered.await();
+        return thread;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThresholdZero() throws Exception {
+        new ListenerWatchdog(0, TimeUnit.SECONDS, this.callback);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testCallbackNull() throws Exception {
+        new ListenerWatchdog(1, TimeUnit.SECONDS, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testWatchNull() throws Exception {
+        this.subject.watch(null);
+    }
+
+    @Test
+    public void testIdle() throws Exception {
+        this.subject.check();
+        Mockito.verifyZeroInteractions(this.callback);
+    }
+
+    @Test
+    public void testReportOnce() throws Exception {
+        final Thread thread = startBlockedInvocation();
+        this.subject.check();
+        this.subject.check();
+        this.release.countDown();
+        thread.join();
+
+        Mockito.verify(this.callback).slowInvocation(Mockito.eq(this.invocation),
+                Mockito.eq(thread), Mockito.any(), Mockito.anyLong());
+        Assert.assertEquals(1, this.subject.getSlowInvocationCount());
+        Assert.assertEquals(0, this.subject.getInterruptCount());
+
+        this.subject.check();
+        Mockito.verifyNoMoreInteractions(this.callback);
+    }
+
+    @Test
+    public void testInterruptIfInterruptAware() throws Exception {
+        Mockito.when(this.provider.isInterruptAware()).thenReturn(true);
+        this.subject.setInterruptSlowListeners(true);
+        final Thread thread = startBlockedInvocation();
+        this.subject.check();
+        thread.join();
+
+        Assert.assertEquals(1, this.subject.getInterruptCount());
+    }
+
+    @Test
+    public void testNoInterruptIfListenerReturnedWhileReporting() throws Exception {
+        Mockito.when(this.provider.isInterruptAware()).thenReturn(true);
+        this.subject.setInterruptSlowListeners(true);
+
+        final CountDownLatch returned = new CountDownLatch(1);
+        final CountDownLatch checked = new CountDownLatch(1);
+        final AtomicBoolean interruptedAfterReturn = new AtomicBoolean();
+        final InvocationChain chain = InvocationChain.of(Arrays.asList(
+                this.subject.watch(this.provider)));
+        final Thread thread = new Thread(() -> {
+            chain.proceed(this.invocation);
+            returned.countDown();
+            try {
+                checked.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            interruptedAfterReturn.set(Thread.currentThread().isInterrupted());
+        });
+        thread.start();
+        this.entered.await();
+
+        // the listener returns after it has been detected but before the
+        // watchdog would interrupt it
+        Mockito.doAnswer(inv -> {
+            this.release.countDown();
+            returned.await();
+            return null;
+        }).when(this.callback).slowInvocation(Mockito.any(), Mockito.any(),
+                Mockito.any(), Mockito.anyLong());
+
+        this.subject.check();
+        checked.countDown();
+        thread.join();
+
+        Assert.assertEquals(1, this.subject.getSlowInvocationCount());
+        Assert.assertEquals(0, this.subject.getInterruptCount());
+        Assert.assertFalse(interruptedAfterReturn.get());
+    }
+
+    @Test
+    public void testNoInterruptIfNotInterruptAware() throws Exception {
+        this.subject.setInterruptSlowListeners(true);
+        final Thread thread = startBlockedInvocation();
+        this.subject.check();
+        this.release.countDown();
+        thread.join();
+
+        Assert.assertEquals(1, this.subject.getSlowInvocationCount());
+        Assert.assertEquals(0, this.subject.getInterruptCount());
+    }
+
+    @Test
+    public void testCallbackException() throws Exception {
+        Mockito.doThrow(RuntimeException.class).when(this.callback).slowInvocation(
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.anyLong());
+        final Thread thread = startBlockedInvocation();
+        this.subject.check();
+        this.release.countDown();
+        thread.join();
+
+        Assert.assertEquals(1, this.subject.getSlowInvocationCount());
+    }
+}
@@ -1,9 +1,18 @@
 package de.skuzzle.jeve.providers;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.swing.SwingUtilities;
+
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.Mockito;
 
+import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.ListenerStore;
 
 public class AWTEventProviderInvokeNowTest extends
@@ -29,4 +38,44 @@ public class AWTEventProviderInvokeNowTest extends
     public void testisInvokeNow() throws Exception {
         Assert.assertTrue(this.subject.isInvokeNow());
     }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSliceBudgetUnitNull() throws Exception {
+        this.subject.setSliceBudget(1, null);
+    }
+
+    @Test
+    public void testSlicedDispatchYieldsToEventQueue() throws Exception {
+        this.subject.setSliceBudget(1, TimeUnit.NANOSECONDS);
+        final List<String> order = new ArrayList<>();
+        final SampleListener first = e -> {
+            order.add("first");
+            SwingUtilities.invokeLater(() -> order.add("queued"));
+        };
+        final SampleListener second = e -> order.add("second");
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Stream.of(first, second));
+
+        this.subject.dispatch(new Event<>(this, SampleListener.class),
+                SampleListener::onEvent);
+
+        Assert.assertEquals(Arrays.asList("first", "queued", "second"), order);
+        Assert.assertEquals(1, this.subject.getResumedSliceCount());
+    }
+
+    @Test
+    public void testSlicedDispatchStopsWhenHandled() throws Exception {
+        this.subject.setSliceBudget(1, TimeUnit.NANOSECONDS);
+        final SampleListener first = e -> e.setHandled(true);
+        final SampleListener second = Mockito.mock(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Stream.of(first, second));
+
+        final Event<Object, SampleListener> event = new Event<>(this,
+                SampleListener.class);
+        this.subject.dispatch(event, SampleListener::onEvent);
+
+        Mockito.verify(second, Mockito.never()).onEvent(event);
+        Assert.assertEquals(0, this.subject.getResumedSliceCount());
+    }
 }
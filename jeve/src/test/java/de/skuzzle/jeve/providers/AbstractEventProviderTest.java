@@ -2,8 +2,11 @@ package de.skuzzle.jeve.providers;
 
 import static org.junit.Assert.assertNotNull;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -22,7 +25,9 @@ import de.skuzzle.jeve.Listener;
 import de.skuzzle.jeve.ListenerStore;
 import de.skuzzle.jeve.SequentialEvent;
 import de.skuzzle.jeve.invoke.EventInvocation;
+import de.skuzzle.jeve.invoke.EventInvocationFactory;
 import de.skuzzle.jeve.invoke.FailedEventInvocation;
+import de.skuzzle.jeve.invoke.InvocationInterceptor;
 
 @RunWith(MockitoJUnitRunner.class)
 public abstract class AbstractEventProviderTest<T extends AbstractEventProvider> {
@@ -134,6 +139,58 @@ public abstract class AbstractEventProviderTest<T extends AbstractEventProvider>
         Mockito.verify(this.ec).exception(expected);
     }
 
+    @Test
+    public void testNotifySingleCustomInvocationFactory() {
+        final EventInvocation invocation = Mockito.mock(EventInvocation.class);
+        final EventInvocationFactory factory = Mockito.mock(EventInvocationFactory.class);
+        Mockito.when(factory.create(Mockito.any(), Mockito.any(), Mockito.any(),
+                Mockito.any())).thenReturn(invocation);
+        this.subject.setInvocationFactory(factory);
+
+        final BiConsumer<SampleListener, Event<?, SampleListener>> bc =
+                SampleListener::onEvent;
+        this.subject.notifySingle(this.listener, this.event, bc, this.ec);
+
+        Mockito.verify(factory).create(this.listener, this.event, bc, this.ec);
+        Mockito.verify(invocation).notifyListener();
+        Mockito.verifyZeroInteractions(this.listener);
+    }
+
+    @Test
+    public void testNotifySingleInterceptors() {
+        final List<String> calls = new ArrayList<>();
+        this.subject.setInvocationInterceptors(Arrays.<InvocationInterceptor> asList(
+                (inv, chain) -> {
+                    calls.add("outer");
+                    chain.proceed(inv);
+                },
+                (inv, chain) -> {
+                    Assert.assertSame(this.listener, inv.getListener());
+                    calls.add("inner");
+                    chain.proceed(inv);
+                }));
+        Mockito.doAnswer(invocation -> calls.add("listener"))
+                .when(this.listener).onEvent(this.event);
+
+        this.subject.notifySingle(this.listener, this.event, SampleListener::onEvent,
+                this.ec);
+        Assert.assertEquals(Arrays.asList("outer", "inner", "listener"), calls);
+    }
+
+    @Test
+    public void testNotifySingleInterceptorSkips() {
+        this.subject.setInvocationInterceptors(Arrays.<InvocationInterceptor> asList(
+                (inv, chain) -> {}));
+        this.subject.notifySingle(this.listener, this.event, SampleListener::onEvent,
+                this.ec);
+        Mockito.verifyZeroInteractions(this.listener);
+
+        this.subject.setInvocationInterceptors(null);
+        this.subject.notifySingle(this.listener, this.event, SampleListener::onEvent,
+                this.ec);
+        Mockito.verify(this.listener).onEvent(this.event);
+    }
+
     @Test
     public void testNotifyListeners() throws Exception {
         final SampleListener listener2 = Mockito.mock(SampleListener.class);
@@ -161,6 +218,40 @@ public abstract class AbstractEventProviderTest<T extends AbstractEventProvider>
         inOrder.verify(listener2, Mockito.never()).onEvent(Mockito.any());
     }
 
+    @Test
+    public void testNotifyListenersStopsWhenHandled() throws Exception {
+        final List<SampleListener> retrieved = new ArrayList<>();
+        final SampleListener handling = e -> e.setHandled(true);
+        final SampleListener listener2 = Mockito.mock(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Stream.of(handling, listener2).peek(retrieved::add));
+        final Event<Object, SampleListener> event = new Event<>(new Object(),
+                SampleListener.class);
+
+        this.subject.notifyListeners(event, SampleListener::onEvent, this.ec);
+        Assert.assertEquals(Arrays.asList(handling), retrieved);
+        Mockito.verify(listener2, Mockito.never()).onEvent(Mockito.any());
+    }
+
+    @Test
+    public void testNotifyListenersInterruptAware() throws Exception {
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).then(
+                inv -> Stream.of(this.listener));
+        this.subject.setInterruptAware(true);
+
+        this.subject.notifyListeners(this.event, SampleListener::onEvent, this.ec);
+        Mockito.verify(this.listener).onEvent(this.event);
+
+        Thread.currentThread().interrupt();
+        try {
+            this.subject.notifyListeners(this.event, SampleListener::onEvent, this.ec);
+        } finally {
+            Thread.interrupted();
+        }
+        Mockito.verify(this.listener).onEvent(this.event);
+    }
+
     @Test
     public void testIsNotSequentialIfStoreIsNot() throws Exception {
         Mockito.when(this.store.isSequential()).thenReturn(false);
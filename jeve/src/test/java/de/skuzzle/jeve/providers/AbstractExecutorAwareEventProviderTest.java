@@ -1,5 +1,6 @@
 package de.skuzzle.jeve.providers;
 
+import java.util.Arrays;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
 
@@ -20,6 +21,7 @@ public abstract class AbstractExecutorAwareEventProviderTest<E extends AbstractE
     public void setUp() throws Exception {
         super.setUp();
         Assert.assertTrue(this.subject instanceof ExecutorAware);
+        Assert.assertTrue(this.subject instanceof Drainable);
         Mockito.when(this.executor.isShutdown()).thenReturn(false);
         Mockito.when(this.executor.isTerminated()).thenReturn(false);
     }
@@ -28,6 +30,10 @@ public abstract class AbstractExecutorAwareEventProviderTest<E extends AbstractE
         return (ExecutorAware) this.subject;
     }
 
+    private Drainable drainable() {
+        return (Drainable) this.subject;
+    }
+
     @Test
     public void testCanNotDefaultDispatch() throws Exception {
         Mockito.when(this.executor.isShutdown()).thenReturn(true);
@@ -82,4 +88,45 @@ public abstract class AbstractExecutorAwareEventProviderTest<E extends AbstractE
         this.subject.close();
         Mockito.verify(this.executor).shutdownNow();
     }
+
+    @Test
+    public void testDrain() throws Exception {
+        Mockito.when(this.executor.awaitTermination(1L, TimeUnit.SECONDS))
+                .thenReturn(true);
+        Assert.assertEquals(0, drainable().drain(1, TimeUnit.SECONDS));
+        Mockito.verify(this.executor).shutdown();
+        Mockito.verify(this.executor, Mockito.never()).shutdownNow();
+    }
+
+    @Test
+    public void testDrainTimeout() throws Exception {
+        Mockito.when(this.executor.awaitTermination(1L, TimeUnit.SECONDS))
+                .thenReturn(false);
+        Mockito.when(this.executor.shutdownNow()).thenReturn(Arrays.asList(
+                Mockito.mock(Runnable.class), Mockito.mock(Runnable.class)));
+        Assert.assertEquals(2, drainable().drain(1, TimeUnit.SECONDS));
+        Mockito.verify(this.executor).shutdown();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetDrainOnCloseNegative() throws Exception {
+        drainable().setDrainOnClose(-1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testCloseDrains() throws Exception {
+        Mockito.when(this.executor.awaitTermination(Mockito.anyLong(), Mockito.any()))
+                .thenReturn(true);
+        drainable().setDrainOnClose(1, TimeUnit.SECONDS);
+        this.subject.close();
+        Mockito.verify(this.executor).shutdown();
+        Mockito.verify(this.executor).awaitTermination(1000L, TimeUnit.MILLISECONDS);
+        Mockito.verify(this.executor, Mockito.never()).shutdownNow();
+    }
+
+    @Test
+    public void testAwaitIdleNothingPending() throws Exception {
+        Assert.assertEquals(0, drainable().getPendingCount());
+        Assert.assertTrue(drainable().awaitIdle(0, TimeUnit.MILLISECONDS));
+    }
 }
@@ -0,0 +1,107 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import de.skuzzle.jeve.AbortionException;
+import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.providers.AdaptiveEventProvider.DispatchMode;
+
+public class AdaptiveEventProviderTest extends
+        AbstractExecutorAwareEventProviderTest<AdaptiveEventProvider> {
+
+    private static final int WINDOW = 32;
+
+    @Override
+    protected AdaptiveEventProvider createSubject(ListenerStore store) {
+        // every measurable amount of work exceeds the threshold
+        return new AdaptiveEventProvider(store, this.executor, 0, TimeUnit.NANOSECONDS);
+    }
+
+    private void registerListeners(SampleListener... listeners) {
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenAnswer(
+                invocation -> Arrays.asList(listeners).stream());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThresholdNegative() throws Exception {
+        new AdaptiveEventProvider(this.store, this.executor, -1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testIsSequential() throws Exception {
+        Mockito.when(this.store.isSequential()).thenReturn(true);
+        Assert.assertFalse(this.subject.isSequential());
+    }
+
+    @Override
+    @Test
+    public void testDispatch() throws Exception {
+        final SampleListener listener2 = Mockito.mock(SampleListener.class);
+        registerListeners(this.listener, listener2);
+        this.subject.dispatch(this.event, SampleListener::onEvent);
+
+        Mockito.verify(this.listener).onEvent(this.event);
+        Mockito.verify(listener2).onEvent(this.event);
+        Mockito.verify(this.executor, Mockito.never()).submit(Mockito.<Runnable>any());
+        Assert.assertEquals(DispatchMode.SEQUENTIAL,
+                this.subject.getDispatchMode(SampleListener.class));
+    }
+
+    @Test
+    public void testSwitchToParallel() throws Exception {
+        final SampleListener listener2 = Mockito.mock(SampleListener.class);
+        registerListeners(this.listener, listener2);
+        for (int i = 0; i < WINDOW; ++i) {
+            this.subject.dispatch(this.event, SampleListener::onEvent);
+        }
+        Assert.assertEquals(DispatchMode.PARALLEL,
+                this.subject.getDispatchMode(SampleListener.class));
+        Assert.assertEquals(DispatchMode.PARALLEL,
+                this.subject.getDispatchModes().get(SampleListener.class));
+        Assert.assertEquals(1, this.subject.getSwitchCount());
+
+        this.subject.dispatch(this.event, SampleListener::onEvent);
+        Mockito.verify(this.executor, Mockito.times(2)).submit(Mockito.<Runnable>any());
+    }
+
+    @Test
+    public void testAbortedDispatchIsRecorded() throws Exception {
+        final SampleListener aborting = Mockito.mock(SampleListener.class);
+        Mockito.doThrow(AbortionException.class).when(aborting).onEvent(this.event);
+        registerListeners(this.listener, aborting);
+        for (int i = 0; i < WINDOW; ++i) {
+            try {
+                this.subject.dispatch(this.event, SampleListener::onEvent);
+                Assert.fail("Expected AbortionException");
+            } catch (final AbortionException expected) {
+                // expected
+            }
+        }
+        Assert.assertEquals(DispatchMode.PARALLEL,
+                this.subject.getDispatchMode(SampleListener.class));
+    }
+
+    @Test
+    public void testSingleListenerStaysSequential() throws Exception {
+        registerListeners(this.listener);
+        for (int i = 0; i < 2 * WINDOW; ++i) {
+            this.subject.dispatch(this.event, SampleListener::onEvent);
+        }
+        Assert.assertEquals(DispatchMode.SEQUENTIAL,
+                this.subject.getDispatchMode(SampleListener.class));
+        Assert.assertEquals(0, this.subject.getSwitchCount());
+    }
+
+    @Test
+    public void testUnknownListenerClassIsSequential() throws Exception {
+        Assert.assertEquals(DispatchMode.SEQUENTIAL,
+                this.subject.getDispatchMode(SampleListener2.class));
+        Assert.assertTrue(this.subject.getDispatchModes().isEmpty());
+    }
+}
@@ -1,18 +1,29 @@
 package de.skuzzle.jeve.providers;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.InOrder;
 import org.mockito.Mockito;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
 
+import de.skuzzle.jeve.DispatchResult;
 import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ExpirationCallback;
 import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.Priority;
 
 @RunWith(MockitoJUnitRunner.class)
 public class AsynchronousEventProviderTest extends
@@ -55,4 +66,231 @@ public class AsynchronousEventProviderTest extends
         Mockito.verify(spy).notifyListeners(this.event, bc, this.ec);
     }
 
+    @Test
+    public void testDispatchAsync() throws Exception {
+        final SampleListener listener2 = Mockito.mock(SampleListener.class);
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener, listener2).stream());
+        Mockito.doAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                final Runnable r = (Runnable) invocation.getArguments()[0];
+                r.run();
+                return null;
+            }
+        }).when(this.executor).execute(Mockito.<Runnable>any());
+
+        final CompletableFuture<DispatchResult> future = this.subject.dispatchAsync(
+                this.event, SampleListener::onEvent, this.ec);
+
+        final DispatchResult result = future.get();
+        Assert.assertEquals(2, result.getListenerCount());
+        Assert.assertFalse(result.hasFailures());
+        Mockito.verify(this.listener).onEvent(this.event);
+        Mockito.verify(listener2).onEvent(this.event);
+    }
+
+    @Test
+    public void testCloseCompletesQueuedDispatchAsync() throws Exception {
+        final CompletableFuture<DispatchResult> future = this.subject.dispatchAsync(
+                this.event, SampleListener::onEvent, this.ec);
+        Assert.assertFalse(future.isDone());
+
+        this.subject.close();
+
+        Assert.assertTrue(future.isCompletedExceptionally());
+        Mockito.verifyZeroInteractions(this.listener);
+    }
+
+    @Test
+    public void testDispatchAsyncCanNotDispatch() throws Exception {
+        Mockito.when(this.executor.isShutdown()).thenReturn(true);
+
+        final CompletableFuture<DispatchResult> future = this.subject.dispatchAsync(
+                this.event, SampleListener::onEvent, this.ec);
+
+        Assert.assertTrue(future.isDone());
+        Assert.assertEquals(0, future.get().getListenerCount());
+        Mockito.verify(this.executor, Mockito.never()).execute(Mockito.any());
+    }
+
+    @Test
+    public void testDispatchAllSingleTask() throws Exception {
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener).stream());
+        Mockito.doAnswer(new Answer<Void>() {
+
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                final Runnable r = (Runnable) invocation.getArguments()[0];
+                r.run();
+                return null;
+            }
+        }).when(this.executor).submit(Mockito.<Runnable>any());
+
+        this.subject.dispatchAll(Arrays.asList(this.event, this.event),
+                SampleListener::onEvent);
+
+        Mockito.verify(this.executor, Mockito.times(1)).submit(Mockito.<Runnable>any());
+        Mockito.verify(this.listener, Mockito.times(2)).onEvent(this.event);
+        Mockito.verify(this.store, Mockito.times(1)).get(SampleListener.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDispatchAfterDelayNull() throws Exception {
+        this.subject.dispatchAfter(null, this.event, SampleListener::onEvent);
+    }
+
+    @Test
+    public void testDispatchAfter() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener).stream());
+        Mockito.doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            latch.countDown();
+            return null;
+        }).when(this.executor).submit(Mockito.<Runnable>any());
+
+        final ScheduledDispatch handle = this.subject.dispatchAfter(
+                Duration.ofMillis(10), this.event, SampleListener::onEvent, this.ec);
+
+        Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Assert.assertTrue(handle.isDispatched());
+        Mockito.verify(this.listener).onEvent(this.event);
+        this.subject.close();
+    }
+
+    @Test
+    public void testDispatchAtCancel() throws Exception {
+        final ScheduledDispatch handle = this.subject.dispatchAt(
+                Instant.now().plusSeconds(60), this.event, SampleListener::onEvent);
+        Assert.assertEquals(1, this.subject.getScheduledCount());
+        Assert.assertTrue(handle.cancel());
+        Assert.assertEquals(0, this.subject.getScheduledCount());
+        this.subject.close();
+        Mockito.verify(this.executor, Mockito.never()).submit(Mockito.<Runnable>any());
+    }
+
+    @Test
+    public void testDispatchAfterClose() throws Exception {
+        this.subject.close();
+        final ScheduledDispatch handle = this.subject.dispatchAfter(
+                Duration.ofSeconds(60), this.event, SampleListener::onEvent);
+        Assert.assertTrue(handle.isCancelled());
+        Assert.assertEquals(0, this.subject.getScheduledCount());
+    }
+
+    @Test
+    public void testDispatchAfterNewExecutor() throws Exception {
+        this.subject.close();
+        this.subject.setExecutorService(this.executor);
+        final ScheduledDispatch handle = this.subject.dispatchAfter(
+                Duration.ofSeconds(60), this.event, SampleListener::onEvent);
+        Assert.assertFalse(handle.isCancelled());
+        Assert.assertEquals(1, this.subject.getScheduledCount());
+        this.subject.close();
+        Assert.assertTrue(handle.isCancelled());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testGetQueuedCountNull() throws Exception {
+        this.subject.getQueuedCount(null);
+    }
+
+    @Test
+    public void testHighPriorityOvertakes() throws Exception {
+        final List<Runnable> tokens = new ArrayList<>();
+        Mockito.doAnswer(invocation -> {
+            tokens.add((Runnable) invocation.getArguments()[0]);
+            return null;
+        }).when(this.executor).submit(Mockito.<Runnable>any());
+        Mockito.when(this.store.get(SampleListener.class)).thenAnswer(
+                invocation -> Arrays.asList(this.listener).stream());
+
+        @SuppressWarnings("unchecked")
+        final Event<Object, SampleListener> low = Mockito.mock(Event.class);
+        Mockito.when(low.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(low.getPriority()).thenReturn(Priority.LOW);
+        @SuppressWarnings("unchecked")
+        final Event<Object, SampleListener> high = Mockito.mock(Event.class);
+        Mockito.when(high.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(high.getPriority()).thenReturn(Priority.HIGH);
+
+        this.subject.setStrictPriority(true);
+        this.subject.dispatch(low, SampleListener::onEvent);
+        this.subject.dispatch(high, SampleListener::onEvent);
+        Assert.assertEquals(1, this.subject.getQueuedCount(Priority.HIGH));
+        tokens.forEach(Runnable::run);
+
+        final InOrder inOrder = Mockito.inOrder(this.listener);
+        inOrder.verify(this.listener).onEvent(high);
+        inOrder.verify(this.listener).onEvent(low);
+    }
+
+    @Test
+    public void testDropExpiredEvent() throws Exception {
+        final ExpirationCallback callback = Mockito.mock(ExpirationCallback.class);
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.event.isExpired()).thenReturn(true);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener).stream());
+        Mockito.doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(this.executor).submit(Mockito.<Runnable>any());
+
+        this.subject.setExpirationCallback(callback);
+        this.subject.dispatch(this.event, SampleListener::onEvent);
+
+        Mockito.verify(callback).expired(this.event);
+        Mockito.verifyZeroInteractions(this.listener);
+        Assert.assertEquals(1, this.subject.getExpiredCount());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDispatchAllDropsExpiredEvents() throws Exception {
+        final Event<Object, SampleListener> expired = Mockito.mock(Event.class);
+        Mockito.when(expired.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(expired.isExpired()).thenReturn(true);
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener).stream());
+        Mockito.doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(this.executor).submit(Mockito.<Runnable>any());
+
+        this.subject.dispatchAll(Arrays.asList(this.event, expired),
+                SampleListener::onEvent);
+
+        Mockito.verify(this.listener).onEvent(this.event);
+        Mockito.verify(this.listener, Mockito.never()).onEvent(expired);
+        Assert.assertEquals(1, this.subject.getExpiredCount());
+    }
+
+    @Test
+    public void testDispatchAsyncExpired() throws Exception {
+        Mockito.when(this.event.isExpired()).thenReturn(true);
+        Mockito.doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(this.executor).execute(Mockito.<Runnable>any());
+
+        final CompletableFuture<DispatchResult> future = this.subject.dispatchAsync(
+                this.event, SampleListener::onEvent, this.ec);
+
+        Assert.assertEquals(0, future.get().getListenerCount());
+        Assert.assertEquals(1, this.subject.getExpiredCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSetExpirationCallbackNull() throws Exception {
+        this.subject.setExpirationCallback(null);
+    }
 }
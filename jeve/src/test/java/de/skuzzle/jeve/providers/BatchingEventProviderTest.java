@@ -0,0 +1,210 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ExceptionCallback;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.invoke.FailedEventInvocation;
+import de.skuzzle.jeve.providers.BatchingEventProvider.BatchEvent;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BatchingEventProviderTest extends
+        AbstractExecutorAwareEventProviderTest<BatchingEventProvider> {
+
+    private static interface BatchListener extends Listener {
+        public void onEvents(List<Event<Object, BatchListener>> events);
+    }
+
+    private static final int MAX_BATCH_SIZE = 2;
+
+    // use the same instance for each dispatch to end up in the same batch
+    private final BiConsumer<BatchListener, List<Event<Object, BatchListener>>> bc =
+            BatchListener::onEvents;
+
+    @Override
+    protected BatchingEventProvider createSubject(ListenerStore store) {
+        return new BatchingEventProvider(store, MAX_BATCH_SIZE, 1, TimeUnit.HOURS,
+                this.executor);
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        Mockito.doAnswer(invocation -> {
+            ((Runnable) invocation.getArguments()[0]).run();
+            return null;
+        }).when(this.executor).execute(Mockito.any());
+    }
+
+    @After
+    public void tearDown() {
+        this.subject.close();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Event<Object, BatchListener> batchEvent() {
+        final Event<Object, BatchListener> e = Mockito.mock(Event.class);
+        Mockito.when(e.getListenerClass()).thenReturn(BatchListener.class);
+        return e;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMaxBatchSizeZero() throws Exception {
+        new BatchingEventProvider(this.store, 0, 1, TimeUnit.SECONDS, this.executor);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDispatchBatchedBcNull() throws Exception {
+        this.subject.dispatchBatched(batchEvent(), null);
+    }
+
+    @Test
+    public void testDeliverWhenFull() throws Exception {
+        final BatchListener listener = Mockito.mock(BatchListener.class);
+        Mockito.when(this.store.get(BatchListener.class)).thenAnswer(
+                invocation -> Arrays.asList(listener).stream());
+        final Event<Object, BatchListener> e1 = batchEvent();
+        final Event<Object, BatchListener> e2 = batchEvent();
+
+        this.subject.dispatchBatched(e1, this.bc);
+        Mockito.verifyZeroInteractions(listener);
+
+        this.subject.dispatchBatched(e2, this.bc);
+        Mockito.verify(listener).onEvents(Arrays.asList(e1, e2));
+        Assert.assertEquals(1, this.subject.getDeliveredBatchCount());
+    }
+
+    @Test
+    public void testFlush() throws Exception {
+        final BatchListener listener = Mockito.mock(BatchListener.class);
+        Mockito.when(this.store.get(BatchListener.class)).thenAnswer(
+                invocation -> Arrays.asList(listener).stream());
+        final Event<Object, BatchListener> e1 = batchEvent();
+
+        this.subject.dispatchBatched(e1, this.bc);
+        this.subject.flush();
+        Mockito.verify(listener).onEvents(Arrays.asList(e1));
+    }
+
+    @Test
+    public void testDeliverAfterLinger() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final BatchListener listener = events -> latch.countDown();
+        Mockito.when(this.store.get(BatchListener.class)).thenAnswer(
+                invocation -> Arrays.asList(listener).stream());
+        final BatchingEventProvider lingering = new BatchingEventProvider(
+                this.store, 100, 10, TimeUnit.MILLISECONDS, this.executor);
+
+        try {
+            lingering.dispatchBatched(batchEvent(), this.bc);
+            Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+        } finally {
+            lingering.close();
+        }
+    }
+
+    @Test
+    public void testExceptionIsPassedToCallback() throws Exception {
+        final ExceptionCallback callback = Mockito.mock(ExceptionCallback.class);
+        final BatchListener listener = events -> {
+            throw new IllegalStateException();
+        };
+        Mockito.when(this.store.get(BatchListener.class)).thenAnswer(
+                invocation -> Arrays.asList(listener).stream());
+
+        this.subject.dispatchBatched(batchEvent(), this.bc, callback);
+        this.subject.dispatchBatched(batchEvent(), this.bc, callback);
+        Mockito.verify(callback).exception(Mockito.any());
+    }
+
+    @Test
+    public void testHandledEventsAreRemovedFromBatch() throws Exception {
+        final BatchListener listener = Mockito.mock(BatchListener.class);
+        Mockito.when(this.store.get(BatchListener.class)).thenAnswer(
+                invocation -> Arrays.asList(listener).stream());
+        final Event<Object, BatchListener> e1 = batchEvent();
+        final Event<Object, BatchListener> e2 = batchEvent();
+        Mockito.when(e2.isHandled()).thenReturn(true);
+
+        this.subject.dispatchBatched(e1, this.bc);
+        this.subject.dispatchBatched(e2, this.bc);
+        Mockito.verify(listener).onEvents(Arrays.asList(e1));
+    }
+
+    @Test
+    public void testHandledBatchSkipsRemainingListeners() throws Exception {
+        final ExceptionCallback callback = Mockito.mock(ExceptionCallback.class);
+        Mockito.doAnswer(invocation -> {
+            final FailedEventInvocation failed =
+                    (FailedEventInvocation) invocation.getArguments()[0];
+            Assert.assertTrue(failed.getEvent() instanceof BatchEvent);
+            failed.getEvent().setHandled(true);
+            return null;
+        }).when(callback).exception(Mockito.any());
+        final BatchListener failing = events -> {
+            throw new IllegalStateException();
+        };
+        final BatchListener listener = Mockito.mock(BatchListener.class);
+        Mockito.when(this.store.get(BatchListener.class)).thenAnswer(
+                invocation -> Arrays.asList(failing, listener).stream());
+
+        this.subject.dispatchBatched(batchEvent(), this.bc, callback);
+        this.subject.dispatchBatched(batchEvent(), this.bc, callback);
+        Mockito.verify(callback).exception(Mockito.any());
+        Mockito.verifyZeroInteractions(listener);
+    }
+
+    @Test
+    public void testDeliveredBatchIsRemoved() throws Exception {
+        Mockito.when(this.store.get(BatchListener.class)).thenAnswer(
+                invocation -> Arrays.asList().stream());
+
+        this.subject.dispatchBatched(batchEvent(), this.bc);
+        Assert.assertEquals(1, this.subject.getPendingBatchCount());
+        this.subject.dispatchBatched(batchEvent(), this.bc);
+        Assert.assertEquals(0, this.subject.getPendingBatchCount());
+    }
+
+    @Test
+    public void testCloseDrainsPendingBatches() throws Exception {
+        final BatchListener listener = Mockito.mock(BatchListener.class);
+        Mockito.when(this.store.get(BatchListener.class)).thenAnswer(
+                invocation -> Arrays.asList(listener).stream());
+        final Event<Object, BatchListener> e1 = batchEvent();
+
+        this.subject.dispatchBatched(e1, this.bc);
+        this.subject.setDrainOnClose(1, TimeUnit.SECONDS);
+        this.subject.close();
+
+        Mockito.verify(listener).onEvents(Arrays.asList(e1));
+        Assert.assertEquals(0, this.subject.getPendingBatchCount());
+    }
+
+    @Test
+    public void testDispatchBatchedAfterClose() throws Exception {
+        this.subject.close();
+        this.subject.dispatchBatched(batchEvent(), this.bc);
+        Assert.assertEquals(0, this.subject.getPendingBatchCount());
+    }
+
+    @Test
+    public void testDispatchBatchedAfterNewExecutor() throws Exception {
+        this.subject.close();
+        this.subject.setExecutorService(this.executor);
+        this.subject.dispatchBatched(batchEvent(), this.bc);
+        Assert.assertEquals(1, this.subject.getPendingBatchCount());
+    }
+}
@@ -0,0 +1,163 @@
+package de.skuzzle.jeve.providers;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ListenerStore;
+
+public class BufferedAWTEventProviderTest extends
+        AbstractEventProviderTest<BufferedAWTEventProvider> {
+
+    @Override
+    protected BufferedAWTEventProvider createSubject(ListenerStore store) {
+        return new BufferedAWTEventProvider(store);
+    }
+
+    private static void flushEventQueue() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {});
+    }
+
+    @Override
+    @Test
+    public void testDispatch() throws Exception {
+        final SampleListener listener2 = mock(SampleListener.class);
+        when(this.store.get(SampleListener.class)).thenReturn(
+                Stream.of(this.listener, listener2));
+        when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        this.subject.dispatch(this.event, SampleListener::onEvent);
+        flushEventQueue();
+
+        verify(this.listener).onEvent(this.event);
+        verify(listener2).onEvent(this.event);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeyFunctionNull() throws Exception {
+        new BufferedAWTEventProvider(this.store, null);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDrainBudgetUnitNull() throws Exception {
+        this.subject.setDrainBudget(1, null);
+    }
+
+    @Test
+    public void testIsNotInvokeNow() throws Exception {
+        Assert.assertFalse(this.subject.isInvokeNow());
+    }
+
+    @Test
+    public void testBurstUsesSingleDrain() throws Exception {
+        final CountDownLatch blockEdt = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            try {
+                blockEdt.await(2, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        final List<Event<?, ?>> received = new ArrayList<>();
+        final SampleListener collecting = received::add;
+        when(this.store.get(SampleListener.class)).then(
+                inv -> Stream.of(collecting));
+
+        final List<Event<?, ?>> dispatched = new ArrayList<>();
+        for (int i = 0; i < 100; ++i) {
+            final Event<Object, SampleListener> e = new Event<>(this,
+                    SampleListener.class);
+            dispatched.add(e);
+            this.subject.dispatch(e, SampleListener::onEvent);
+        }
+        Assert.assertEquals(100, this.subject.getBufferedCount());
+
+        blockEdt.countDown();
+        flushEventQueue();
+
+        Assert.assertEquals(dispatched, received);
+        Assert.assertEquals(1, this.subject.getScheduledDrainCount());
+        Assert.assertEquals(0, this.subject.getBufferedCount());
+    }
+
+    @Test
+    public void testCoalesce() throws Exception {
+        final BufferedAWTEventProvider subject = new BufferedAWTEventProvider(
+                this.store, e -> "key");
+        final CountDownLatch blockEdt = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            try {
+                blockEdt.await(2, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        final SampleListener listener = mock(SampleListener.class);
+        when(this.store.get(SampleListener.class)).then(
+                inv -> Stream.of(listener));
+        final Event<Object, SampleListener> first = new Event<>(this,
+                SampleListener.class);
+        final Event<Object, SampleListener> second = new Event<>(this,
+                SampleListener.class);
+
+        final CompletableFuture<DispatchResult> firstResult = subject.dispatchAsync(
+                first, SampleListener::onEvent);
+        subject.dispatch(second, SampleListener::onEvent);
+        blockEdt.countDown();
+        flushEventQueue();
+
+        verify(listener, never()).onEvent(first);
+        verify(listener).onEvent(second);
+        Assert.assertEquals(0, firstResult.get().getListenerCount());
+        Assert.assertEquals(1, subject.getCoalescedCount());
+    }
+
+    @Test
+    public void testDrainBudgetReschedules() throws Exception {
+        final List<Integer> order = new ArrayList<>();
+        final BufferedAWTEventProvider subject = new BufferedAWTEventProvider(
+                this.store);
+        subject.setDrainBudget(1, TimeUnit.NANOSECONDS);
+
+        final CountDownLatch blockEdt = new CountDownLatch(1);
+        SwingUtilities.invokeLater(() -> {
+            try {
+                blockEdt.await(2, TimeUnit.SECONDS);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        final SampleListener listener = e -> order.add(order.size());
+        when(this.store.get(SampleListener.class)).then(
+                inv -> Stream.of(listener));
+        for (int i = 0; i < 3; ++i) {
+            subject.dispatch(new Event<>(this, SampleListener.class),
+                    SampleListener::onEvent);
+        }
+        blockEdt.countDown();
+
+        // each drain delivers a single event and reschedules itself
+        for (int i = 0; i < 3; ++i) {
+            flushEventQueue();
+        }
+        Assert.assertEquals(Arrays.asList(0, 1, 2), order);
+        Assert.assertEquals(3, subject.getScheduledDrainCount());
+    }
+}
@@ -0,0 +1,132 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.ListenerStore;
+
+public class BulkheadEventProviderTest extends
+        AbstractExecutorAwareEventProviderTest<BulkheadEventProvider> {
+
+    @Override
+    protected BulkheadEventProvider createSubject(ListenerStore store) {
+        return new BulkheadEventProvider(store, this.executor);
+    }
+
+    @After
+    public void tearDown() {
+        this.subject.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddBulkheadTwice() throws Exception {
+        this.subject.addBulkhead(SampleListener.class, 1, 1);
+        this.subject.addBulkhead(SampleListener.class, 1, 1);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddBulkheadNoConcurrency() throws Exception {
+        this.subject.addBulkhead(SampleListener.class, 0, 1);
+    }
+
+    @Test
+    @Override
+    public void testDispatch() throws Exception {
+        final SampleListener listener2 = Mockito.mock(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener, listener2).stream());
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        this.subject.dispatch(this.event, SampleListener::onEvent);
+        Mockito.verify(this.executor, Mockito.times(2)).submit(Mockito.<Runnable>any());
+    }
+
+    @Test
+    public void testRouteToBulkhead() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final SampleListener listener = event -> latch.countDown();
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(listener).stream());
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        final Bulkhead bulkhead = this.subject.addBulkhead(SampleListener.class, 1, 1);
+
+        this.subject.dispatch(this.event, SampleListener::onEvent);
+
+        Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Assert.assertTrue(this.subject.awaitIdle(2, TimeUnit.SECONDS));
+        Assert.assertEquals(1, bulkhead.getCompletedCount());
+        Mockito.verify(this.executor, Mockito.never()).submit(Mockito.<Runnable>any());
+    }
+
+    @Test
+    public void testSaturatedBulkheadRejects() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final SampleListener listener = event -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Mockito.when(this.store.get(SampleListener.class)).thenAnswer(
+                invocation -> Arrays.asList(listener).stream());
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        final Bulkhead bulkhead = this.subject.addBulkhead(SampleListener.class, 1, 0);
+
+        try {
+            this.subject.dispatch(this.event, SampleListener::onEvent);
+            Assert.assertTrue(started.await(2, TimeUnit.SECONDS));
+            Assert.assertEquals(1.0, bulkhead.getSaturation(), 0.0);
+
+            this.subject.dispatch(this.event, SampleListener::onEvent);
+            Assert.assertEquals(1, bulkhead.getRejectedCount());
+            Mockito.verify(this.executor, Mockito.never()).submit(Mockito.<Runnable>any());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    public void testCloseCompletesQueuedDispatchAsync() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final SampleListener listener = event -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Mockito.when(this.store.get(SampleListener.class)).thenAnswer(
+                invocation -> Arrays.asList(listener).stream());
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        this.subject.addBulkhead(SampleListener.class, 1, 1);
+
+        final CompletableFuture<DispatchResult> running = this.subject.dispatchAsync(
+                this.event, SampleListener::onEvent, this.ec);
+        Assert.assertTrue(started.await(2, TimeUnit.SECONDS));
+        final CompletableFuture<DispatchResult> queued = this.subject.dispatchAsync(
+                this.event, SampleListener::onEvent, this.ec);
+
+        this.subject.close();
+
+        running.get(2, TimeUnit.SECONDS);
+        try {
+            queued.get(2, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (final ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof CancellationException);
+        }
+    }
+}
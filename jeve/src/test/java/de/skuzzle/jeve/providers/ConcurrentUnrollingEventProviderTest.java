@@ -0,0 +1,146 @@
+package de.skuzzle.jeve.providers;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import de.skuzzle.jeve.AbortionException;
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.SequentialEvent;
+
+public class ConcurrentUnrollingEventProviderTest extends
+        AbstractEventProviderTest<ConcurrentUnrollingEventProvider> {
+
+    @Override
+    protected ConcurrentUnrollingEventProvider createSubject(ListenerStore store) {
+        return new ConcurrentUnrollingEventProvider(store);
+    }
+
+    @Test
+    public void testNestedDispatchIsDeferred() {
+        final List<String> order = new ArrayList<>();
+        final SequentialEvent<?, SampleListener2> e2 =
+                new SequentialEvent<>(this, SampleListener2.class);
+        final SampleListener l = e -> {
+            this.subject.dispatch(e2, SampleListener2::onEvent);
+            order.add("outer");
+        };
+        final SampleListener2 l2 = e -> order.add("nested");
+        when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        when(this.store.get(SampleListener.class)).thenReturn(Stream.of(l));
+        when(this.store.get(SampleListener2.class)).thenReturn(Stream.of(l2));
+        this.subject.dispatch(this.event, SampleListener::onEvent);
+
+        Assert.assertEquals(Arrays.asList("outer", "nested"), order);
+    }
+
+    @Test
+    public void testThreadsUnrollIndependently() throws Exception {
+        final CountDownLatch inProgress = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final SampleListener blocking = e -> {
+            inProgress.countDown();
+            try {
+                release.await();
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        final SampleListener2 l2 = mock(SampleListener2.class);
+        final SequentialEvent<?, SampleListener2> e2 =
+                new SequentialEvent<>(this, SampleListener2.class);
+        when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        when(this.store.get(SampleListener.class)).thenReturn(Stream.of(blocking));
+        when(this.store.get(SampleListener2.class)).thenReturn(Stream.of(l2));
+
+        final Thread other = new Thread(() -> this.subject.dispatch(this.event,
+                SampleListener::onEvent));
+        other.start();
+        try {
+            Assert.assertTrue(inProgress.await(2, TimeUnit.SECONDS));
+
+            // must not be queued behind the dispatch action of the other thread
+            this.subject.dispatch(e2, SampleListener2::onEvent);
+            verify(l2).onEvent(e2);
+        } finally {
+            release.countDown();
+            other.join(2000);
+        }
+    }
+
+    @Test
+    public void testNestedDispatchAsync() throws Exception {
+        final SequentialEvent<?, SampleListener2> e2 =
+                new SequentialEvent<>(this, SampleListener2.class);
+        final List<CompletableFuture<DispatchResult>> nested = new ArrayList<>();
+        final SampleListener l = e -> {
+            nested.add(this.subject.dispatchAsync(e2, SampleListener2::onEvent));
+            Assert.assertFalse(nested.get(0).isDone());
+        };
+        final SampleListener2 l2 = mock(SampleListener2.class);
+        when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        when(this.store.get(SampleListener.class)).thenReturn(Stream.of(l));
+        when(this.store.get(SampleListener2.class)).thenReturn(Stream.of(l2));
+        this.subject.dispatch(this.event, SampleListener::onEvent);
+
+        final DispatchResult result = nested.get(0).get(0, TimeUnit.SECONDS);
+        Assert.assertEquals(1, result.getListenerCount());
+        verify(l2).onEvent(e2);
+    }
+
+    @Test
+    public void testNestedDispatchAsyncCancelledOnAbort() throws Exception {
+        final SequentialEvent<?, SampleListener2> e2 =
+                new SequentialEvent<>(this, SampleListener2.class);
+        final List<CompletableFuture<DispatchResult>> nested = new ArrayList<>();
+        final SampleListener l = e -> {
+            nested.add(this.subject.dispatchAsync(e2, SampleListener2::onEvent));
+            throw new AbortionException();
+        };
+        when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        when(this.store.get(SampleListener.class)).thenReturn(Stream.of(l));
+        try {
+            this.subject.dispatch(this.event, SampleListener::onEvent);
+            Assert.fail();
+        } catch (final AbortionException expected) {
+            Assert.assertTrue(nested.get(0).isCancelled());
+        }
+    }
+
+    @Test
+    public void testQueueClearedAfterAbort() throws Exception {
+        final SequentialEvent<?, SampleListener2> e2 =
+                new SequentialEvent<>(this, SampleListener2.class);
+        final SampleListener l = e -> {
+            this.subject.dispatch(e2, SampleListener2::onEvent);
+            throw new AbortionException();
+        };
+        final SampleListener2 l2 = mock(SampleListener2.class);
+        when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        when(this.store.get(SampleListener.class)).thenReturn(Stream.of(l),
+                Stream.empty());
+        when(this.store.get(SampleListener2.class)).thenReturn(Stream.of(l2));
+        try {
+            this.subject.dispatch(this.event, SampleListener::onEvent);
+            Assert.fail();
+        } catch (final AbortionException expected) {
+            // the nested event must not be delivered by the next dispatch
+            this.subject.dispatch(this.event, SampleListener::onEvent);
+            verify(l2, never()).onEvent(e2);
+        }
+    }
+}
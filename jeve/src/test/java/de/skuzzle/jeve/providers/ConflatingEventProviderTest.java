@@ -0,0 +1,164 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.ListenerStore;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ConflatingEventProviderTest extends
+        AbstractExecutorAwareEventProviderTest<ConflatingEventProvider> {
+
+    private final List<Runnable> tasks = new ArrayList<>();
+
+    @Override
+    protected ConflatingEventProvider createSubject(ListenerStore store) {
+        final Function<Event<?, ?>, Object> keyFunction = Event::getSource;
+        return new ConflatingEventProvider(store, keyFunction, this.executor);
+    }
+
+    @Override
+    public void setUp() throws Exception {
+        super.setUp();
+        Mockito.doAnswer(invocation -> {
+            this.tasks.add((Runnable) invocation.getArguments()[0]);
+            return null;
+        }).when(this.executor).execute(Mockito.any());
+    }
+
+    private void runTasks() {
+        this.tasks.forEach(Runnable::run);
+        this.tasks.clear();
+    }
+
+    private Event<Object, SampleListener> event(Object source) {
+        @SuppressWarnings("unchecked")
+        final Event<Object, SampleListener> e = Mockito.mock(Event.class);
+        Mockito.when(e.getSource()).thenReturn(source);
+        Mockito.when(e.getListenerClass()).thenReturn(SampleListener.class);
+        return e;
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testKeyFunctionNull() throws Exception {
+        new ConflatingEventProvider(this.store, null, this.executor);
+    }
+
+    @Override
+    @Test
+    public void testDispatch() throws Exception {
+        final SampleListener listener2 = Mockito.mock(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener, listener2).stream());
+        Mockito.when(this.event.getSource()).thenReturn("key");
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        this.subject.dispatch(this.event, SampleListener::onEvent);
+        runTasks();
+
+        Mockito.verify(this.listener).onEvent(this.event);
+        Mockito.verify(listener2).onEvent(this.event);
+    }
+
+    @Test
+    public void testConflateSameKey() throws Exception {
+        Mockito.when(this.store.get(SampleListener.class)).thenAnswer(
+                invocation -> Arrays.asList(this.listener).stream());
+        final Event<Object, SampleListener> first = event("key");
+        final Event<Object, SampleListener> second = event("key");
+        final Event<Object, SampleListener> other = event("other");
+
+        this.subject.dispatch(first, SampleListener::onEvent);
+        this.subject.dispatch(other, SampleListener::onEvent);
+        this.subject.dispatch(second, SampleListener::onEvent);
+        Assert.assertEquals(2, this.tasks.size());
+        Assert.assertEquals(2, this.subject.getPendingKeyCount());
+        runTasks();
+
+        Mockito.verify(this.listener, Mockito.never()).onEvent(first);
+        Mockito.verify(this.listener).onEvent(second);
+        Mockito.verify(this.listener).onEvent(other);
+        Assert.assertEquals(1, this.subject.getConflatedCount());
+        Assert.assertEquals(0, this.subject.getPendingKeyCount());
+    }
+
+    @Test
+    public void testNullKeyIsNotConflated() throws Exception {
+        Mockito.when(this.store.get(SampleListener.class)).thenAnswer(
+                invocation -> Arrays.asList(this.listener).stream());
+        final Event<Object, SampleListener> first = event(null);
+        final Event<Object, SampleListener> second = event(null);
+        Mockito.doAnswer(invocation -> {
+            this.tasks.add((Runnable) invocation.getArguments()[0]);
+            return null;
+        }).when(this.executor).submit(Mockito.<Runnable>any());
+
+        this.subject.dispatch(first, SampleListener::onEvent);
+        this.subject.dispatch(second, SampleListener::onEvent);
+        runTasks();
+
+        Mockito.verify(this.listener).onEvent(first);
+        Mockito.verify(this.listener).onEvent(second);
+        Assert.assertEquals(0, this.subject.getConflatedCount());
+    }
+
+    @Test
+    public void testDispatchAsyncConflated() throws Exception {
+        Mockito.when(this.store.get(SampleListener.class)).thenAnswer(
+                invocation -> Arrays.asList(this.listener).stream());
+        final Event<Object, SampleListener> first = event("key");
+        final Event<Object, SampleListener> second = event("key");
+
+        final CompletableFuture<DispatchResult> f1 = this.subject.dispatchAsync(
+                first, SampleListener::onEvent, this.ec);
+        final CompletableFuture<DispatchResult> f2 = this.subject.dispatchAsync(
+                second, SampleListener::onEvent, this.ec);
+
+        Assert.assertTrue(f1.isDone());
+        Assert.assertEquals(0, f1.get().getListenerCount());
+        Assert.assertFalse(f2.isDone());
+
+        runTasks();
+        Assert.assertEquals(1, f2.get().getListenerCount());
+    }
+
+    @Test
+    public void testRejectedExecutionRemovesPendingKey() throws Exception {
+        Mockito.doThrow(RejectedExecutionException.class).when(this.executor)
+                .execute(Mockito.any());
+        final Event<Object, SampleListener> first = event("key");
+
+        try {
+            this.subject.dispatch(first, SampleListener::onEvent, this.ec);
+            Assert.fail("Expected RejectedExecutionException");
+        } catch (final RejectedExecutionException expected) {
+            // expected
+        }
+        Assert.assertEquals(0, this.subject.getPendingKeyCount());
+
+        Mockito.doAnswer(invocation -> {
+            this.tasks.add((Runnable) invocation.getArguments()[0]);
+            return null;
+        }).when(this.executor).execute(Mockito.any());
+        Mockito.when(this.store.get(SampleListener.class)).thenAnswer(
+                invocation -> Arrays.asList(this.listener).stream());
+        final Event<Object, SampleListener> second = event("key");
+        final CompletableFuture<DispatchResult> result = this.subject.dispatchAsync(
+                second, SampleListener::onEvent, this.ec);
+        runTasks();
+
+        Assert.assertEquals(1, result.get().getListenerCount());
+        Mockito.verify(this.listener).onEvent(second);
+    }
+}
@@ -0,0 +1,191 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.ListenerStore;
+import de.skuzzle.jeve.SequentialEvent;
+import de.skuzzle.jeve.providers.EventLoopEventProvider.BudgetCallback;
+
+public class EventLoopEventProviderTest extends
+        AbstractEventProviderTest<EventLoopEventProvider> {
+
+    @Override
+    protected EventLoopEventProvider createSubject(ListenerStore store) {
+        return new EventLoopEventProvider(store);
+    }
+
+    @After
+    public void tearDown() {
+        this.subject.close();
+    }
+
+    @Test
+    public void testIsSequential() throws Exception {
+        Mockito.when(this.store.isSequential()).thenReturn(true);
+        Assert.assertTrue(this.subject.isSequential());
+    }
+
+    @Test
+    public void testCanNotDispatchAfterClose() throws Exception {
+        this.subject.close();
+        Assert.assertFalse(this.subject.canDispatch());
+    }
+
+    @Test
+    public void testCloseDispatchesQueuedEvents() throws Exception {
+        final SampleListener slow = e -> {
+            try {
+                Thread.sleep(20);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenAnswer(
+                invocation -> Stream.of(slow));
+
+        final List<CompletableFuture<DispatchResult>> results = new ArrayList<>();
+        for (int i = 0; i < 5; ++i) {
+            results.add(this.subject.dispatchAsync(this.event, SampleListener::onEvent));
+        }
+        this.subject.close();
+
+        for (final CompletableFuture<DispatchResult> result : results) {
+            Assert.assertTrue(result.isDone());
+            Assert.assertEquals(1, result.get().getListenerCount());
+        }
+        Assert.assertEquals(0, this.subject.getQueueSize());
+    }
+
+    @Test
+    public void testDispatchWhileClosingIsDiscarded() throws Exception {
+        final List<CompletableFuture<DispatchResult>> nested = new ArrayList<>();
+        final SampleListener l = e -> {
+            this.subject.close();
+            nested.add(this.subject.dispatchAsync(this.event, SampleListener::onEvent));
+        };
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenAnswer(
+                invocation -> Stream.of(l));
+
+        this.subject.dispatchAsync(this.event, SampleListener::onEvent)
+                .get(2, TimeUnit.SECONDS);
+
+        Assert.assertEquals(0, nested.get(0).get().getListenerCount());
+    }
+
+    @Override
+    @Test
+    public void testDispatch() throws Exception {
+        final SampleListener listener2 = Mockito.mock(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener, listener2).stream());
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+
+        final DispatchResult result = this.subject
+                .dispatchAsync(this.event, SampleListener::onEvent)
+                .get(2, TimeUnit.SECONDS);
+
+        Assert.assertEquals(2, result.getListenerCount());
+        Mockito.verify(this.listener).onEvent(this.event);
+        Mockito.verify(listener2).onEvent(this.event);
+        Assert.assertEquals(1, this.subject.getDispatchedCount());
+    }
+
+    @Test
+    public void testRunToCompletion() throws Exception {
+        final List<String> order = new ArrayList<>();
+        final SequentialEvent<?, SampleListener2> e2 =
+                new SequentialEvent<>(this, SampleListener2.class);
+        final SampleListener l = e -> {
+            Assert.assertTrue(this.subject.inEventLoop());
+            this.subject.dispatch(e2, SampleListener2::onEvent);
+            order.add("first");
+        };
+        final SampleListener2 l2 = e -> order.add("second");
+
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(Stream.of(l));
+        Mockito.when(this.store.get(SampleListener2.class)).thenAnswer(
+                invocation -> Stream.of(l2));
+
+        // nested event is queued before the outer dispatch completes
+        this.subject.dispatchAsync(this.event, SampleListener::onEvent)
+                .get(2, TimeUnit.SECONDS);
+        this.subject.dispatchAsync(e2, SampleListener2::onEvent)
+                .get(2, TimeUnit.SECONDS);
+
+        Assert.assertEquals(Arrays.asList("first", "second", "second"), order);
+    }
+
+    @Test
+    public void testInterruptIsClearedAfterDispatch() throws Exception {
+        final SequentialEvent<?, SampleListener2> e2 =
+                new SequentialEvent<>(this, SampleListener2.class);
+        final AtomicBoolean interrupted = new AtomicBoolean(true);
+        final SampleListener l = e -> Thread.currentThread().interrupt();
+        final SampleListener2 l2 = e -> interrupted.set(
+                Thread.currentThread().isInterrupted());
+
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(Stream.of(l));
+        Mockito.when(this.store.get(SampleListener2.class)).thenReturn(Stream.of(l2));
+
+        this.subject.dispatchAsync(this.event, SampleListener::onEvent)
+                .get(2, TimeUnit.SECONDS);
+        this.subject.dispatchAsync(e2, SampleListener2::onEvent)
+                .get(2, TimeUnit.SECONDS);
+
+        Assert.assertFalse(interrupted.get());
+    }
+
+    @Test
+    public void testBudgetExceeded() throws Exception {
+        final BudgetCallback callback = Mockito.mock(BudgetCallback.class);
+        final SampleListener slow = e -> {
+            try {
+                Thread.sleep(20);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(slow, this.listener).stream());
+
+        this.subject.setListenerBudget(5, TimeUnit.MILLISECONDS);
+        this.subject.setBudgetCallback(callback);
+        this.subject.dispatchAsync(this.event, SampleListener::onEvent)
+                .get(2, TimeUnit.SECONDS);
+
+        Assert.assertEquals(1, this.subject.getBudgetExceededCount());
+        Mockito.verify(callback).budgetExceeded(Mockito.any(), Mockito.anyLong());
+    }
+
+    @Test
+    public void testQueueLatency() throws Exception {
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(Stream.empty());
+
+        this.subject.dispatchAsync(this.event, SampleListener::onEvent)
+                .get(2, TimeUnit.SECONDS);
+
+        Assert.assertTrue(this.subject.getMaxQueueLatency(TimeUnit.NANOSECONDS) > 0);
+        Assert.assertEquals(0, this.subject.getLoopLag(TimeUnit.NANOSECONDS));
+
+        this.subject.resetStatistics();
+        Assert.assertEquals(0, this.subject.getDispatchedCount());
+    }
+}
@@ -3,6 +3,7 @@ package de.skuzzle.jeve.providers;
 import java.util.Arrays;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -100,4 +101,74 @@ public class EventStackImplTest {
         Assert.assertTrue(this.subject.isAnyActive(Arrays.asList(SampleListener.class, OtherListener.class)));
         Assert.assertFalse(this.subject.isAnyActive(Arrays.asList(SampleListener.class)));
     }
+
+    @Test
+    public void testPreventedWithEventStack() {
+        final SequentialEvent<?, SampleListener> first = new SequentialEvent<>(new Object(), SampleListener.class);
+        final SequentialEvent<?, SampleListener> second = new SequentialEvent<>(new Object(), SampleListener.class);
+        first.preventCascade(OtherListener.class);
+        second.preventCascade(OtherListener.class);
+        first.setEventStack(this.subject);
+        second.setEventStack(this.subject);
+
+        this.subject.pushEvent(first);
+        this.subject.pushEvent(second);
+        Assert.assertSame(first, this.subject.preventDispatch(OtherListener.class).get());
+        Assert.assertFalse(this.subject.preventDispatch(SampleListener.class).isPresent());
+
+        this.subject.popEvent(second);
+        Assert.assertSame(first, this.subject.preventDispatch(OtherListener.class).get());
+
+        this.subject.popEvent(first);
+        Assert.assertFalse(this.subject.preventDispatch(OtherListener.class).isPresent());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testNotActiveAfterPop() {
+        final Event<?, SampleListener> event = Mockito.mock(Event.class);
+        Mockito.when(event.getListenerClass()).thenReturn(SampleListener.class);
+
+        this.subject.pushEvent(event);
+        this.subject.pushEvent(event);
+        this.subject.popEvent(event);
+        Assert.assertTrue(this.subject.isActive(SampleListener.class));
+
+        this.subject.popEvent(event);
+        Assert.assertFalse(this.subject.isActive(SampleListener.class));
+        Assert.assertFalse(this.subject.peek().isPresent());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testGrow() {
+        final Event<?, SampleListener> event = Mockito.mock(Event.class);
+        Mockito.when(event.getListenerClass()).thenReturn(SampleListener.class);
+
+        for (int i = 0; i < 100; ++i) {
+            this.subject.pushEvent(event);
+        }
+        for (int i = 0; i < 100; ++i) {
+            this.subject.popEvent(event);
+        }
+        Assert.assertFalse(this.subject.isActive(SampleListener.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testThreadConfined() throws Exception {
+        final Event<?, SampleListener> event = Mockito.mock(Event.class);
+        Mockito.when(event.getListenerClass()).thenReturn(SampleListener.class);
+        this.subject.pushEvent(event);
+
+        final AtomicBoolean activeInOtherThread = new AtomicBoolean(true);
+        final Thread thread = new Thread(() -> activeInOtherThread.set(
+                this.subject.isActive(SampleListener.class)
+                        || this.subject.peek().isPresent()));
+        thread.start();
+        thread.join();
+
+        Assert.assertFalse(activeInOtherThread.get());
+        Assert.assertTrue(this.subject.isActive(SampleListener.class));
+    }
 }
@@ -50,4 +50,27 @@ public class ParallelEventProviderTest extends
         this.subject.dispatch(this.event, SampleListener::onEvent);
         Mockito.verify(this.executor, Mockito.times(2)).submit(Mockito.<Runnable>any());
     }
+
+    @Test
+    public void testDispatchHandledEvent() throws Exception {
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener).stream());
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.event.isHandled()).thenReturn(true);
+        this.subject.dispatch(this.event, SampleListener::onEvent);
+        Mockito.verify(this.executor, Mockito.never()).submit(Mockito.<Runnable>any());
+    }
+
+    @Test
+    public void testDispatchAllCountsExpiredEventOnce() throws Exception {
+        final SampleListener listener2 = Mockito.mock(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener, listener2).stream());
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.event.isExpired()).thenReturn(true);
+        this.subject.dispatchAll(Arrays.asList(this.event), SampleListener::onEvent);
+
+        Assert.assertEquals(1, this.subject.getExpiredCount());
+        Mockito.verify(this.executor, Mockito.never()).submit(Mockito.<Runnable>any());
+    }
 }
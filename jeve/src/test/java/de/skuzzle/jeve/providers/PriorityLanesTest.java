@@ -0,0 +1,133 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import de.skuzzle.jeve.Priority;
+
+public class PriorityLanesTest {
+
+    private ExecutorService executor;
+    private PriorityLanes subject;
+    private CountDownLatch gate;
+    private List<String> order;
+
+    @Before
+    public void setUp() {
+        this.executor = Executors.newSingleThreadExecutor();
+        this.subject = new PriorityLanes();
+        this.gate = new CountDownLatch(1);
+        this.order = Collections.synchronizedList(new ArrayList<>());
+
+        // block the executor so that all following tasks are queued
+        this.executor.execute(() -> {
+            try {
+                this.gate.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+    }
+
+    @After
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    private void enqueue(Priority priority, String name) {
+        this.subject.execute(priority, () -> this.order.add(name),
+                this.executor::execute);
+    }
+
+    private void runQueued() throws Exception {
+        final Future<?> last = this.subject.submit(Priority.LOW,
+                () -> this.order.add("last"), this.executor::execute);
+        this.gate.countDown();
+        last.get(2, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testStrict() throws Exception {
+        this.subject.setStrict(true);
+        enqueue(Priority.LOW, "L1");
+        enqueue(Priority.NORMAL, "N1");
+        enqueue(Priority.HIGH, "H1");
+        enqueue(Priority.HIGH, "H2");
+        Assert.assertEquals(2, this.subject.getQueuedCount(Priority.HIGH));
+        runQueued();
+
+        Assert.assertEquals(Arrays.asList("H1", "H2", "N1", "L1", "last"), this.order);
+        Assert.assertEquals(0, this.subject.getQueuedCount(Priority.HIGH));
+    }
+
+    @Test
+    public void testWeightedDoesNotStarve() throws Exception {
+        for (int i = 0; i < 10; ++i) {
+            enqueue(Priority.HIGH, "H");
+        }
+        enqueue(Priority.LOW, "L");
+        runQueued();
+
+        // at most 4 HIGH tasks in a row before LOW gets its turn
+        Assert.assertTrue(this.order.indexOf("L") < 10);
+    }
+
+    @Test
+    public void testNullIsNormal() throws Exception {
+        this.subject.setStrict(true);
+        enqueue(Priority.LOW, "L1");
+        enqueue(null, "N1");
+        Assert.assertEquals(1, this.subject.getQueuedCount(null));
+        runQueued();
+
+        Assert.assertEquals(Arrays.asList("N1", "L1", "last"), this.order);
+    }
+
+    @Test
+    public void testRejectedTokenRemovesOnlyItsOwnTask() throws Exception {
+        final Runnable shared = () -> this.order.add("shared");
+        this.subject.execute(Priority.NORMAL, shared, this.executor::execute);
+        try {
+            this.subject.execute(Priority.NORMAL, shared, token -> {
+                throw new RejectedExecutionException();
+            });
+            Assert.fail("Expected RejectedExecutionException");
+        } catch (final RejectedExecutionException expected) {
+            // expected
+        }
+        Assert.assertEquals(1, this.subject.getQueuedCount(Priority.NORMAL));
+        runQueued();
+
+        Assert.assertEquals(Arrays.asList("shared", "last"), this.order);
+    }
+
+    @Test
+    public void testClearCancelsSubmittedTasks() throws Exception {
+        final Future<?> future = this.subject.submit(Priority.HIGH,
+                () -> this.order.add("H1"), this.executor::execute);
+        enqueue(Priority.LOW, "L1");
+
+        Assert.assertEquals(2, this.subject.clear());
+        Assert.assertTrue(future.isCancelled());
+        Assert.assertEquals(0, this.subject.getQueuedCount(Priority.HIGH));
+        Assert.assertEquals(0, this.subject.getQueuedCount(Priority.LOW));
+
+        this.gate.countDown();
+        this.executor.shutdown();
+        Assert.assertTrue(this.executor.awaitTermination(2, TimeUnit.SECONDS));
+        Assert.assertTrue(this.order.isEmpty());
+    }
+}
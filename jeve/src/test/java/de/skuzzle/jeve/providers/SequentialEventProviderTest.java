@@ -1,15 +1,19 @@
 package de.skuzzle.jeve.providers;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
 
 import org.junit.Assert;
 import org.junit.Test;
 import org.mockito.InOrder;
 import org.mockito.Mockito;
 
+import de.skuzzle.jeve.BatchOrder;
+import de.skuzzle.jeve.DispatchResult;
 import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.ListenerStore;
 import de.skuzzle.jeve.SequentialEvent;
@@ -71,4 +75,73 @@ public class SequentialEventProviderTest extends
         Mockito.when(this.store.isSequential()).thenReturn(true);
         Assert.assertTrue(this.subject.isSequential());
     }
+
+    @Test
+    public void testDispatchAsyncResult() throws Exception {
+        final SampleListener listener2 = Mockito.mock(SampleListener.class);
+        final RuntimeException ex = new RuntimeException();
+        Mockito.doThrow(ex).when(listener2).onEvent(this.event);
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener, listener2).stream());
+
+        final CompletableFuture<DispatchResult> future = this.subject.dispatchAsync(
+                this.event, SampleListener::onEvent, this.ec);
+
+        assertTrue(future.isDone());
+        final DispatchResult result = future.get();
+        assertSame(this.event, result.getEvent());
+        assertEquals(2, result.getListenerCount());
+        assertEquals(1, result.getFailedInvocations().size());
+        assertSame(ex, result.getFailedInvocations().get(0).getException());
+        Mockito.verify(this.ec).exception(result.getFailedInvocations().get(0));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDispatchAllEventMajor() throws Exception {
+        final SampleListener listener2 = Mockito.mock(SampleListener.class);
+        final Event<Object, SampleListener> event2 = Mockito.mock(Event.class);
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(event2.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener, listener2).stream());
+
+        this.subject.dispatchAll(Arrays.asList(this.event, event2),
+                SampleListener::onEvent, this.ec, BatchOrder.EVENT_MAJOR);
+
+        final InOrder inOrder = Mockito.inOrder(this.listener, listener2);
+        inOrder.verify(this.listener).onEvent(this.event);
+        inOrder.verify(listener2).onEvent(this.event);
+        inOrder.verify(this.listener).onEvent(event2);
+        inOrder.verify(listener2).onEvent(event2);
+        Mockito.verify(this.store, Mockito.times(1)).get(SampleListener.class);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testDispatchAllListenerMajor() throws Exception {
+        final SampleListener listener2 = Mockito.mock(SampleListener.class);
+        final Event<Object, SampleListener> event2 = Mockito.mock(Event.class);
+        Mockito.when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(event2.getListenerClass()).thenReturn(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenReturn(
+                Arrays.asList(this.listener, listener2).stream());
+
+        this.subject.dispatchAll(Arrays.asList(this.event, event2),
+                SampleListener::onEvent, this.ec, BatchOrder.LISTENER_MAJOR);
+
+        final InOrder inOrder = Mockito.inOrder(this.listener, listener2);
+        inOrder.verify(this.listener).onEvent(this.event);
+        inOrder.verify(this.listener).onEvent(event2);
+        inOrder.verify(listener2).onEvent(this.event);
+        inOrder.verify(listener2).onEvent(event2);
+        Mockito.verify(this.store, Mockito.times(1)).get(SampleListener.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDispatchAllContainsNull() throws Exception {
+        this.subject.dispatchAll(Arrays.asList(this.event, null),
+                SampleListener::onEvent);
+    }
 }
@@ -0,0 +1,109 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TaskTrackerTest {
+
+    private ExecutorService executor;
+    private TaskTracker subject;
+
+    @Before
+    public void setUp() {
+        this.executor = Executors.newSingleThreadExecutor();
+        this.subject = new TaskTracker();
+    }
+
+    @After
+    public void tearDown() {
+        this.executor.shutdownNow();
+    }
+
+    @Test
+    public void testAwaitIdle() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        this.subject.submit(this.executor, () -> {
+            try {
+                latch.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Assert.assertEquals(1, this.subject.getPendingCount());
+        Assert.assertFalse(this.subject.awaitIdle(10, TimeUnit.MILLISECONDS));
+
+        latch.countDown();
+        Assert.assertTrue(this.subject.awaitIdle(2, TimeUnit.SECONDS));
+        Assert.assertEquals(0, this.subject.getPendingCount());
+    }
+
+    @Test
+    public void testDrainFinishesPendingTasks() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        for (int i = 0; i < 3; ++i) {
+            this.subject.execute(this.executor, latch::countDown);
+        }
+        Assert.assertEquals(0, this.subject.drain(this.executor, 2, TimeUnit.SECONDS));
+        Assert.assertEquals(0, latch.getCount());
+        Assert.assertTrue(this.executor.isShutdown());
+    }
+
+    @Test
+    public void testDrainDropsPendingTasks() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        this.subject.submit(this.executor, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        this.subject.submit(this.executor, () -> {});
+        this.subject.submit(this.executor, () -> {});
+        started.await();
+
+        Assert.assertEquals(2, this.subject.drain(this.executor, 10,
+                TimeUnit.MILLISECONDS));
+        Assert.assertTrue(this.subject.awaitIdle(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testDiscardDropsPendingTasks() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        this.subject.submit(this.executor, () -> {
+            started.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        this.subject.submit(this.executor, () -> {});
+        this.subject.submit(this.executor, () -> {});
+        started.await();
+
+        Assert.assertEquals(2, this.subject.discard(this.executor));
+        Assert.assertTrue(this.subject.awaitIdle(2, TimeUnit.SECONDS));
+        Assert.assertEquals(0, this.subject.getPendingCount());
+    }
+
+    @Test
+    public void testRejectedTaskIsNotPending() throws Exception {
+        this.executor.shutdown();
+        try {
+            this.subject.submit(this.executor, () -> {});
+            Assert.fail();
+        } catch (final RejectedExecutionException e) {
+            Assert.assertEquals(0, this.subject.getPendingCount());
+        }
+    }
+}
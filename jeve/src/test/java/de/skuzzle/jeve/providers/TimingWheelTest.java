@@ -0,0 +1,95 @@
+package de.skuzzle.jeve.providers;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TimingWheelTest {
+
+    private TimingWheel subject;
+
+    @Before
+    public void setUp() {
+        this.subject = new TimingWheel("test-timer");
+    }
+
+    @After
+    public void tearDown() {
+        this.subject.stop();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTickZero() throws Exception {
+        new TimingWheel("test-timer", 0);
+    }
+
+    @Test
+    public void testExpire() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        final long start = System.nanoTime();
+        final ScheduledDispatch handle = this.subject.schedule(50,
+                TimeUnit.MILLISECONDS, latch::countDown);
+
+        Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Assert.assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        Assert.assertTrue(handle.isDispatched());
+        Assert.assertEquals(0, this.subject.getScheduledCount());
+    }
+
+    @Test
+    public void testExpireMany() throws Exception {
+        final int count = 1000;
+        final CountDownLatch latch = new CountDownLatch(count);
+        for (int i = 0; i < count; ++i) {
+            this.subject.schedule(i % 700, TimeUnit.MILLISECONDS, latch::countDown);
+        }
+        Assert.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        final AtomicInteger executed = new AtomicInteger();
+        final ScheduledDispatch handle = this.subject.schedule(20,
+                TimeUnit.MILLISECONDS, executed::incrementAndGet);
+        final CountDownLatch latch = new CountDownLatch(1);
+        this.subject.schedule(60, TimeUnit.MILLISECONDS, latch::countDown);
+
+        Assert.assertTrue(handle.cancel());
+        Assert.assertFalse(handle.cancel());
+        Assert.assertTrue(handle.isCancelled());
+        Assert.assertEquals(1, this.subject.getScheduledCount());
+
+        Assert.assertTrue(latch.await(2, TimeUnit.SECONDS));
+        Assert.assertEquals(0, executed.get());
+        Assert.assertFalse(handle.isDispatched());
+    }
+
+    @Test
+    public void testHugeDelay() throws Exception {
+        final ScheduledDispatch handle = this.subject.schedule(
+                Duration.ofSeconds(Long.MAX_VALUE), () -> {});
+        Assert.assertFalse(handle.isDispatched());
+        Assert.assertEquals(1, this.subject.getScheduledCount());
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        final ScheduledDispatch pending = this.subject.schedule(1, TimeUnit.HOURS,
+                () -> {});
+        Assert.assertEquals(1, this.subject.stop());
+        Assert.assertTrue(pending.isCancelled());
+        Assert.assertFalse(pending.cancel());
+        Assert.assertEquals(0, this.subject.getScheduledCount());
+
+        final ScheduledDispatch handle = this.subject.schedule(0,
+                TimeUnit.MILLISECONDS, () -> {});
+        Assert.assertTrue(handle.isCancelled());
+        Assert.assertEquals(0, this.subject.getScheduledCount());
+    }
+}
@@ -4,10 +4,17 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
+import org.junit.Assert;
 import org.junit.Test;
 
+import de.skuzzle.jeve.AbortionException;
+import de.skuzzle.jeve.DispatchResult;
 import de.skuzzle.jeve.Event;
 import de.skuzzle.jeve.ListenerStore;
 import de.skuzzle.jeve.SequentialEvent;
@@ -40,4 +47,43 @@ public class UnrollingEventProviderTest extends
 
         verify(l2).onEvent(e2);
     }
+
+    @Test
+    public void testNestedDispatchAsync() throws Exception {
+        final SequentialEvent<?, SampleListener2> e2 =
+                new SequentialEvent<>(this, SampleListener2.class);
+        final List<CompletableFuture<DispatchResult>> nested = new ArrayList<>();
+        final SampleListener l = e -> {
+            nested.add(this.subject.dispatchAsync(e2, SampleListener2::onEvent));
+            Assert.assertFalse(nested.get(0).isDone());
+        };
+        final SampleListener2 l2 = mock(SampleListener2.class);
+        when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        when(this.store.get(SampleListener.class)).thenReturn(Stream.of(l));
+        when(this.store.get(SampleListener2.class)).thenReturn(Stream.of(l2));
+        this.subject.dispatch(this.event, SampleListener::onEvent);
+
+        final DispatchResult result = nested.get(0).get(0, TimeUnit.SECONDS);
+        Assert.assertEquals(1, result.getListenerCount());
+        verify(l2).onEvent(e2);
+    }
+
+    @Test
+    public void testNestedDispatchAsyncCancelledOnAbort() throws Exception {
+        final SequentialEvent<?, SampleListener2> e2 =
+                new SequentialEvent<>(this, SampleListener2.class);
+        final List<CompletableFuture<DispatchResult>> nested = new ArrayList<>();
+        final SampleListener l = e -> {
+            nested.add(this.subject.dispatchAsync(e2, SampleListener2::onEvent));
+            throw new AbortionException();
+        };
+        when(this.event.getListenerClass()).thenReturn(SampleListener.class);
+        when(this.store.get(SampleListener.class)).thenReturn(Stream.of(l));
+        try {
+            this.subject.dispatch(this.event, SampleListener::onEvent);
+            Assert.fail();
+        } catch (final AbortionException expected) {
+            Assert.assertTrue(nested.get(0).isCancelled());
+        }
+    }
 }
@@ -0,0 +1,77 @@
+package de.skuzzle.jeve.providers;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+import org.mockito.Mockito;
+
+import de.skuzzle.jeve.DispatchResult;
+import de.skuzzle.jeve.Event;
+import de.skuzzle.jeve.Listener;
+import de.skuzzle.jeve.ListenerStore;
+
+@RunWith(Parameterized.class)
+public class WaitStrategiesTest {
+
+    private interface SampleListener extends Listener {
+        public void onEvent(Event<?, SampleListener> e);
+    }
+
+    @Parameters
+    public static Collection<Object[]> getParameters() {
+        return Arrays.asList(
+                new Object[] { (Supplier<WaitStrategy>) WaitStrategies::busySpin },
+                new Object[] { (Supplier<WaitStrategy>) WaitStrategies::yielding },
+                new Object[] { (Supplier<WaitStrategy>) () -> WaitStrategies.parking(
+                        1, TimeUnit.MILLISECONDS) },
+                new Object[] { (Supplier<WaitStrategy>) WaitStrategies::blocking });
+    }
+
+    private final EventLoopEventProvider subject;
+    private final ListenerStore store;
+
+    public WaitStrategiesTest(Supplier<WaitStrategy> strategy) {
+        this.store = Mockito.mock(ListenerStore.class);
+        this.subject = new EventLoopEventProvider(this.store, strategy.get());
+    }
+
+    @After
+    public void tearDown() {
+        this.subject.close();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testParkingPeriodZero() throws Exception {
+        WaitStrategies.parking(0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void testDispatchRepeatedly() throws Exception {
+        final SampleListener listener = Mockito.mock(SampleListener.class);
+        Mockito.when(this.store.get(SampleListener.class)).thenAnswer(
+                invocation -> Stream.of(listener));
+
+        for (int i = 0; i < 100; ++i) {
+            final Event<?, SampleListener> event = new Event<>(this, SampleListener.class);
+            final DispatchResult result = this.subject
+                    .dispatchAsync(event, SampleListener::onEvent)
+                    .get(2, TimeUnit.SECONDS);
+            Assert.assertEquals(1, result.getListenerCount());
+        }
+    }
+
+    @Test
+    public void testCloseStopsLoop() throws Exception {
+        this.subject.close();
+        Assert.assertFalse(this.subject.canDispatch());
+    }
+}